@@ -0,0 +1,404 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.annotation.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import io.github.astrapi69.compare.annotation.GenerateComparison;
+
+/**
+ * The class {@link GenerateComparisonProcessor} generates for every bean class that is annotated
+ * with {@link GenerateComparison} a comparator class and a diff class.<br>
+ * <br>
+ * The generated comparator compares the properties in the given order and returns the first result
+ * that is not 0. The generated diff class provides the methods <code>compare</code> and
+ * <code>getCompareToResult</code> with the semantics of <code>CompareObjectExtensions</code>.
+ * Properties of a primitive type are compared with the <code>compare</code> method of the wrapper
+ * class, all other properties have to be {@link Comparable} and are checked for null first.<br>
+ * <br>
+ * The generated classes are not annotated with <code>javax.annotation.processing.Generated</code>,
+ * so no processor has to claim it and builds with <code>-Xlint:processing</code> are free of
+ * warnings
+ */
+@SupportedAnnotationTypes("io.github.astrapi69.compare.annotation.GenerateComparison")
+public class GenerateComparisonProcessor extends AbstractProcessor
+{
+
+	/**
+	 * Decapitalizes the given name like <code>java.beans.Introspector#decapitalize</code>
+	 *
+	 * @param name
+	 *            the name
+	 * @return the decapitalized name
+	 */
+	static String decapitalize(final String name)
+	{
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(1))
+			&& Character.isUpperCase(name.charAt(0)))
+		{
+			return name;
+		}
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private static String getWrapperName(final TypeKind kind)
+	{
+		switch (kind)
+		{
+			case BOOLEAN :
+				return "Boolean";
+			case BYTE :
+				return "Byte";
+			case CHAR :
+				return "Character";
+			case DOUBLE :
+				return "Double";
+			case FLOAT :
+				return "Float";
+			case INT :
+				return "Integer";
+			case LONG :
+				return "Long";
+			case SHORT :
+				return "Short";
+			default :
+				return null;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations,
+		final RoundEnvironment roundEnv)
+	{
+		for (final Element element : roundEnv.getElementsAnnotatedWith(GenerateComparison.class))
+		{
+			if (element.getKind() != ElementKind.CLASS)
+			{
+				error(element, "@GenerateComparison can only be applied to classes");
+				continue;
+			}
+			final TypeElement bean = (TypeElement)element;
+			final Map<String, ExecutableElement> readMethods = getReadMethods(bean);
+			final Map<String, ExecutableElement> properties = resolveProperties(bean, readMethods,
+				bean.getAnnotation(GenerateComparison.class).properties());
+			if (properties == null)
+			{
+				continue;
+			}
+			try
+			{
+				writeComparator(bean, properties);
+				writeDiff(bean, properties);
+			}
+			catch (final IOException e)
+			{
+				error(bean, "Could not generate comparison classes: " + e.getMessage());
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the public getter methods of the given bean class mapped by the property name ordered by
+	 * name
+	 *
+	 * @param bean
+	 *            the bean class
+	 * @return the read methods of the bean class
+	 */
+	private Map<String, ExecutableElement> getReadMethods(final TypeElement bean)
+	{
+		final Map<String, ExecutableElement> readMethods = new TreeMap<>();
+		for (final ExecutableElement method : ElementFilter
+			.methodsIn(processingEnv.getElementUtils().getAllMembers(bean)))
+		{
+			final Set<Modifier> modifiers = method.getModifiers();
+			if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+				|| !method.getParameters().isEmpty())
+			{
+				continue;
+			}
+			final String name = method.getSimpleName().toString();
+			final TypeKind kind = method.getReturnType().getKind();
+			String property = null;
+			if (name.startsWith("is") && name.length() > 2 && kind == TypeKind.BOOLEAN)
+			{
+				property = decapitalize(name.substring(2));
+			}
+			else if (name.startsWith("get") && name.length() > 3 && kind != TypeKind.VOID)
+			{
+				property = decapitalize(name.substring(3));
+			}
+			if (property == null || "class".equals(property))
+			{
+				continue;
+			}
+			if (!readMethods.containsKey(property) || name.startsWith("is"))
+			{
+				readMethods.put(property, method);
+			}
+		}
+		return readMethods;
+	}
+
+	/**
+	 * Resolves the properties to compare and checks that every property can be compared
+	 *
+	 * @param bean
+	 *            the bean class
+	 * @param readMethods
+	 *            the read methods of the bean class
+	 * @param names
+	 *            the names of the properties from the annotation
+	 * @return the properties to compare or null if an error was reported
+	 */
+	private Map<String, ExecutableElement> resolveProperties(final TypeElement bean,
+		final Map<String, ExecutableElement> readMethods, final String[] names)
+	{
+		final Map<String, ExecutableElement> properties = new LinkedHashMap<>();
+		if (names.length == 0)
+		{
+			properties.putAll(readMethods);
+		}
+		for (final String name : names)
+		{
+			final ExecutableElement readMethod = readMethods.get(name);
+			if (readMethod == null)
+			{
+				error(bean, "Bean class has no readable property '" + name + "'");
+				return null;
+			}
+			properties.put(name, readMethod);
+		}
+		final TypeMirror comparable = processingEnv.getTypeUtils().erasure(processingEnv
+			.getElementUtils().getTypeElement(Comparable.class.getName()).asType());
+		for (final Map.Entry<String, ExecutableElement> entry : properties.entrySet())
+		{
+			final TypeMirror type = getReturnType(bean, entry.getValue());
+			if (!type.getKind().isPrimitive() && !processingEnv.getTypeUtils()
+				.isAssignable(processingEnv.getTypeUtils().erasure(type), comparable))
+			{
+				error(bean, "Property '" + entry.getKey() + "' of type " + type
+					+ " is not Comparable");
+				return null;
+			}
+		}
+		return properties;
+	}
+
+	private TypeMirror getReturnType(final TypeElement bean, final ExecutableElement method)
+	{
+		final ExecutableType executableType = (ExecutableType)processingEnv.getTypeUtils()
+			.asMemberOf((DeclaredType)bean.asType(), method);
+		return executableType.getReturnType();
+	}
+
+	private void writeComparator(final TypeElement bean,
+		final Map<String, ExecutableElement> properties) throws IOException
+	{
+		final String className = getFlatName(bean) + "Comparator";
+		final String beanType = getTypeName(bean);
+		final StringBuilder source = new StringBuilder();
+		writeHeader(source, bean);
+		source.append("public final class ").append(className)
+			.append(" implements java.util.Comparator<").append(beanType).append(">\n{\n\n");
+		source.append("\tpublic static final ").append(className).append(" INSTANCE = new ")
+			.append(className).append("();\n\n");
+		source.append("\t@Override\n\tpublic int compare(final ").append(beanType)
+			.append(" bean, final ").append(beanType).append(" otherBean)\n\t{\n");
+		source.append("\t\tif (bean == otherBean)\n\t\t{\n\t\t\treturn 0;\n\t\t}\n");
+		source.append("\t\tif (bean == null)\n\t\t{\n\t\t\treturn -1;\n\t\t}\n");
+		source.append("\t\tif (otherBean == null)\n\t\t{\n\t\t\treturn 1;\n\t\t}\n");
+		source.append("\t\tint result;\n");
+		for (final Map.Entry<String, ExecutableElement> entry : properties.entrySet())
+		{
+			source.append("\t\tresult = ").append(getCompareExpression(bean, entry.getValue()))
+				.append(";\n\t\tif (result != 0)\n\t\t{\n\t\t\treturn result;\n\t\t}\n");
+		}
+		source.append("\t\treturn 0;\n\t}\n\n");
+		writeCompareValues(source);
+		source.append("}\n");
+		writeSource(bean, className, source);
+	}
+
+	private void writeDiff(final TypeElement bean, final Map<String, ExecutableElement> properties)
+		throws IOException
+	{
+		final String className = getFlatName(bean) + "Diff";
+		final String beanType = getTypeName(bean);
+		final StringBuilder source = new StringBuilder();
+		writeHeader(source, bean);
+		source.append("public final class ").append(className).append("\n{\n\n");
+		source.append("\tprivate ").append(className).append("()\n\t{\n\t}\n\n");
+		source.append("\tpublic static boolean compare(final ").append(beanType)
+			.append(" bean, final ").append(beanType).append(" otherBean)\n\t{\n");
+		writeArgumentCheck(source);
+		for (final Map.Entry<String, ExecutableElement> entry : properties.entrySet())
+		{
+			source.append("\t\tif (").append(getCompareExpression(bean, entry.getValue()))
+				.append(" != 0)\n\t\t{\n\t\t\treturn false;\n\t\t}\n");
+		}
+		source.append("\t\treturn true;\n\t}\n\n");
+		source.append("\tpublic static java.util.Map<String, Integer> getCompareToResult(final ")
+			.append(beanType).append(" bean, final ").append(beanType)
+			.append(" otherBean)\n\t{\n");
+		writeArgumentCheck(source);
+		source.append(
+			"\t\tfinal java.util.Map<String, Integer> compareResult = new java.util.HashMap<>();\n");
+		for (final Map.Entry<String, ExecutableElement> entry : properties.entrySet())
+		{
+			source.append("\t\tcompareResult.put(\"").append(entry.getKey()).append("\", ")
+				.append(getCompareExpression(bean, entry.getValue())).append(");\n");
+		}
+		source.append("\t\treturn compareResult;\n\t}\n\n");
+		writeCompareValues(source);
+		source.append("}\n");
+		writeSource(bean, className, source);
+	}
+
+	private void writeHeader(final StringBuilder source, final TypeElement bean)
+	{
+		final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(bean);
+		if (!packageElement.isUnnamed())
+		{
+			source.append("package ").append(packageElement.getQualifiedName()).append(";\n\n");
+		}
+		source.append("// generated by ").append(getClass().getName()).append("\n");
+	}
+
+	private void writeArgumentCheck(final StringBuilder source)
+	{
+		source.append("\t\tif (bean == null || otherBean == null)\n\t\t{\n")
+			.append("\t\t\tthrow new IllegalArgumentException(")
+			.append("\"Object should not be null and be the same type.\");\n\t\t}\n");
+	}
+
+	private void writeCompareValues(final StringBuilder source)
+	{
+		source.append("\t@SuppressWarnings({ \"unchecked\", \"rawtypes\" })\n");
+		source.append(
+			"\tprivate static int compareValues(final Object value, final Object otherValue)\n\t{\n");
+		source.append("\t\tif (value == null)\n\t\t{\n")
+			.append("\t\t\treturn otherValue == null ? 0 : -1;\n\t\t}\n");
+		source.append("\t\tif (otherValue == null)\n\t\t{\n\t\t\treturn 1;\n\t\t}\n");
+		source.append("\t\treturn ((Comparable)value).compareTo(otherValue);\n\t}\n\n");
+	}
+
+	private String getCompareExpression(final TypeElement bean, final ExecutableElement readMethod)
+	{
+		final String getter = readMethod.getSimpleName() + "()";
+		final String wrapper = getWrapperName(getReturnType(bean, readMethod).getKind());
+		if (wrapper != null)
+		{
+			return wrapper + ".compare(bean." + getter + ", otherBean." + getter
+				+ ")";
+		}
+		return "compareValues(bean." + getter + ", otherBean." + getter + ")";
+	}
+
+	private void writeSource(final TypeElement bean, final String className,
+		final StringBuilder source) throws IOException
+	{
+		final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(bean);
+		final String qualifiedName = packageElement.isUnnamed()
+			? className
+			: packageElement.getQualifiedName() + "." + className;
+		try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, bean)
+			.openWriter())
+		{
+			writer.write(source.toString());
+		}
+	}
+
+	/**
+	 * Gets the name of the given bean class without the package where the names of enclosing
+	 * classes are joined with an underscore
+	 *
+	 * @param bean
+	 *            the bean class
+	 * @return the flat name of the bean class
+	 */
+	private String getFlatName(final TypeElement bean)
+	{
+		final String binaryName = processingEnv.getElementUtils().getBinaryName(bean).toString();
+		final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(bean);
+		final String name = packageElement.isUnnamed()
+			? binaryName
+			: binaryName.substring(packageElement.getQualifiedName().length() + 1);
+		return name.replace('$', '_');
+	}
+
+	private String getTypeName(final TypeElement bean)
+	{
+		final StringBuilder typeName = new StringBuilder(bean.getQualifiedName());
+		final int typeParameters = bean.getTypeParameters().size();
+		if (0 < typeParameters)
+		{
+			typeName.append('<');
+			for (int i = 0; i < typeParameters; i++)
+			{
+				typeName.append(i == 0 ? "?" : ", ?");
+			}
+			typeName.append('>');
+		}
+		return typeName.toString();
+	}
+
+	private void error(final Element element, final String message)
+	{
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+}
@@ -0,0 +1,162 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link GenerateComparisonProcessor}.
+ */
+public class GenerateComparisonProcessorTest
+{
+
+	private static final String PET_SOURCE = "package pets;\n"
+		+ "@io.github.astrapi69.compare.annotation.GenerateComparison(properties = { \"name\", \"age\" })\n"
+		+ "public class Pet {\n" + "  private final String name;\n" + "  private final int age;\n"
+		+ "  private final Double weight;\n"
+		+ "  public Pet(String name, int age, Double weight) { this.name = name; this.age = age; this.weight = weight; }\n"
+		+ "  public String getName() { return name; }\n"
+		+ "  public int getAge() { return age; }\n"
+		+ "  public Double getWeight() { return weight; }\n" + "}\n";
+
+	private static final String BROKEN_SOURCE = "package pets;\n"
+		+ "@io.github.astrapi69.compare.annotation.GenerateComparison\n"
+		+ "public class Cage {\n" + "  public Object getContent() { return null; }\n" + "}\n";
+
+	/**
+	 * Test method for {@link GenerateComparisonProcessor} that generates the comparator and the
+	 * diff class
+	 *
+	 * @throws Exception
+	 *             is thrown if the compilation or the reflective access fails
+	 */
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testProcess() throws Exception
+	{
+		Path directory;
+		DiagnosticCollector<JavaFileObject> diagnostics;
+		Class<?> petClass;
+		Object pet;
+		Object otherPet;
+		Comparator<Object> comparator;
+		Map<String, Integer> compareResult;
+
+		directory = Files.createTempDirectory("generate-comparison");
+		diagnostics = new DiagnosticCollector<>();
+		assertTrue(compile(directory, "Pet", PET_SOURCE, diagnostics),
+			diagnostics.getDiagnostics().toString());
+		for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+		{
+			assertNotEquals(Diagnostic.Kind.WARNING, diagnostic.getKind(), diagnostic.toString());
+		}
+		assertTrue(Files.exists(directory.resolve("pets/PetComparator.java")));
+		assertTrue(Files.exists(directory.resolve("pets/PetDiff.java")));
+
+		try (URLClassLoader classLoader = new URLClassLoader(
+			new URL[] { directory.toUri().toURL() }))
+		{
+			petClass = classLoader.loadClass("pets.Pet");
+			pet = petClass.getConstructor(String.class, int.class, Double.class)
+				.newInstance("bello", 3, 12.5d);
+			otherPet = petClass.getConstructor(String.class, int.class, Double.class)
+				.newInstance("bello", 5, null);
+
+			comparator = (Comparator<Object>)classLoader.loadClass("pets.PetComparator")
+				.getField("INSTANCE").get(null);
+			assertEquals(-1, comparator.compare(pet, otherPet));
+			assertEquals(1, comparator.compare(otherPet, pet));
+			assertEquals(0, comparator.compare(pet, pet));
+			assertEquals(1, comparator.compare(pet, null));
+
+			final Class<?> diffClass = classLoader.loadClass("pets.PetDiff");
+			compareResult = (Map<String, Integer>)diffClass
+				.getMethod("getCompareToResult", petClass, petClass).invoke(null, pet, otherPet);
+			assertEquals(2, compareResult.size());
+			assertEquals(Integer.valueOf(0), compareResult.get("name"));
+			assertEquals(Integer.valueOf(-1), compareResult.get("age"));
+			assertFalse((Boolean)diffClass.getMethod("compare", petClass, petClass).invoke(null,
+				pet, otherPet));
+		}
+	}
+
+	/**
+	 * Test method for {@link GenerateComparisonProcessor} with a property that is not comparable
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testProcessWithNotComparableProperty() throws IOException
+	{
+		Path directory;
+		DiagnosticCollector<JavaFileObject> diagnostics;
+
+		directory = Files.createTempDirectory("generate-comparison");
+		diagnostics = new DiagnosticCollector<>();
+		assertFalse(compile(directory, "Cage", BROKEN_SOURCE, diagnostics));
+		assertTrue(diagnostics.getDiagnostics().toString()
+			.contains("Property 'content' of type java.lang.Object is not Comparable"));
+	}
+
+	private boolean compile(final Path directory, final String className, final String source,
+		final DiagnosticCollector<JavaFileObject> diagnostics) throws IOException
+	{
+		final Path sourceFile = directory.resolve("pets/" + className + ".java");
+		Files.createDirectories(sourceFile.getParent());
+		Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics,
+			null, StandardCharsets.UTF_8))
+		{
+			return compiler.getTask(null, fileManager, diagnostics,
+				Arrays.asList("-Xlint:processing", "-d", directory.toString(), "-s",
+					directory.toString(), "-classpath",
+					System.getProperty("java.class.path"), "-processor",
+					GenerateComparisonProcessor.class.getName()),
+				null, fileManager.getJavaFileObjects(new File(sourceFile.toString()))).call();
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.astrapi69.comparator.BeanPropertyComparator;
+
+/**
+ * The benchmark class for the class {@link BeanPropertyComparator} with nested property paths of
+ * different depths
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("deprecation")
+public class BeanPropertyComparatorBenchmark
+{
+
+	/** The property types of the generated beans. */
+	@Param({ "primitive", "reference", "mixed" })
+	public String types;
+
+	/** The number of properties of the generated beans. */
+	@Param({ "5", "50", "200" })
+	public int width;
+
+	/** The depth of the nested property path. */
+	@Param({ "0", "1", "4" })
+	public int depth;
+
+	/** The probability of a null value for properties with a reference type. */
+	@Param({ "0.0", "0.5" })
+	public double nullDensity;
+
+	/** The source bean. */
+	private Object bean;
+
+	/** The bean to compare. */
+	private Object otherBean;
+
+	/** The comparator of the nested property. */
+	private BeanPropertyComparator<Object> comparator;
+
+	/**
+	 * Creates the beans to compare and the comparator of the nested property
+	 */
+	@Setup
+	public void setUp()
+	{
+		bean = BenchmarkBeans.create(types, width, 42L, nullDensity, depth);
+		otherBean = BenchmarkBeans.create(types, width, 43L, nullDensity, depth);
+		comparator = new BeanPropertyComparator<>("child.".repeat(depth) + "p000");
+	}
+
+	@Benchmark
+	public int compare()
+	{
+		return comparator.compare(bean, otherBean);
+	}
+
+}
@@ -0,0 +1,95 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.github.astrapi69.compare.object.BulkCompareExtensions;
+import io.github.astrapi69.compare.object.ObjectDiff;
+
+/**
+ * The benchmark class for the class {@link BulkCompareExtensions} with different numbers of worker
+ * threads
+ */
+@State(Scope.Benchmark)
+public class BulkCompareExtensionsBenchmark
+{
+
+	/** The number of worker threads. */
+	@Param({ "1", "4", "32" })
+	public int parallelism;
+
+	/** The number of beans in every list. */
+	@Param({ "100000" })
+	public int size;
+
+	/** The pool that runs the comparison. */
+	private ForkJoinPool pool;
+
+	/** The source beans. */
+	private List<Object> beans;
+
+	/** The beans to compare. */
+	private List<Object> otherBeans;
+
+	/**
+	 * Creates the pool and the lists of beans to compare
+	 */
+	@Setup
+	public void setUp()
+	{
+		pool = new ForkJoinPool(parallelism);
+		beans = new ArrayList<>(size);
+		otherBeans = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+		{
+			beans.add(BenchmarkBeans.create("mixed", 50, i, 0.1, 0));
+			otherBeans.add(BenchmarkBeans.create("mixed", 50, i % 10 == 0 ? -i : i, 0.1, 0));
+		}
+	}
+
+	/**
+	 * Shuts the pool down
+	 */
+	@TearDown
+	public void tearDown()
+	{
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public List<ObjectDiff> getObjectDiffs()
+		throws IllegalAccessException, InvocationTargetException
+	{
+		return BulkCompareExtensions.getObjectDiffs(beans, otherBeans, pool);
+	}
+
+}
@@ -0,0 +1,117 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.astrapi69.comparator.BeanComparatorFactory;
+import io.github.astrapi69.comparator.BeanPropertyComparator;
+import io.github.astrapi69.comparator.CachedKeySorter;
+
+/**
+ * The benchmark class for the sequential and parallel sort methods of the class
+ * {@link CachedKeySorter}. The scaling across cores can be measured by running the benchmark with
+ * different values of the system property
+ * <code>java.util.concurrent.ForkJoinPool.common.parallelism</code>
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings({ "deprecation", "unchecked", "rawtypes" })
+public class CachedKeySorterBenchmark
+{
+
+	/** The number of beans to sort. */
+	@Param({ "10000", "1000000" })
+	public int size;
+
+	/** The unsorted beans. */
+	private List<Object> beans;
+
+	/** The comparator of the sorted property. */
+	private BeanPropertyComparator<Object> beanPropertyComparator;
+
+	/** The compiled comparator of the sorted property. */
+	private Comparator<Object> compiledComparator;
+
+	/**
+	 * Creates the unsorted beans and the comparators
+	 */
+	@Setup
+	public void setUp()
+	{
+		beans = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+		{
+			beans.add(BenchmarkBeans.create("mixed", 50, i, 0.1, 0));
+		}
+		beanPropertyComparator = new BeanPropertyComparator<>("p000");
+		compiledComparator = (Comparator)BeanComparatorFactory
+			.newComparator(beans.get(0).getClass(), "p000");
+	}
+
+	@Benchmark
+	public List<Object> sortWithBeanPropertyComparator()
+	{
+		final List<Object> list = new ArrayList<>(beans);
+		list.sort(beanPropertyComparator);
+		return list;
+	}
+
+	@Benchmark
+	public List<Object> sortWithCachedKeys()
+	{
+		final List<Object> list = new ArrayList<>(beans);
+		CachedKeySorter.sort(list, beanPropertyComparator);
+		return list;
+	}
+
+	@Benchmark
+	public List<Object> parallelSortWithCachedKeys()
+	{
+		final List<Object> list = new ArrayList<>(beans);
+		CachedKeySorter.parallelSort(list, beanPropertyComparator);
+		return list;
+	}
+
+	@Benchmark
+	public List<Object> parallelSortWithCompiledComparator()
+	{
+		final List<Object> list = new ArrayList<>(beans);
+		CachedKeySorter.parallelSort(list, compiledComparator);
+		return list;
+	}
+
+	@Benchmark
+	public List<Object> parallelSortByInt()
+	{
+		final List<Object> list = new ArrayList<>(beans);
+		CachedKeySorter.parallelSortByInt(list, bean -> ((MixedBean50)bean).getP000());
+		return list;
+	}
+
+}
@@ -0,0 +1,155 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.github.astrapi69.compare.object.BeanMetadata;
+import io.github.astrapi69.compare.object.CompareObjectExtensions;
+import io.github.astrapi69.compare.object.ObjectDiff;
+
+/**
+ * The benchmark class for the public compare methods of the class {@link CompareObjectExtensions}
+ * with generated beans of different widths, property types and null densities
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("deprecation")
+public class CompareObjectExtensionsBenchmark
+{
+
+	/** The property types of the generated beans. */
+	@Param({ "primitive", "reference", "mixed" })
+	public String types;
+
+	/** The number of properties of the generated beans. */
+	@Param({ "5", "50", "200" })
+	public int width;
+
+	/** The probability of a null value for properties with a reference type. */
+	@Param({ "0.0", "0.5" })
+	public double nullDensity;
+
+	/** The flag if the compared beans are created with the same values. */
+	@Param({ "true", "false" })
+	public boolean equal;
+
+	/** The source bean. */
+	private Object bean;
+
+	/** The bean to compare. */
+	private Object otherBean;
+
+	/** The first half of the property names. */
+	private String[] properties;
+
+	/** The first half of the property names as set. */
+	private Set<String> propertySet;
+
+	/** The name of the last property. */
+	private String property;
+
+	/**
+	 * Creates the beans to compare
+	 */
+	@Setup
+	public void setUp()
+	{
+		bean = BenchmarkBeans.create(types, width, 42L, nullDensity, 0);
+		otherBean = BenchmarkBeans.create(types, width, equal ? 42L : 43L, nullDensity, 0);
+		final List<String> propertyNames = BeanMetadata.of(bean.getClass()).getPropertyNames();
+		properties = propertyNames.subList(0, Math.max(1, propertyNames.size() / 2))
+			.toArray(new String[0]);
+		propertySet = new HashSet<>(List.of(properties));
+		property = propertyNames.get(propertyNames.size() - 1);
+	}
+
+	@Benchmark
+	public boolean compare()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		return CompareObjectExtensions.compare(bean, otherBean);
+	}
+
+	@Benchmark
+	public int compareWithProperties()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		return CompareObjectExtensions.compare(bean, otherBean, properties);
+	}
+
+	@Benchmark
+	public int compareTo()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		return CompareObjectExtensions.compareTo(bean, otherBean);
+	}
+
+	@Benchmark
+	public int compareToWithPropertySet()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		return CompareObjectExtensions.compareTo(bean, otherBean, propertySet);
+	}
+
+	@Benchmark
+	public int compareToWithProperty()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		return CompareObjectExtensions.compareTo(bean, otherBean, property);
+	}
+
+	@Benchmark
+	public int compareInOrder() throws IllegalAccessException, InvocationTargetException
+	{
+		return CompareObjectExtensions.compareInOrder(bean, otherBean);
+	}
+
+	@Benchmark
+	public int compareInOrderWithProperties()
+		throws IllegalAccessException, InvocationTargetException
+	{
+		return CompareObjectExtensions.compareInOrder(bean, otherBean, properties);
+	}
+
+	@Benchmark
+	public Map<String, Integer> getCompareToResult()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		return CompareObjectExtensions.getCompareToResult(bean, otherBean);
+	}
+
+	@Benchmark
+	public ObjectDiff getObjectDiff() throws IllegalAccessException, InvocationTargetException
+	{
+		return CompareObjectExtensions.getObjectDiff(bean, otherBean);
+	}
+
+}
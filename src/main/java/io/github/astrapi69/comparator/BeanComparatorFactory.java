@@ -0,0 +1,157 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.comparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.github.astrapi69.compare.object.BeanMetadata;
+
+/**
+ * The factory class {@link BeanComparatorFactory} creates {@link CompiledBeanComparator} objects.
+ * Every comparator is created only once for a bean class and a list of properties and is cached
+ * for all subsequent calls. At most {@link #MAX_CACHED_COMPARATORS} comparators are cached for a
+ * bean class, so ad hoc lists of properties do not fill the cache for the life time of the class.
+ * Further comparators are created on every call
+ */
+public final class BeanComparatorFactory
+{
+
+	/** The maximum number of cached comparators of a bean class. */
+	public static final int MAX_CACHED_COMPARATORS = 64;
+
+	/** The cached comparators of every bean class mapped by the properties. */
+	private static final ClassValue<ConcurrentMap<Collection<String>, CompiledBeanComparator<?>>> COMPARATORS = new ClassValue<>()
+	{
+		@Override
+		protected ConcurrentMap<Collection<String>, CompiledBeanComparator<?>> computeValue(
+			final Class<?> type)
+		{
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private BeanComparatorFactory()
+	{
+	}
+
+	/**
+	 * Factory method for create a {@link CompiledBeanComparator} that compares all readable
+	 * properties of the given bean class ordered by name
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param beanClass
+	 *            the bean class
+	 * @return the {@link CompiledBeanComparator}
+	 */
+	public static <T> CompiledBeanComparator<T> newComparator(final Class<T> beanClass)
+	{
+		return newComparator(beanClass, BeanMetadata.of(beanClass).getPropertyNames());
+	}
+
+	/**
+	 * Factory method for create a {@link CompiledBeanComparator} that compares the given
+	 * properties in the given order
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param beanClass
+	 *            the bean class
+	 * @param properties
+	 *            the properties in the order of comparison
+	 * @return the {@link CompiledBeanComparator}
+	 */
+	public static <T> CompiledBeanComparator<T> newComparator(final Class<T> beanClass,
+		final String... properties)
+	{
+		return newComparator(beanClass, Arrays.asList(properties));
+	}
+
+	/**
+	 * Factory method for create a {@link CompiledBeanComparator} that compares the given
+	 * properties in the given order. Properties that are null are ignored like properties that
+	 * are not readable
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param beanClass
+	 *            the bean class
+	 * @param properties
+	 *            the properties in the order of comparison
+	 * @return the {@link CompiledBeanComparator}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> CompiledBeanComparator<T> newComparator(final Class<T> beanClass,
+		final List<String> properties)
+	{
+		final ConcurrentMap<Collection<String>, CompiledBeanComparator<?>> comparators = COMPARATORS
+			.get(beanClass);
+		final CompiledBeanComparator<?> comparator = comparators.get(properties);
+		if (comparator != null)
+		{
+			return (CompiledBeanComparator<T>)comparator;
+		}
+		final List<String> cacheKey = Collections.unmodifiableList(new ArrayList<>(properties));
+		if (MAX_CACHED_COMPARATORS <= comparators.size())
+		{
+			return new CompiledBeanComparator<>(beanClass, cacheKey);
+		}
+		return (CompiledBeanComparator<T>)comparators.computeIfAbsent(cacheKey,
+			key -> new CompiledBeanComparator<>(beanClass, key));
+	}
+
+	/**
+	 * Factory method for create a {@link CompiledBeanComparator} that compares the given set of
+	 * properties ordered by name, so the order of comparison does not depend on the iteration
+	 * order of the set. Properties that are null are ignored like properties that are not
+	 * readable
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param beanClass
+	 *            the bean class
+	 * @param properties
+	 *            the set of properties
+	 * @return the {@link CompiledBeanComparator}
+	 */
+	public static <T> CompiledBeanComparator<T> newComparator(final Class<T> beanClass,
+		final Set<String> properties)
+	{
+		final List<String> sorted = new ArrayList<>(properties.size());
+		for (final String property : properties)
+		{
+			if (property != null)
+			{
+				sorted.add(property);
+			}
+		}
+		Collections.sort(sorted);
+		return newComparator(beanClass, sorted);
+	}
+
+}
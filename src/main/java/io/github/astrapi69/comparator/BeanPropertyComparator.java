@@ -24,11 +24,13 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Comparator;
 
-import org.apache.commons.beanutils.PropertyUtils;
+import io.github.astrapi69.compare.object.PropertyPath;
 
 /**
  * The class {@link BeanPropertyComparator} compares two beans by a given name of a bean property.
- * It is inspired from the <code>BeanComparator</code> from the library commons-beanutils
+ * It is inspired from the <code>BeanComparator</code> from the library commons-beanutils. The
+ * property expression is resolved only once into a {@link PropertyPath}, so sorting does not parse
+ * the expression and look up the getter again for every comparison
  *
  * @param <T>
  *            the generic type
@@ -47,6 +49,9 @@ public class BeanPropertyComparator<T> implements Comparator<T>, Serializable
 	/** The property. */
 	private String property;
 
+	/** The resolved path of the property. */
+	private transient volatile PropertyPath propertyPath;
+
 	/**
 	 * Instantiates a new {@link BeanPropertyComparator} from the given property
 	 *
@@ -95,8 +100,9 @@ public class BeanPropertyComparator<T> implements Comparator<T>, Serializable
 
 		try
 		{
-			final Object value1 = PropertyUtils.getProperty(o1, property);
-			final Object value2 = PropertyUtils.getProperty(o2, property);
+			final PropertyPath path = getPropertyPath();
+			final Object value1 = path.getValue(o1);
+			final Object value2 = path.getValue(o2);
 			return internalCompare(value1, value2);
 		}
 		catch (final IllegalAccessException iae)
@@ -173,6 +179,7 @@ public class BeanPropertyComparator<T> implements Comparator<T>, Serializable
 	public void setProperty(final String property)
 	{
 		this.property = property;
+		this.propertyPath = null;
 	}
 
 	/**
@@ -186,6 +193,17 @@ public class BeanPropertyComparator<T> implements Comparator<T>, Serializable
 		return result;
 	}
 
+	private PropertyPath getPropertyPath()
+	{
+		PropertyPath path = propertyPath;
+		if (path == null || !path.getExpression().equals(property))
+		{
+			path = PropertyPath.of(property);
+			propertyPath = path;
+		}
+		return path;
+	}
+
 	@SuppressWarnings("unchecked")
 	private int internalCompare(final Object val1, final Object val2)
 	{
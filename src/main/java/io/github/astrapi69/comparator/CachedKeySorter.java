@@ -0,0 +1,524 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.comparator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+import io.github.astrapi69.compare.object.PropertyPath;
+
+/**
+ * The class {@link CachedKeySorter} sorts lists with cached sort keys, also known as
+ * decorate-sort-undecorate or Schwartzian transform. The key of every element is extracted only
+ * once into an array that is parallel to the elements, numeric keys are stored in primitive arrays.
+ * Then the indexes of the elements are sorted by the keys and the list is permuted. So the getters
+ * are called n times instead of about 2 * n * log(n) times of a sort with a comparator that reads
+ * the property on every comparison. All sorts are stable.<br>
+ * <br>
+ * The parallel sort methods extract the keys in parallel and sort them on the common
+ * {@link java.util.concurrent.ForkJoinPool} with {@link Arrays#parallelSort}. Lists with less
+ * elements than {@link #PARALLEL_THRESHOLD} are sorted sequentially, because the overhead of the
+ * parallel sort is higher than the gain there. The key extractors and comparators are only read
+ * while sorting, so they have to be stateless like {@link CompiledBeanComparator} or
+ * {@link CompositeBeanComparator}
+ */
+public final class CachedKeySorter
+{
+
+	/** The minimum size of a list that is sorted in parallel. */
+	public static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	/** The size of the runs that are sorted with insertion sort before they are merged. */
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	private CachedKeySorter()
+	{
+	}
+
+	/**
+	 * Sorts the given list in the order of the given {@link BeanPropertyComparator}. The property
+	 * of every element is read only once and the property values are compared with the comparator
+	 * of the given {@link BeanPropertyComparator}
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to sort
+	 * @param comparator
+	 *            the bean property comparator that defines the property and the order
+	 */
+	@SuppressWarnings({ "deprecation", "unchecked" })
+	public static <T> void sort(final List<T> list,
+		final BeanPropertyComparator<? super T> comparator)
+	{
+		if (comparator.getProperty() == null)
+		{
+			list.sort(comparator);
+			return;
+		}
+		final PropertyPath propertyPath = PropertyPath.of(comparator.getProperty());
+		sort(list, element -> getValue(propertyPath, element),
+			(Comparator<Object>)comparator.getComparator());
+	}
+
+	/**
+	 * Sorts the given list by the keys of the given key extractor in the order of the given key
+	 * comparator
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param <K>
+	 *            the generic type of the keys
+	 * @param list
+	 *            the list to sort
+	 * @param keyExtractor
+	 *            the function that extracts the key of an element
+	 * @param keyComparator
+	 *            the comparator of the keys
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, K> void sort(final List<T> list,
+		final Function<? super T, ? extends K> keyExtractor,
+		final Comparator<? super K> keyComparator)
+	{
+		Objects.requireNonNull(keyComparator);
+		final Object[] elements = list.toArray();
+		final Object[] keys = new Object[elements.length];
+		for (int index = 0; index < elements.length; index++)
+		{
+			keys[index] = keyExtractor.apply((T)elements[index]);
+		}
+		permute(list, elements, sortIndexes(elements.length,
+			(index, otherIndex) -> keyComparator.compare((K)keys[index], (K)keys[otherIndex])));
+	}
+
+	/**
+	 * Sorts the given list by the int keys of the given key extractor in ascending order
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to sort
+	 * @param keyExtractor
+	 *            the function that extracts the key of an element
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void sortByInt(final List<T> list,
+		final ToIntFunction<? super T> keyExtractor)
+	{
+		final Object[] elements = list.toArray();
+		final int[] keys = new int[elements.length];
+		for (int index = 0; index < elements.length; index++)
+		{
+			keys[index] = keyExtractor.applyAsInt((T)elements[index]);
+		}
+		permute(list, elements, sortIndexes(elements.length,
+			(index, otherIndex) -> Integer.compare(keys[index], keys[otherIndex])));
+	}
+
+	/**
+	 * Sorts the given list by the long keys of the given key extractor in ascending order
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to sort
+	 * @param keyExtractor
+	 *            the function that extracts the key of an element
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void sortByLong(final List<T> list,
+		final ToLongFunction<? super T> keyExtractor)
+	{
+		final Object[] elements = list.toArray();
+		final long[] keys = new long[elements.length];
+		for (int index = 0; index < elements.length; index++)
+		{
+			keys[index] = keyExtractor.applyAsLong((T)elements[index]);
+		}
+		permute(list, elements, sortIndexes(elements.length,
+			(index, otherIndex) -> Long.compare(keys[index], keys[otherIndex])));
+	}
+
+	/**
+	 * Sorts the given list by the double keys of the given key extractor in the ascending order of
+	 * {@link Double#compare(double, double)}
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to sort
+	 * @param keyExtractor
+	 *            the function that extracts the key of an element
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void sortByDouble(final List<T> list,
+		final ToDoubleFunction<? super T> keyExtractor)
+	{
+		final Object[] elements = list.toArray();
+		final double[] keys = new double[elements.length];
+		for (int index = 0; index < elements.length; index++)
+		{
+			keys[index] = keyExtractor.applyAsDouble((T)elements[index]);
+		}
+		permute(list, elements, sortIndexes(elements.length,
+			(index, otherIndex) -> Double.compare(keys[index], keys[otherIndex])));
+	}
+
+	/**
+	 * Sorts the given list in parallel with the given comparator. This is the parallel counterpart
+	 * of {@link List#sort(Comparator)} for immutable comparators like
+	 * {@link CompiledBeanComparator} or {@link CompositeBeanComparator}
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to sort
+	 * @param comparator
+	 *            the stateless comparator
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void parallelSort(final List<T> list, final Comparator<? super T> comparator)
+	{
+		if (list.size() < PARALLEL_THRESHOLD)
+		{
+			list.sort(comparator);
+			return;
+		}
+		final Object[] elements = list.toArray();
+		Arrays.parallelSort(elements, (Comparator<Object>)comparator);
+		final ListIterator<T> iterator = list.listIterator();
+		for (final Object element : elements)
+		{
+			iterator.next();
+			iterator.set((T)element);
+		}
+	}
+
+	/**
+	 * Sorts the given list in parallel in the order of the given {@link BeanPropertyComparator}.
+	 * The property is read once when the sort starts, so the comparator is not affected by a
+	 * concurrent call of {@link BeanPropertyComparator#setProperty(String)}
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to sort
+	 * @param comparator
+	 *            the bean property comparator that defines the property and the order
+	 */
+	@SuppressWarnings({ "deprecation", "unchecked" })
+	public static <T> void parallelSort(final List<T> list,
+		final BeanPropertyComparator<? super T> comparator)
+	{
+		final String property = comparator.getProperty();
+		final Comparator<Object> valueComparator = (Comparator<Object>)comparator.getComparator();
+		if (property == null)
+		{
+			parallelSort(list, Function.identity(), valueComparator);
+			return;
+		}
+		final PropertyPath propertyPath = PropertyPath.of(property);
+		parallelSort(list, element -> getValue(propertyPath, element), valueComparator);
+	}
+
+	/**
+	 * Sorts the given list in parallel by the keys of the given key extractor in the order of the
+	 * given key comparator
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param <K>
+	 *            the generic type of the keys
+	 * @param list
+	 *            the list to sort
+	 * @param keyExtractor
+	 *            the stateless function that extracts the key of an element
+	 * @param keyComparator
+	 *            the stateless comparator of the keys
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, K> void parallelSort(final List<T> list,
+		final Function<? super T, ? extends K> keyExtractor,
+		final Comparator<? super K> keyComparator)
+	{
+		if (list.size() < PARALLEL_THRESHOLD)
+		{
+			sort(list, keyExtractor, keyComparator);
+			return;
+		}
+		final Object[] elements = list.toArray();
+		final Decorated[] decorated = new Decorated[elements.length];
+		IntStream.range(0, elements.length).parallel()
+			.forEach(index -> decorated[index] = new Decorated(
+				keyExtractor.apply((T)elements[index]), elements[index]));
+		Arrays.parallelSort(decorated,
+			(entry, otherEntry) -> keyComparator.compare((K)entry.key, (K)otherEntry.key));
+		final ListIterator<T> iterator = list.listIterator();
+		for (final Decorated entry : decorated)
+		{
+			iterator.next();
+			iterator.set((T)entry.element);
+		}
+	}
+
+	/**
+	 * Sorts the given list in parallel by the int keys of the given key extractor in ascending
+	 * order. Every key is packed with the index of its element into a long value, so the keys are
+	 * sorted as primitive array without a comparator
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to sort
+	 * @param keyExtractor
+	 *            the stateless function that extracts the key of an element
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void parallelSortByInt(final List<T> list,
+		final ToIntFunction<? super T> keyExtractor)
+	{
+		if (list.size() < PARALLEL_THRESHOLD)
+		{
+			sortByInt(list, keyExtractor);
+			return;
+		}
+		final Object[] elements = list.toArray();
+		final long[] packed = new long[elements.length];
+		IntStream.range(0, elements.length).parallel()
+			.forEach(index -> packed[index] = (long)keyExtractor
+				.applyAsInt((T)elements[index]) << 32 | index);
+		Arrays.parallelSort(packed);
+		final int[] indexes = new int[packed.length];
+		for (int index = 0; index < packed.length; index++)
+		{
+			indexes[index] = (int)packed[index];
+		}
+		permute(list, elements, indexes);
+	}
+
+	/**
+	 * Sorts the given list in parallel by the long keys of the given key extractor in ascending
+	 * order
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to sort
+	 * @param keyExtractor
+	 *            the stateless function that extracts the key of an element
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void parallelSortByLong(final List<T> list,
+		final ToLongFunction<? super T> keyExtractor)
+	{
+		if (list.size() < PARALLEL_THRESHOLD)
+		{
+			sortByLong(list, keyExtractor);
+			return;
+		}
+		final Object[] elements = list.toArray();
+		final LongDecorated[] decorated = new LongDecorated[elements.length];
+		IntStream.range(0, elements.length).parallel()
+			.forEach(index -> decorated[index] = new LongDecorated(
+				keyExtractor.applyAsLong((T)elements[index]), elements[index]));
+		parallelSort(list, decorated);
+	}
+
+	/**
+	 * Sorts the given list in parallel by the double keys of the given key extractor in the
+	 * ascending order of {@link Double#compare(double, double)}
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param list
+	 *            the list to sort
+	 * @param keyExtractor
+	 *            the stateless function that extracts the key of an element
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void parallelSortByDouble(final List<T> list,
+		final ToDoubleFunction<? super T> keyExtractor)
+	{
+		if (list.size() < PARALLEL_THRESHOLD)
+		{
+			sortByDouble(list, keyExtractor);
+			return;
+		}
+		final Object[] elements = list.toArray();
+		final LongDecorated[] decorated = new LongDecorated[elements.length];
+		IntStream.range(0, elements.length).parallel().forEach(index -> {
+			// the bits of a double are transformed into a long with the order of Double#compare
+			final long bits = Double
+				.doubleToLongBits(keyExtractor.applyAsDouble((T)elements[index]));
+			decorated[index] = new LongDecorated(bits ^ (bits >> 63 & Long.MAX_VALUE),
+				elements[index]);
+		});
+		parallelSort(list, decorated);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void parallelSort(final List<T> list, final LongDecorated[] decorated)
+	{
+		Arrays.parallelSort(decorated,
+			(entry, otherEntry) -> Long.compare(entry.key, otherEntry.key));
+		final ListIterator<T> iterator = list.listIterator();
+		for (final LongDecorated entry : decorated)
+		{
+			iterator.next();
+			iterator.set((T)entry.element);
+		}
+	}
+
+	private static Object getValue(final PropertyPath propertyPath, final Object element)
+	{
+		try
+		{
+			return propertyPath.getValue(element);
+		}
+		catch (final IllegalAccessException | InvocationTargetException
+			| NoSuchMethodException e)
+		{
+			throw new IllegalStateException(
+				"Could not read the property " + propertyPath.getExpression(), e);
+		}
+	}
+
+	/**
+	 * Sorts the indexes from 0 to the given size with a stable merge sort. Runs of a small size are
+	 * sorted with insertion sort first
+	 *
+	 * @param size
+	 *            the number of indexes
+	 * @param comparator
+	 *            the comparator of two indexes
+	 * @return the sorted indexes
+	 */
+	static int[] sortIndexes(final int size, final IntBinaryOperator comparator)
+	{
+		int[] indexes = new int[size];
+		for (int index = 0; index < size; index++)
+		{
+			indexes[index] = index;
+		}
+		for (int from = 0; from < size; from += INSERTION_SORT_THRESHOLD)
+		{
+			final int to = Math.min(from + INSERTION_SORT_THRESHOLD, size);
+			for (int current = from + 1; current < to; current++)
+			{
+				final int value = indexes[current];
+				int position = current;
+				while (from < position && 0 < comparator.applyAsInt(indexes[position - 1], value))
+				{
+					indexes[position] = indexes[position - 1];
+					position--;
+				}
+				indexes[position] = value;
+			}
+		}
+		int[] buffer = new int[size];
+		for (int width = INSERTION_SORT_THRESHOLD; width < size; width <<= 1)
+		{
+			for (int from = 0; from < size; from += width << 1)
+			{
+				final int middle = Math.min(from + width, size);
+				final int to = Math.min(from + (width << 1), size);
+				int left = from;
+				int right = middle;
+				int target = from;
+				while (left < middle && right < to)
+				{
+					buffer[target++] = comparator.applyAsInt(indexes[right], indexes[left]) < 0
+						? indexes[right++]
+						: indexes[left++];
+				}
+				System.arraycopy(indexes, left, buffer, target, middle - left);
+				target += middle - left;
+				System.arraycopy(indexes, right, buffer, target, to - right);
+			}
+			final int[] swap = indexes;
+			indexes = buffer;
+			buffer = swap;
+		}
+		return indexes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void permute(final List<T> list, final Object[] elements,
+		final int[] indexes)
+	{
+		final ListIterator<T> iterator = list.listIterator();
+		for (final int index : indexes)
+		{
+			iterator.next();
+			iterator.set((T)elements[index]);
+		}
+	}
+
+	/**
+	 * The class {@link Decorated} holds an element with its extracted key
+	 */
+	private static final class Decorated
+	{
+
+		/** The key. */
+		final Object key;
+
+		/** The element. */
+		final Object element;
+
+		Decorated(final Object key, final Object element)
+		{
+			this.key = key;
+			this.element = element;
+		}
+	}
+
+	/**
+	 * The class {@link LongDecorated} holds an element with its extracted primitive key
+	 */
+	private static final class LongDecorated
+	{
+
+		/** The key. */
+		final long key;
+
+		/** The element. */
+		final Object element;
+
+		LongDecorated(final long key, final Object element)
+		{
+			this.key = key;
+			this.element = element;
+		}
+	}
+
+}
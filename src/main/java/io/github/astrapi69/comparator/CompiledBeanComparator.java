@@ -0,0 +1,201 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.comparator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import io.github.astrapi69.compare.object.BeanMetadata;
+import io.github.astrapi69.compare.object.PropertyMetadata;
+
+/**
+ * The class {@link CompiledBeanComparator} compares two beans over an ordered list of properties
+ * that are resolved once from the {@link BeanMetadata} of the bean class. The getters are called
+ * over the bound accessors of {@link PropertyMetadata} without any reflection and a comparison of
+ * beans with only primitive properties does not allocate any objects.<br>
+ * <br>
+ * Instances are immutable and can be shared between threads. New instances are created from the
+ * {@link BeanComparatorFactory}
+ *
+ * @param <T>
+ *            the generic type of the beans
+ */
+public final class CompiledBeanComparator<T> implements Comparator<T>
+{
+
+	/** The bean class. */
+	private final Class<T> beanClass;
+
+	/** The resolved properties in the order of comparison. */
+	private final PropertyMetadata[] properties;
+
+	/** The names of the resolved properties. */
+	private final List<String> propertyNames;
+
+	/**
+	 * Instantiates a new {@link CompiledBeanComparator}. Properties that are not readable
+	 * properties of the given bean class are ignored
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param properties
+	 *            the properties in the order of comparison
+	 */
+	CompiledBeanComparator(final Class<T> beanClass, final Collection<String> properties)
+	{
+		this.beanClass = beanClass;
+		final BeanMetadata beanMetadata = BeanMetadata.of(beanClass);
+		final List<PropertyMetadata> resolved = new ArrayList<>();
+		final List<String> names = new ArrayList<>();
+		for (final String property : properties)
+		{
+			final PropertyMetadata propertyMetadata = beanMetadata.getProperty(property);
+			if (propertyMetadata != null)
+			{
+				resolved.add(propertyMetadata);
+				names.add(property);
+			}
+		}
+		this.properties = resolved.toArray(new PropertyMetadata[0]);
+		this.propertyNames = Collections.unmodifiableList(names);
+	}
+
+	/**
+	 * Compares the given beans property by property and returns the first result that is not 0.
+	 * Properties of a primitive type are compared without boxing. Exceptions from the getters are
+	 * not wrapped
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param otherBean
+	 *            the bean to compare
+	 * @return the resulted int value
+	 */
+	@Override
+	public int compare(final T bean, final T otherBean)
+	{
+		final Integer nullCheck = ComparatorExtensions.nullCheck(bean, otherBean);
+		if (nullCheck != null)
+		{
+			return nullCheck;
+		}
+		for (final PropertyMetadata property : properties)
+		{
+			final int result = property.compareDirect(bean, otherBean);
+			if (result != 0)
+			{
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Compares the given beans over all properties and returns the sum of the results. This is
+	 * the semantic of <code>CompareObjectExtensions#compareTo(Object, Object, Set)</code>
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param otherBean
+	 *            the bean to compare
+	 * @return the sum of the results of all properties
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public int compareAll(final Object bean, final Object otherBean)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		int result = 0;
+		for (final PropertyMetadata property : properties)
+		{
+			result += property.compare(bean, otherBean);
+		}
+		return result;
+	}
+
+	/**
+	 * Compares the given beans property by property in the order of this comparator and returns
+	 * the first result that is not 0. This is the same as {@link #compare(Object, Object)} but
+	 * exceptions from the getters are wrapped like in <code>CompareObjectExtensions</code>
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param otherBean
+	 *            the bean to compare
+	 * @return the first result that is not 0 or 0 if all properties are equal
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public int compareInOrder(final Object bean, final Object otherBean)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		for (final PropertyMetadata property : properties)
+		{
+			final int result = property.compare(bean, otherBean);
+			if (result != 0)
+			{
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Gets the bean class
+	 *
+	 * @return the bean class
+	 */
+	public Class<T> getBeanClass()
+	{
+		return beanClass;
+	}
+
+	/**
+	 * Gets the names of the resolved properties in the order of comparison
+	 *
+	 * @return an unmodifiable list with the names of the resolved properties
+	 */
+	public List<String> getPropertyNames()
+	{
+		return propertyNames;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "CompiledBeanComparator [beanClass=" + beanClass.getName() + ", properties="
+			+ propertyNames + "]";
+	}
+
+}
@@ -0,0 +1,299 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.comparator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.astrapi69.compare.object.BeanMetadata;
+import io.github.astrapi69.compare.object.PropertyMetadata;
+import io.github.astrapi69.compare.object.PropertyValueComparator;
+
+/**
+ * The class {@link CompositeBeanComparator} compares two beans over an ordered list of properties
+ * with a direction and a null policy for every property. The properties are resolved once from the
+ * {@link BeanMetadata} of the bean class, so a comparison calls the bound accessors of the
+ * properties in sequence without any reflection and does not allocate any objects for properties
+ * of a primitive type.<br>
+ * <br>
+ * Instances are immutable and can be shared between threads. New instances are created with the
+ * {@link Builder} from {@link #builder(Class)}
+ *
+ * @param <T>
+ *            the generic type of the beans
+ */
+public final class CompositeBeanComparator<T> implements Comparator<T>
+{
+
+	/**
+	 * The enum {@link Direction} defines the sort direction of a property
+	 */
+	public enum Direction
+	{
+
+		/** The values are sorted in ascending order. */
+		ASCENDING,
+
+		/** The values are sorted in descending order. */
+		DESCENDING
+
+	}
+
+	/**
+	 * The enum {@link NullPolicy} defines the position of null values independent of the
+	 * direction
+	 */
+	public enum NullPolicy
+	{
+
+		/** Null values are sorted before all other values. */
+		NULLS_FIRST,
+
+		/** Null values are sorted after all other values. */
+		NULLS_LAST
+
+	}
+
+	/** The bean class. */
+	private final Class<T> beanClass;
+
+	/** The resolved properties in the order of comparison. */
+	private final PropertyMetadata[] properties;
+
+	/** The flags if a property is sorted in descending order. */
+	private final boolean[] descending;
+
+	/** The flags if null values of a property are sorted first. */
+	private final boolean[] nullsFirst;
+
+	/** The descriptions of the sort keys. */
+	private final List<String> sortKeys;
+
+	private CompositeBeanComparator(final Builder<T> builder)
+	{
+		this.beanClass = builder.beanClass;
+		final int size = builder.properties.size();
+		this.properties = builder.properties.toArray(new PropertyMetadata[size]);
+		this.descending = new boolean[size];
+		this.nullsFirst = new boolean[size];
+		final List<String> keys = new ArrayList<>(size);
+		for (int index = 0; index < size; index++)
+		{
+			descending[index] = builder.directions.get(index) == Direction.DESCENDING;
+			nullsFirst[index] = builder.nullPolicies.get(index) == NullPolicy.NULLS_FIRST;
+			keys.add(properties[index].getName() + " " + builder.directions.get(index) + " "
+				+ builder.nullPolicies.get(index));
+		}
+		this.sortKeys = Collections.unmodifiableList(keys);
+	}
+
+	/**
+	 * Factory method for create a new {@link Builder} for the given bean class
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param beanClass
+	 *            the bean class
+	 * @return the new {@link Builder}
+	 */
+	public static <T> Builder<T> builder(final Class<T> beanClass)
+	{
+		return new Builder<>(beanClass);
+	}
+
+	/**
+	 * Compares the given beans property by property and returns the first result that is not 0.
+	 * Null beans are sorted first. Exceptions from the getters are not wrapped
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param otherBean
+	 *            the bean to compare
+	 * @return the resulted int value
+	 */
+	@Override
+	public int compare(final T bean, final T otherBean)
+	{
+		final Integer nullCheck = ComparatorExtensions.nullCheck(bean, otherBean);
+		if (nullCheck != null)
+		{
+			return nullCheck;
+		}
+		for (int index = 0; index < properties.length; index++)
+		{
+			final PropertyMetadata property = properties[index];
+			int result;
+			if (property.isPrimitive())
+			{
+				result = property.compareDirect(bean, otherBean);
+			}
+			else
+			{
+				final Object value = property.getAccessor().apply(bean);
+				final Object otherValue = property.getAccessor().apply(otherBean);
+				if (value == null || otherValue == null)
+				{
+					if (value == otherValue)
+					{
+						continue;
+					}
+					return (value == null) == nullsFirst[index] ? -1 : 1;
+				}
+				result = PropertyValueComparator.compare(value, otherValue,
+					property.getValueComparator());
+			}
+			if (result != 0)
+			{
+				return descending[index] ? Integer.compare(0, result) : result;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Gets the bean class
+	 *
+	 * @return the bean class
+	 */
+	public Class<T> getBeanClass()
+	{
+		return beanClass;
+	}
+
+	/**
+	 * Gets the descriptions of the sort keys in the order of comparison, every description
+	 * consists of the property name, the direction and the null policy
+	 *
+	 * @return an unmodifiable list with the descriptions of the sort keys
+	 */
+	public List<String> getSortKeys()
+	{
+		return sortKeys;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "CompositeBeanComparator [beanClass=" + beanClass.getName() + ", sortKeys="
+			+ sortKeys + "]";
+	}
+
+	/**
+	 * The class {@link Builder} collects the sort keys of a {@link CompositeBeanComparator}. The
+	 * properties are resolved when they are added, so unknown properties are reported early
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 */
+	public static final class Builder<T>
+	{
+
+		/** The bean class. */
+		private final Class<T> beanClass;
+
+		/** The metadata of the bean class. */
+		private final BeanMetadata beanMetadata;
+
+		/** The resolved properties. */
+		private final List<PropertyMetadata> properties = new ArrayList<>();
+
+		/** The directions of the properties. */
+		private final List<Direction> directions = new ArrayList<>();
+
+		/** The null policies of the properties. */
+		private final List<NullPolicy> nullPolicies = new ArrayList<>();
+
+		private Builder(final Class<T> beanClass)
+		{
+			this.beanClass = Objects.requireNonNull(beanClass);
+			this.beanMetadata = BeanMetadata.of(beanClass);
+		}
+
+		/**
+		 * Adds the given property in ascending order with null values first
+		 *
+		 * @param property
+		 *            the name of the property
+		 * @return this builder
+		 */
+		public Builder<T> ascending(final String property)
+		{
+			return add(property, Direction.ASCENDING, NullPolicy.NULLS_FIRST);
+		}
+
+		/**
+		 * Adds the given property in descending order with null values last
+		 *
+		 * @param property
+		 *            the name of the property
+		 * @return this builder
+		 */
+		public Builder<T> descending(final String property)
+		{
+			return add(property, Direction.DESCENDING, NullPolicy.NULLS_LAST);
+		}
+
+		/**
+		 * Adds the given property with the given direction and null policy
+		 *
+		 * @param property
+		 *            the name of the property
+		 * @param direction
+		 *            the direction
+		 * @param nullPolicy
+		 *            the null policy
+		 * @return this builder
+		 * @throws IllegalArgumentException
+		 *             if the bean class has no readable property with the given name
+		 */
+		public Builder<T> add(final String property, final Direction direction,
+			final NullPolicy nullPolicy)
+		{
+			final PropertyMetadata propertyMetadata = beanMetadata.getProperty(property);
+			if (propertyMetadata == null)
+			{
+				throw new IllegalArgumentException(
+					"Bean class " + beanClass.getName() + " has no readable property " + property);
+			}
+			properties.add(propertyMetadata);
+			directions.add(Objects.requireNonNull(direction));
+			nullPolicies.add(Objects.requireNonNull(nullPolicy));
+			return this;
+		}
+
+		/**
+		 * Creates the {@link CompositeBeanComparator} from the added sort keys
+		 *
+		 * @return the new {@link CompositeBeanComparator}
+		 */
+		public CompositeBeanComparator<T> build()
+		{
+			return new CompositeBeanComparator<>(this);
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.metrics;
+
+/**
+ * The interface {@link CompareListener} is notified about the comparisons of beans and properties
+ * if it is registered with {@link CompareMetrics#setListener(CompareListener)}. All methods have
+ * an empty default implementation, so implementations only override the events they are
+ * interested in. The methods are called from the threads that compare the beans, so
+ * implementations have to be thread safe and should return fast.<br>
+ * <br>
+ * The comparison events {@link #onBeanComparison(Class, long)},
+ * {@link #onPropertyComparison(Class, String, long)} and
+ * {@link #onException(Class, String, Throwable)} are only reported from the entry points
+ * <code>CompareObjectExtensions#compare(Object, Object)</code> and
+ * <code>ObjectDiff#of(Object, Object)</code>. The comparators of the package
+ * <code>io.github.astrapi69.comparator</code>, the <code>compareTo</code> and
+ * <code>compareInOrder</code> methods of <code>CompareObjectExtensions</code> and the snapshot
+ * diff are not instrumented, so sorting stays free of any time measurement. The metadata events
+ * {@link #onMetadataLookup(Class)}, {@link #onMetadataMiss(Class)} and
+ * {@link #onReflectionFallback(Class, String)} are reported for all entry points whenever they
+ * resolve the properties of a bean class over <code>BeanMetadata#of(Class)</code>, the compiled
+ * comparators resolve them only once on creation
+ */
+public interface CompareListener
+{
+
+	/** The listener that ignores all events and is registered by default. */
+	CompareListener NOOP = new CompareListener()
+	{
+	};
+
+	/**
+	 * Called after two beans were compared over all properties
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param durationNanos
+	 *            the duration of the comparison in nanoseconds
+	 */
+	default void onBeanComparison(final Class<?> beanClass, final long durationNanos)
+	{
+	}
+
+	/**
+	 * Called after a property of two beans was compared
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param property
+	 *            the name of the property
+	 * @param durationNanos
+	 *            the duration of the comparison in nanoseconds
+	 */
+	default void onPropertyComparison(final Class<?> beanClass, final String property,
+		final long durationNanos)
+	{
+	}
+
+	/**
+	 * Called on every lookup of the metadata of a bean class
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 */
+	default void onMetadataLookup(final Class<?> beanClass)
+	{
+	}
+
+	/**
+	 * Called if the metadata of a bean class is not cached and is resolved
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 */
+	default void onMetadataMiss(final Class<?> beanClass)
+	{
+	}
+
+	/**
+	 * Called if the getter of a property could not be bound over the
+	 * <code>LambdaMetafactory</code> and is called over a slower method handle proxy
+	 *
+	 * @param beanClass
+	 *            the class that declares the getter
+	 * @param property
+	 *            the name of the property
+	 */
+	default void onReflectionFallback(final Class<?> beanClass, final String property)
+	{
+	}
+
+	/**
+	 * Called if the comparison of a property throws an exception
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param property
+	 *            the name of the property
+	 * @param throwable
+	 *            the thrown exception
+	 */
+	default void onException(final Class<?> beanClass, final String property,
+		final Throwable throwable)
+	{
+	}
+
+}
@@ -0,0 +1,81 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.metrics;
+
+import java.util.Objects;
+
+/**
+ * The class {@link CompareMetrics} holds the {@link CompareListener} that is notified from the
+ * compare methods that are listed in the documentation of {@link CompareListener}. By default the
+ * {@link CompareListener#NOOP} listener is registered and the compare methods skip the time
+ * measurement, so the instrumentation costs only a read of a volatile field per comparison
+ */
+public final class CompareMetrics
+{
+
+	/** The registered listener. */
+	private static volatile CompareListener listener = CompareListener.NOOP;
+
+	private CompareMetrics()
+	{
+	}
+
+	/**
+	 * Gets the registered listener
+	 *
+	 * @return the registered listener or {@link CompareListener#NOOP} if no listener is registered
+	 */
+	public static CompareListener getListener()
+	{
+		return listener;
+	}
+
+	/**
+	 * Registers the given listener. Events of metadata that is already resolved, like the
+	 * reflection fallbacks, are not reported again
+	 *
+	 * @param listener
+	 *            the listener
+	 */
+	public static void setListener(final CompareListener listener)
+	{
+		CompareMetrics.listener = Objects.requireNonNull(listener);
+	}
+
+	/**
+	 * Removes the registered listener, so the {@link CompareListener#NOOP} listener is used
+	 */
+	public static void removeListener()
+	{
+		listener = CompareListener.NOOP;
+	}
+
+	/**
+	 * Checks if a listener is registered
+	 *
+	 * @return true, if a listener is registered otherwise false
+	 */
+	public static boolean isEnabled()
+	{
+		return listener != CompareListener.NOOP;
+	}
+
+}
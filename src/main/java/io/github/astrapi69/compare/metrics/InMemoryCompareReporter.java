@@ -0,0 +1,393 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The class {@link InMemoryCompareReporter} counts the events of the compare methods per bean
+ * class and per property in memory. The counters are {@link LongAdder} objects, so concurrent
+ * comparisons do not contend on a shared counter. The statistics can be read at any time and
+ * {@link #report()} lists the bean classes and properties that took the most time first
+ */
+public final class InMemoryCompareReporter implements CompareListener
+{
+
+	/** The statistics by the bean class. */
+	private final Map<Class<?>, BeanStatistics> statistics = new ConcurrentHashMap<>();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onBeanComparison(final Class<?> beanClass, final long durationNanos)
+	{
+		final BeanStatistics beanStatistics = getOrCreate(beanClass);
+		beanStatistics.comparisons.increment();
+		beanStatistics.totalNanos.add(durationNanos);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onPropertyComparison(final Class<?> beanClass, final String property,
+		final long durationNanos)
+	{
+		final PropertyStatistics propertyStatistics = getOrCreate(beanClass)
+			.getOrCreate(property);
+		propertyStatistics.comparisons.increment();
+		propertyStatistics.totalNanos.add(durationNanos);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onMetadataLookup(final Class<?> beanClass)
+	{
+		getOrCreate(beanClass).metadataLookups.increment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onMetadataMiss(final Class<?> beanClass)
+	{
+		getOrCreate(beanClass).metadataMisses.increment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onReflectionFallback(final Class<?> beanClass, final String property)
+	{
+		getOrCreate(beanClass).reflectionFallbacks.increment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onException(final Class<?> beanClass, final String property,
+		final Throwable throwable)
+	{
+		final BeanStatistics beanStatistics = getOrCreate(beanClass);
+		beanStatistics.exceptions.increment();
+		if (property != null)
+		{
+			beanStatistics.getOrCreate(property).exceptions.increment();
+		}
+	}
+
+	/**
+	 * Gets the statistics of the given bean class
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @return the statistics of the given bean class or null if no event was reported for it
+	 */
+	public BeanStatistics getStatistics(final Class<?> beanClass)
+	{
+		return statistics.get(beanClass);
+	}
+
+	/**
+	 * Gets the statistics of all bean classes ordered by the total time of the comparisons
+	 * descending
+	 *
+	 * @return the statistics of all bean classes
+	 */
+	public List<BeanStatistics> getStatistics()
+	{
+		final List<BeanStatistics> result = new ArrayList<>(statistics.values());
+		result.sort(Comparator.comparingLong(BeanStatistics::getTotalNanos).reversed());
+		return result;
+	}
+
+	/**
+	 * Removes all statistics
+	 */
+	public void reset()
+	{
+		statistics.clear();
+	}
+
+	/**
+	 * Creates a report with a line for every bean class followed by a line for every property
+	 * ordered by the total time of the comparisons descending
+	 *
+	 * @return the report
+	 */
+	public String report()
+	{
+		final StringBuilder report = new StringBuilder();
+		for (final BeanStatistics beanStatistics : getStatistics())
+		{
+			report.append(beanStatistics).append(System.lineSeparator());
+			for (final PropertyStatistics propertyStatistics : beanStatistics
+				.getPropertyStatistics())
+			{
+				report.append("  ").append(propertyStatistics).append(System.lineSeparator());
+			}
+		}
+		return report.toString();
+	}
+
+	private BeanStatistics getOrCreate(final Class<?> beanClass)
+	{
+		return statistics.computeIfAbsent(beanClass, BeanStatistics::new);
+	}
+
+	/**
+	 * The class {@link BeanStatistics} holds the counters of a bean class
+	 */
+	public static final class BeanStatistics
+	{
+
+		/** The bean class. */
+		private final Class<?> beanClass;
+
+		/** The number of comparisons. */
+		private final LongAdder comparisons = new LongAdder();
+
+		/** The total time of the comparisons in nanoseconds. */
+		private final LongAdder totalNanos = new LongAdder();
+
+		/** The number of metadata lookups. */
+		private final LongAdder metadataLookups = new LongAdder();
+
+		/** The number of metadata lookups that resolved the metadata. */
+		private final LongAdder metadataMisses = new LongAdder();
+
+		/** The number of getters that are called over a method handle proxy. */
+		private final LongAdder reflectionFallbacks = new LongAdder();
+
+		/** The number of exceptions. */
+		private final LongAdder exceptions = new LongAdder();
+
+		/** The statistics of the properties by name. */
+		private final Map<String, PropertyStatistics> properties = new ConcurrentHashMap<>();
+
+		private BeanStatistics(final Class<?> beanClass)
+		{
+			this.beanClass = beanClass;
+		}
+
+		private PropertyStatistics getOrCreate(final String property)
+		{
+			return properties.computeIfAbsent(property, PropertyStatistics::new);
+		}
+
+		/**
+		 * Gets the bean class
+		 *
+		 * @return the bean class
+		 */
+		public Class<?> getBeanClass()
+		{
+			return beanClass;
+		}
+
+		/**
+		 * Gets the number of comparisons
+		 *
+		 * @return the number of comparisons
+		 */
+		public long getComparisons()
+		{
+			return comparisons.sum();
+		}
+
+		/**
+		 * Gets the total time of the comparisons in nanoseconds
+		 *
+		 * @return the total time of the comparisons in nanoseconds
+		 */
+		public long getTotalNanos()
+		{
+			return totalNanos.sum();
+		}
+
+		/**
+		 * Gets the number of metadata lookups that found cached metadata
+		 *
+		 * @return the number of metadata cache hits
+		 */
+		public long getMetadataHits()
+		{
+			return Math.max(0, metadataLookups.sum() - metadataMisses.sum());
+		}
+
+		/**
+		 * Gets the number of metadata lookups that resolved the metadata
+		 *
+		 * @return the number of metadata cache misses
+		 */
+		public long getMetadataMisses()
+		{
+			return metadataMisses.sum();
+		}
+
+		/**
+		 * Gets the number of getters that are called over a method handle proxy
+		 *
+		 * @return the number of reflection fallbacks
+		 */
+		public long getReflectionFallbacks()
+		{
+			return reflectionFallbacks.sum();
+		}
+
+		/**
+		 * Gets the number of exceptions
+		 *
+		 * @return the number of exceptions
+		 */
+		public long getExceptions()
+		{
+			return exceptions.sum();
+		}
+
+		/**
+		 * Gets the statistics of the given property
+		 *
+		 * @param property
+		 *            the name of the property
+		 * @return the statistics of the given property or null if no event was reported for it
+		 */
+		public PropertyStatistics getPropertyStatistics(final String property)
+		{
+			return properties.get(property);
+		}
+
+		/**
+		 * Gets the statistics of all properties ordered by the total time of the comparisons
+		 * descending
+		 *
+		 * @return the statistics of all properties
+		 */
+		public List<PropertyStatistics> getPropertyStatistics()
+		{
+			final List<PropertyStatistics> result = new ArrayList<>(properties.values());
+			result.sort(Comparator.comparingLong(PropertyStatistics::getTotalNanos).reversed());
+			return result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString()
+		{
+			return "BeanStatistics [beanClass=" + beanClass.getName() + ", comparisons="
+				+ getComparisons() + ", totalNanos=" + getTotalNanos() + ", metadataHits="
+				+ getMetadataHits() + ", metadataMisses=" + getMetadataMisses()
+				+ ", reflectionFallbacks=" + getReflectionFallbacks() + ", exceptions="
+				+ getExceptions() + "]";
+		}
+
+	}
+
+	/**
+	 * The class {@link PropertyStatistics} holds the counters of a property
+	 */
+	public static final class PropertyStatistics
+	{
+
+		/** The name of the property. */
+		private final String property;
+
+		/** The number of comparisons. */
+		private final LongAdder comparisons = new LongAdder();
+
+		/** The total time of the comparisons in nanoseconds. */
+		private final LongAdder totalNanos = new LongAdder();
+
+		/** The number of exceptions. */
+		private final LongAdder exceptions = new LongAdder();
+
+		private PropertyStatistics(final String property)
+		{
+			this.property = property;
+		}
+
+		/**
+		 * Gets the name of the property
+		 *
+		 * @return the name of the property
+		 */
+		public String getProperty()
+		{
+			return property;
+		}
+
+		/**
+		 * Gets the number of comparisons
+		 *
+		 * @return the number of comparisons
+		 */
+		public long getComparisons()
+		{
+			return comparisons.sum();
+		}
+
+		/**
+		 * Gets the total time of the comparisons in nanoseconds
+		 *
+		 * @return the total time of the comparisons in nanoseconds
+		 */
+		public long getTotalNanos()
+		{
+			return totalNanos.sum();
+		}
+
+		/**
+		 * Gets the number of exceptions
+		 *
+		 * @return the number of exceptions
+		 */
+		public long getExceptions()
+		{
+			return exceptions.sum();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString()
+		{
+			return "PropertyStatistics [property=" + property + ", comparisons="
+				+ getComparisons() + ", totalNanos=" + getTotalNanos() + ", exceptions="
+				+ getExceptions() + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,228 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The class {@link JfrCompareListener} records the events of the compare methods as Java Flight
+ * Recorder events in the category 'jobj-compare'. The events are only created if they are enabled
+ * in the running recording. Metadata lookups are not recorded because they are too frequent, the
+ * {@link InMemoryCompareReporter} counts them
+ */
+public final class JfrCompareListener implements CompareListener
+{
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onBeanComparison(final Class<?> beanClass, final long durationNanos)
+	{
+		final BeanComparisonEvent event = new BeanComparisonEvent();
+		if (event.shouldCommit())
+		{
+			event.beanClass = beanClass;
+			event.comparisonDuration = durationNanos;
+			event.commit();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onPropertyComparison(final Class<?> beanClass, final String property,
+		final long durationNanos)
+	{
+		final PropertyComparisonEvent event = new PropertyComparisonEvent();
+		if (event.shouldCommit())
+		{
+			event.beanClass = beanClass;
+			event.property = property;
+			event.comparisonDuration = durationNanos;
+			event.commit();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onMetadataMiss(final Class<?> beanClass)
+	{
+		final MetadataMissEvent event = new MetadataMissEvent();
+		if (event.shouldCommit())
+		{
+			event.beanClass = beanClass;
+			event.commit();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onReflectionFallback(final Class<?> beanClass, final String property)
+	{
+		final ReflectionFallbackEvent event = new ReflectionFallbackEvent();
+		if (event.shouldCommit())
+		{
+			event.beanClass = beanClass;
+			event.property = property;
+			event.commit();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void onException(final Class<?> beanClass, final String property,
+		final Throwable throwable)
+	{
+		final CompareExceptionEvent event = new CompareExceptionEvent();
+		if (event.shouldCommit())
+		{
+			event.beanClass = beanClass;
+			event.property = property;
+			event.exceptionClass = throwable.getClass();
+			event.message = throwable.getMessage();
+			event.commit();
+		}
+	}
+
+	/**
+	 * The event of a comparison of two beans over all properties
+	 */
+	@Name("io.github.astrapi69.compare.BeanComparison")
+	@Label("Bean Comparison")
+	@Category("jobj-compare")
+	@StackTrace(false)
+	static final class BeanComparisonEvent extends Event
+	{
+
+		/** The bean class. */
+		@Label("Bean Class")
+		Class<?> beanClass;
+
+		/** The duration of the comparison. */
+		@Label("Comparison Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long comparisonDuration;
+
+	}
+
+	/**
+	 * The event of a comparison of a property of two beans
+	 */
+	@Name("io.github.astrapi69.compare.PropertyComparison")
+	@Label("Property Comparison")
+	@Category("jobj-compare")
+	@StackTrace(false)
+	static final class PropertyComparisonEvent extends Event
+	{
+
+		/** The bean class. */
+		@Label("Bean Class")
+		Class<?> beanClass;
+
+		/** The name of the property. */
+		@Label("Property")
+		String property;
+
+		/** The duration of the comparison. */
+		@Label("Comparison Duration")
+		@Timespan(Timespan.NANOSECONDS)
+		long comparisonDuration;
+
+	}
+
+	/**
+	 * The event of the resolution of the metadata of a bean class
+	 */
+	@Name("io.github.astrapi69.compare.MetadataMiss")
+	@Label("Metadata Miss")
+	@Description("The metadata of a bean class is not cached and is resolved")
+	@Category("jobj-compare")
+	static final class MetadataMissEvent extends Event
+	{
+
+		/** The bean class. */
+		@Label("Bean Class")
+		Class<?> beanClass;
+
+	}
+
+	/**
+	 * The event of a getter that is called over a method handle proxy
+	 */
+	@Name("io.github.astrapi69.compare.ReflectionFallback")
+	@Label("Reflection Fallback")
+	@Description("A getter could not be bound over the LambdaMetafactory")
+	@Category("jobj-compare")
+	static final class ReflectionFallbackEvent extends Event
+	{
+
+		/** The class that declares the getter. */
+		@Label("Bean Class")
+		Class<?> beanClass;
+
+		/** The name of the property. */
+		@Label("Property")
+		String property;
+
+	}
+
+	/**
+	 * The event of an exception of a comparison
+	 */
+	@Name("io.github.astrapi69.compare.CompareException")
+	@Label("Compare Exception")
+	@Category("jobj-compare")
+	static final class CompareExceptionEvent extends Event
+	{
+
+		/** The bean class. */
+		@Label("Bean Class")
+		Class<?> beanClass;
+
+		/** The name of the property. */
+		@Label("Property")
+		String property;
+
+		/** The class of the exception. */
+		@Label("Exception Class")
+		Class<?> exceptionClass;
+
+		/** The message of the exception. */
+		@Label("Message")
+		String message;
+
+	}
+
+}
@@ -0,0 +1,67 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The abstract class {@link AbstractDirtyTrackable} is a base class for beans that track their
+ * dirty properties. The setters of the derived class call {@link #markDirty(String)} with the name
+ * of the written property
+ */
+public abstract class AbstractDirtyTrackable implements DirtyTrackable
+{
+
+	/** The names of the dirty properties. */
+	private final transient Set<String> dirtyProperties = new HashSet<>();
+
+	/**
+	 * Marks the given property as dirty
+	 *
+	 * @param property
+	 *            the name of the written property
+	 */
+	protected void markDirty(final String property)
+	{
+		dirtyProperties.add(property);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<String> dirtyProperties()
+	{
+		return Collections.unmodifiableSet(dirtyProperties);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clearDirtyProperties()
+	{
+		dirtyProperties.clear();
+	}
+
+}
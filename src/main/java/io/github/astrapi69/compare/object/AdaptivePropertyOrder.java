@@ -0,0 +1,117 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The class {@link AdaptivePropertyOrder} learns for a bean class which properties differ most
+ * often and orders the properties accordingly, so an equality check that stops at the first
+ * difference reads as few getters as possible.<br>
+ * <br>
+ * The counters are not synchronized because they are only statistics. After every
+ * {@link #REORDER_INTERVAL} recorded differences the order is recomputed and the counters are
+ * halved, so the order adapts if the data changes
+ */
+final class AdaptivePropertyOrder
+{
+
+	/** The number of recorded differences after that the order is recomputed. */
+	static final int REORDER_INTERVAL = 1024;
+
+	/** The registry that holds the {@link AdaptivePropertyOrder} for every bean class. */
+	private static final ClassValue<AdaptivePropertyOrder> ORDERS = new ClassValue<>()
+	{
+		@Override
+		protected AdaptivePropertyOrder computeValue(final Class<?> type)
+		{
+			return new AdaptivePropertyOrder(BeanMetadata.of(type));
+		}
+	};
+
+	/** The number of differences of every property indexed by the ordinal. */
+	private final int[] differences;
+
+	/** The current order of the properties. */
+	private volatile PropertyMetadata[] order;
+
+	/** The number of recorded differences since the last reorder. */
+	private int recorded;
+
+	private AdaptivePropertyOrder(final BeanMetadata beanMetadata)
+	{
+		this.differences = new int[beanMetadata.size()];
+		this.order = beanMetadata.getProperties().toArray(new PropertyMetadata[0]);
+	}
+
+	/**
+	 * Gets the {@link AdaptivePropertyOrder} of the given bean class
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @return the {@link AdaptivePropertyOrder} of the given bean class
+	 */
+	static AdaptivePropertyOrder of(final Class<?> beanClass)
+	{
+		return ORDERS.get(beanClass);
+	}
+
+	/**
+	 * Gets the properties in the current order. The returned array must not be modified
+	 *
+	 * @return the properties in the current order
+	 */
+	PropertyMetadata[] getOrder()
+	{
+		return order;
+	}
+
+	/**
+	 * Records that the given property was the first property that differs
+	 *
+	 * @param property
+	 *            the property that differs
+	 */
+	void recordDifference(final PropertyMetadata property)
+	{
+		differences[property.getOrdinal()]++;
+		if (++recorded >= REORDER_INTERVAL)
+		{
+			recorded = 0;
+			reorder();
+		}
+	}
+
+	private void reorder()
+	{
+		final int[] snapshot = differences.clone();
+		final PropertyMetadata[] newOrder = order.clone();
+		Arrays.sort(newOrder, Comparator
+			.comparingInt((final PropertyMetadata property) -> -snapshot[property.getOrdinal()]));
+		for (int i = 0; i < differences.length; i++)
+		{
+			differences[i] >>>= 1;
+		}
+		order = newOrder;
+	}
+
+}
@@ -0,0 +1,379 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.beanutils.MethodUtils;
+import org.apache.commons.beanutils.PropertyUtils;
+
+import io.github.astrapi69.compare.metrics.CompareMetrics;
+
+/**
+ * The class {@link BeanMetadata} holds the readable properties of a bean class. The properties
+ * are the same that <code>BeanUtils#describe</code> would return without the property 'class'.
+ * <br>
+ * <br>
+ * The properties of a record are its components, they are discovered over
+ * <code>Class#getRecordComponents</code> if the runtime supports records. The accessors of a
+ * record that is not public are read over a private lookup, so the package of the record has to be
+ * open to this library if it is in a named module. Classes without any
+ * readable JavaBean property, like immutable value classes, get a property for every field with a
+ * public accessor method of the same name like <code>x()</code> or for every public field. Public
+ * fields are read over a {@link MethodHandle} getter.<br>
+ * <br>
+ * The introspection is done only once for every bean class and the result is shared over a
+ * {@link ClassValue}, so all compare methods can read the property values directly from the
+ * resolved getter methods
+ */
+public final class BeanMetadata
+{
+
+	/** The registry that holds the resolved {@link BeanMetadata} for every bean class. */
+	private static final ClassValue<BeanMetadata> REGISTRY = new ClassValue<>()
+	{
+		@Override
+		protected BeanMetadata computeValue(final Class<?> type)
+		{
+			CompareMetrics.getListener().onMetadataMiss(type);
+			return new BeanMetadata(type);
+		}
+	};
+
+	/** The method <code>Class#getRecordComponents</code> or null if records are not supported. */
+	private static final Method GET_RECORD_COMPONENTS;
+
+	/** The method <code>RecordComponent#getAccessor</code> or null if records are not supported. */
+	private static final Method GET_ACCESSOR;
+
+	static
+	{
+		Method getRecordComponents;
+		Method getAccessor;
+		try
+		{
+			getRecordComponents = Class.class.getMethod("getRecordComponents");
+			getAccessor = Class.forName("java.lang.reflect.RecordComponent")
+				.getMethod("getAccessor");
+		}
+		catch (final ReflectiveOperationException e)
+		{
+			// records are supported since java 16
+			getRecordComponents = null;
+			getAccessor = null;
+		}
+		GET_RECORD_COMPONENTS = getRecordComponents;
+		GET_ACCESSOR = getAccessor;
+	}
+
+	/** The bean class. */
+	private final Class<?> beanClass;
+
+	/** The readable properties ordered by name. */
+	private final PropertyMetadata[] properties;
+
+	/** The readable properties mapped by name. */
+	private final Map<String, PropertyMetadata> propertiesByName;
+
+	/** The names of the readable properties ordered by name. */
+	private final List<String> propertyNames;
+
+	/**
+	 * Instantiates a new {@link BeanMetadata} from the given bean class
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 */
+	private BeanMetadata(final Class<?> beanClass)
+	{
+		this.beanClass = beanClass;
+		final Object[] recordComponents = getRecordComponents(beanClass);
+		List<PropertyMetadata> resolved = recordComponents != null
+			? resolveRecordComponents(beanClass, recordComponents)
+			: resolveGetters(beanClass);
+		if (resolved.isEmpty() && recordComponents == null)
+		{
+			resolved = resolveFields(beanClass);
+		}
+		this.properties = resolved.toArray(new PropertyMetadata[0]);
+		final Map<String, PropertyMetadata> byName = new HashMap<>();
+		final List<String> names = new ArrayList<>();
+		for (final PropertyMetadata property : this.properties)
+		{
+			byName.put(property.getName(), property);
+			names.add(property.getName());
+		}
+		this.propertiesByName = byName;
+		this.propertyNames = Collections.unmodifiableList(names);
+	}
+
+	private static List<PropertyMetadata> resolveGetters(final Class<?> beanClass)
+	{
+		final List<PropertyMetadata> resolved = new ArrayList<>();
+		for (final PropertyDescriptor descriptor : PropertyUtils.getPropertyDescriptors(beanClass))
+		{
+			if ("class".equals(descriptor.getName()))
+			{
+				continue;
+			}
+			final Method readMethod = MethodUtils.getAccessibleMethod(beanClass,
+				descriptor.getReadMethod());
+			if (readMethod != null)
+			{
+				resolved.add(new PropertyMetadata(descriptor.getName(), resolved.size(),
+					readMethod.getReturnType(), readMethod));
+			}
+		}
+		return resolved;
+	}
+
+	/**
+	 * Resolves the accessors of the given record components ordered by name. The accessors of a
+	 * record that is not public are bound over a private lookup in the record class
+	 *
+	 * @throws IllegalArgumentException
+	 *             if the accessor of a record component is not accessible
+	 */
+	private static List<PropertyMetadata> resolveRecordComponents(final Class<?> beanClass,
+		final Object[] recordComponents)
+	{
+		final Map<String, Method> accessors = new TreeMap<>();
+		for (final Object recordComponent : recordComponents)
+		{
+			final Method accessor = invoke(GET_ACCESSOR, recordComponent, Method.class);
+			accessors.put(accessor.getName(), accessor);
+		}
+		final List<PropertyMetadata> resolved = new ArrayList<>();
+		for (final Method accessor : accessors.values())
+		{
+			final Method accessibleMethod = MethodUtils.getAccessibleMethod(beanClass, accessor);
+			if (accessibleMethod != null)
+			{
+				resolved.add(new PropertyMetadata(accessor.getName(), resolved.size(),
+					accessor.getReturnType(), accessibleMethod));
+				continue;
+			}
+			try
+			{
+				resolved.add(new PropertyMetadata(accessor.getName(), resolved.size(),
+					accessor.getReturnType(),
+					MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup())
+						.unreflect(accessor),
+					beanClass));
+			}
+			catch (final IllegalAccessException e)
+			{
+				throw new IllegalArgumentException("Accessor of the record component "
+					+ accessor.getName() + " of the record class " + beanClass.getName()
+					+ " is not accessible", e);
+			}
+		}
+		return resolved;
+	}
+
+	/**
+	 * Resolves the instance fields of the given class and its superclasses ordered by name that
+	 * have a public accessor method of the same name or that are public
+	 */
+	private static List<PropertyMetadata> resolveFields(final Class<?> beanClass)
+	{
+		final Map<String, Object> accessors = new TreeMap<>();
+		for (Class<?> current = beanClass; current != null
+			&& current != Object.class; current = current.getSuperclass())
+		{
+			for (final Field field : current.getDeclaredFields())
+			{
+				if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()
+					|| accessors.containsKey(field.getName()))
+				{
+					continue;
+				}
+				final Method accessor = getAccessor(beanClass, field.getName());
+				if (accessor != null && accessor.getReturnType() == field.getType())
+				{
+					accessors.put(field.getName(), accessor);
+				}
+				else if (Modifier.isPublic(field.getModifiers())
+					&& Modifier.isPublic(current.getModifiers()))
+				{
+					accessors.put(field.getName(), field);
+				}
+			}
+		}
+		final List<PropertyMetadata> resolved = new ArrayList<>();
+		for (final Map.Entry<String, Object> entry : accessors.entrySet())
+		{
+			if (entry.getValue() instanceof Method)
+			{
+				final Method accessor = (Method)entry.getValue();
+				resolved.add(new PropertyMetadata(entry.getKey(), resolved.size(),
+					accessor.getReturnType(), accessor));
+				continue;
+			}
+			final Field field = (Field)entry.getValue();
+			try
+			{
+				resolved.add(new PropertyMetadata(entry.getKey(), resolved.size(),
+					field.getType(), MethodHandles.publicLookup().unreflectGetter(field),
+					field.getDeclaringClass()));
+			}
+			catch (final IllegalAccessException e)
+			{
+				// the field is not accessible and is not a property
+			}
+		}
+		return resolved;
+	}
+
+	private static Method getAccessor(final Class<?> beanClass, final String name)
+	{
+		try
+		{
+			return MethodUtils.getAccessibleMethod(beanClass, beanClass.getMethod(name));
+		}
+		catch (final NoSuchMethodException e)
+		{
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the record components of the given class
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @return the record components or null if the class is not a record or records are not
+	 *         supported
+	 */
+	private static Object[] getRecordComponents(final Class<?> beanClass)
+	{
+		if (GET_RECORD_COMPONENTS == null)
+		{
+			return null;
+		}
+		return invoke(GET_RECORD_COMPONENTS, beanClass, Object[].class);
+	}
+
+	private static <R> R invoke(final Method method, final Object target,
+		final Class<R> resultType)
+	{
+		try
+		{
+			return resultType.cast(method.invoke(target));
+		}
+		catch (final IllegalAccessException | InvocationTargetException e)
+		{
+			throw new IllegalStateException("Could not invoke " + method, e);
+		}
+	}
+
+	/**
+	 * Gets the {@link BeanMetadata} of the given bean class. The metadata is resolved on the first
+	 * call and cached for all subsequent calls
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @return the {@link BeanMetadata} of the given bean class
+	 */
+	public static BeanMetadata of(final Class<?> beanClass)
+	{
+		CompareMetrics.getListener().onMetadataLookup(beanClass);
+		return REGISTRY.get(beanClass);
+	}
+
+	/**
+	 * Gets the bean class
+	 *
+	 * @return the bean class
+	 */
+	public Class<?> getBeanClass()
+	{
+		return beanClass;
+	}
+
+	/**
+	 * Gets the readable properties of the bean class ordered by name
+	 *
+	 * @return an unmodifiable list with the readable properties
+	 */
+	public List<PropertyMetadata> getProperties()
+	{
+		return Collections.unmodifiableList(Arrays.asList(properties));
+	}
+
+	/**
+	 * Gets the names of the readable properties of the bean class ordered by name
+	 *
+	 * @return an unmodifiable list with the names of the readable properties
+	 */
+	public List<String> getPropertyNames()
+	{
+		return propertyNames;
+	}
+
+	/**
+	 * Gets the property with the given name
+	 *
+	 * @param name
+	 *            the name of the property
+	 * @return the property or null if the bean class has no readable property with the given name
+	 */
+	public PropertyMetadata getProperty(final String name)
+	{
+		return propertiesByName.get(name);
+	}
+
+	/**
+	 * Gets the property at the given ordinal
+	 *
+	 * @param ordinal
+	 *            the ordinal of the property
+	 * @return the property at the given ordinal
+	 */
+	public PropertyMetadata getProperty(final int ordinal)
+	{
+		return properties[ordinal];
+	}
+
+	/**
+	 * Gets the number of readable properties
+	 *
+	 * @return the number of readable properties
+	 */
+	public int size()
+	{
+		return properties.length;
+	}
+
+}
@@ -0,0 +1,755 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The class {@link BinaryBeanEncoder} encodes the properties of a bean into a compact binary form
+ * that preserves the order of the values. Two encoded beans compare with
+ * {@link #compare(byte[], byte[])} or {@link #compare(ByteBuffer, ByteBuffer)} like
+ * {@link CompareObjectExtensions#compareInOrder(Object, Object, String...)} over the same
+ * properties and are equal if all properties are equal like in
+ * {@link CompareObjectExtensions#compare(Object, Object)}. So beans that are stored in an
+ * encoded form can be compared without deserialization and without allocations over
+ * {@link Arrays#mismatch(byte[], byte[])} and {@link Arrays#compareUnsigned(byte[], byte[])}.<br>
+ * <br>
+ * Every value is encoded in the order of the properties, values of a reference type after a byte
+ * that is 0 for null values. Numbers are encoded big endian with a flipped sign bit, so they
+ * compare unsigned like signed values, doubles and floats with the bits of
+ * {@link Double#compare(double, double)}. {@link LocalDate} values are encoded as epoch day,
+ * enums with their ordinal and {@link BigDecimal} values with the sign, the exponent and the
+ * digits without trailing zeros because they are compared with <code>compareTo</code>. Strings
+ * are encoded with their UTF-16 chars and byte arrays with their signed bytes, terminated and with
+ * escaped zero bytes, so a prefix is less than the longer value. Like in
+ * {@link PropertyValueComparator} an empty byte array is equal to null.<br>
+ * <br>
+ * The encoding uses the natural order of the values, comparators of the
+ * {@link ValueComparatorRegistry} other than the defaults are not considered. Properties of other
+ * types can not be encoded. The encoder of a bean class is resolved once from the
+ * {@link BeanMetadata} and instances are thread safe
+ *
+ * @param <T>
+ *            the generic type of the beans
+ */
+public final class BinaryBeanEncoder<T>
+{
+
+	/** The registry that holds the encoder over all encodable properties of a bean class. */
+	private static final ClassValue<BinaryBeanEncoder<?>> ENCODERS = new ClassValue<>()
+	{
+		@Override
+		protected BinaryBeanEncoder<?> computeValue(final Class<?> beanClass)
+		{
+			final List<PropertyMetadata> properties = new ArrayList<>();
+			for (final PropertyMetadata property : BeanMetadata.of(beanClass).getProperties())
+			{
+				if (ValueEncoding.of(property.getType()) != null)
+				{
+					properties.add(property);
+				}
+			}
+			return new BinaryBeanEncoder<>(beanClass, properties);
+		}
+	};
+
+	/** The initial capacity of the buffer of an encoded bean. */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/** The bean class. */
+	private final Class<T> beanClass;
+
+	/** The properties that are encoded in this order. */
+	private final PropertyMetadata[] properties;
+
+	/** The encodings of the properties with the same index. */
+	private final ValueEncoding[] encodings;
+
+	/** The names of the encoded properties. */
+	private final List<String> propertyNames;
+
+	private BinaryBeanEncoder(final Class<T> beanClass, final List<PropertyMetadata> properties)
+	{
+		this.beanClass = beanClass;
+		this.properties = properties.toArray(new PropertyMetadata[0]);
+		this.encodings = new ValueEncoding[this.properties.length];
+		final List<String> names = new ArrayList<>(this.properties.length);
+		for (int index = 0; index < this.properties.length; index++)
+		{
+			encodings[index] = ValueEncoding.of(this.properties[index].getType());
+			names.add(this.properties[index].getName());
+		}
+		this.propertyNames = Collections.unmodifiableList(names);
+	}
+
+	/**
+	 * Gets the cached {@link BinaryBeanEncoder} over all readable properties of the given bean
+	 * class that can be encoded. The properties are encoded in the order of {@link BeanMetadata}
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param beanClass
+	 *            the bean class
+	 * @return the {@link BinaryBeanEncoder} of the given bean class
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> BinaryBeanEncoder<T> of(final Class<T> beanClass)
+	{
+		return (BinaryBeanEncoder<T>)ENCODERS.get(beanClass);
+	}
+
+	/**
+	 * Factory method for create a new {@link BinaryBeanEncoder} over the given properties of the
+	 * given bean class. The properties are encoded and compared in the given order
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param beanClass
+	 *            the bean class
+	 * @param properties
+	 *            the names of the properties
+	 * @return the new {@link BinaryBeanEncoder}
+	 * @throws IllegalArgumentException
+	 *             if the bean class has no readable property with one of the given names or if a
+	 *             property can not be encoded
+	 */
+	public static <T> BinaryBeanEncoder<T> of(final Class<T> beanClass,
+		final Collection<String> properties)
+	{
+		final BeanMetadata beanMetadata = BeanMetadata.of(beanClass);
+		final List<PropertyMetadata> resolved = new ArrayList<>();
+		for (final String property : properties)
+		{
+			final PropertyMetadata propertyMetadata = beanMetadata.getProperty(property);
+			if (propertyMetadata == null)
+			{
+				throw new IllegalArgumentException(
+					"Bean class " + beanClass.getName() + " has no readable property " + property);
+			}
+			if (ValueEncoding.of(propertyMetadata.getType()) == null)
+			{
+				throw new IllegalArgumentException("Property " + property + " of bean class "
+					+ beanClass.getName() + " can not be encoded");
+			}
+			resolved.add(propertyMetadata);
+		}
+		return new BinaryBeanEncoder<>(beanClass, resolved);
+	}
+
+	/**
+	 * Encodes the properties of the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @return the encoded bean
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public byte[] encode(final T bean) throws IllegalAccessException, InvocationTargetException
+	{
+		if (!beanClass.isInstance(bean))
+		{
+			throw new IllegalArgumentException(
+				"Object should not be null and be an instance of " + beanClass.getName() + ".");
+		}
+		final Output output = new Output();
+		for (int index = 0; index < properties.length; index++)
+		{
+			encodeProperty(properties[index], encodings[index], bean, output);
+		}
+		return output.toByteArray();
+	}
+
+	private static void encodeProperty(final PropertyMetadata property,
+		final ValueEncoding encoding, final Object bean, final Output output)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (property.isPrimitive())
+		{
+			try
+			{
+				switch (encoding)
+				{
+					case BYTE :
+						encodeByte(property.getIntAccessor().applyAsInt(bean), output);
+						break;
+					case SHORT :
+						encodeShort(property.getIntAccessor().applyAsInt(bean), output);
+						break;
+					case CHAR :
+						encodeChar(property.getIntAccessor().applyAsInt(bean), output);
+						break;
+					case INT :
+						encodeInt(property.getIntAccessor().applyAsInt(bean), output);
+						break;
+					case LONG :
+						encodeLong(property.getLongAccessor().applyAsLong(bean), output);
+						break;
+					case FLOAT :
+						encodeFloat((float)property.getDoubleAccessor().applyAsDouble(bean),
+							output);
+						break;
+					case DOUBLE :
+						encodeDouble(property.getDoubleAccessor().applyAsDouble(bean), output);
+						break;
+					default :
+						output.put(property.getBooleanAccessor().test(bean) ? 1 : 0);
+				}
+				return;
+			}
+			catch (final UndeclaredThrowableException e)
+			{
+				throw new InvocationTargetException(e.getCause());
+			}
+			catch (final Throwable throwable)
+			{
+				throw new InvocationTargetException(throwable);
+			}
+		}
+		final Object value = property.getValue(bean);
+		if (value == null || value instanceof byte[] && ((byte[])value).length == 0)
+		{
+			output.put(0);
+			return;
+		}
+		output.put(1);
+		encoding.encode(value, output);
+	}
+
+	/**
+	 * Encodes the given byte value with 1 byte
+	 *
+	 * @param value
+	 *            the value
+	 * @param output
+	 *            the output
+	 */
+	private static void encodeByte(final int value, final Output output)
+	{
+		output.put(value ^ Byte.MIN_VALUE);
+	}
+
+	/**
+	 * Encodes the given short value with 2 bytes
+	 *
+	 * @param value
+	 *            the value
+	 * @param output
+	 *            the output
+	 */
+	private static void encodeShort(final int value, final Output output)
+	{
+		output.putShort(value ^ Short.MIN_VALUE);
+	}
+
+	/**
+	 * Encodes the given char value with 2 bytes
+	 *
+	 * @param value
+	 *            the value
+	 * @param output
+	 *            the output
+	 */
+	private static void encodeChar(final int value, final Output output)
+	{
+		output.putShort(value);
+	}
+
+	/**
+	 * Encodes the given int value with 4 bytes
+	 *
+	 * @param value
+	 *            the value
+	 * @param output
+	 *            the output
+	 */
+	private static void encodeInt(final int value, final Output output)
+	{
+		output.putInt(value ^ Integer.MIN_VALUE);
+	}
+
+	/**
+	 * Encodes the given long value with 8 bytes
+	 *
+	 * @param value
+	 *            the value
+	 * @param output
+	 *            the output
+	 */
+	private static void encodeLong(final long value, final Output output)
+	{
+		output.putLong(value ^ Long.MIN_VALUE);
+	}
+
+	/**
+	 * Encodes the given float value with the 4 bytes of its bits
+	 *
+	 * @param value
+	 *            the value
+	 * @param output
+	 *            the output
+	 */
+	private static void encodeFloat(final float value, final Output output)
+	{
+		final int bits = Float.floatToIntBits(value);
+		output.putInt(bits < 0 ? ~bits : bits ^ Integer.MIN_VALUE);
+	}
+
+	/**
+	 * Encodes the given double value with the 8 bytes of its bits
+	 *
+	 * @param value
+	 *            the value
+	 * @param output
+	 *            the output
+	 */
+	private static void encodeDouble(final double value, final Output output)
+	{
+		final long bits = Double.doubleToLongBits(value);
+		output.putLong(bits < 0 ? ~bits : bits ^ Long.MIN_VALUE);
+	}
+
+	/**
+	 * Compares the given encoded beans
+	 *
+	 * @param encoded
+	 *            the encoded bean
+	 * @param otherEncoded
+	 *            the encoded bean to compare
+	 * @return 0 if the beans are equal, a negative value if the first bean is less and otherwise a
+	 *         positive value
+	 */
+	public static int compare(final byte[] encoded, final byte[] otherEncoded)
+	{
+		return Arrays.compareUnsigned(encoded, otherEncoded);
+	}
+
+	/**
+	 * Compares the remaining bytes of the given buffers with encoded beans. The positions of the
+	 * buffers are not changed
+	 *
+	 * @param encoded
+	 *            the buffer with the encoded bean
+	 * @param otherEncoded
+	 *            the buffer with the encoded bean to compare
+	 * @return 0 if the beans are equal, a negative value if the first bean is less and otherwise a
+	 *         positive value
+	 */
+	public static int compare(final ByteBuffer encoded, final ByteBuffer otherEncoded)
+	{
+		final int mismatch = encoded.mismatch(otherEncoded);
+		if (mismatch < 0)
+		{
+			return 0;
+		}
+		if (mismatch == encoded.remaining() || mismatch == otherEncoded.remaining())
+		{
+			return Integer.compare(encoded.remaining(), otherEncoded.remaining());
+		}
+		return Integer.compare(Byte.toUnsignedInt(encoded.get(encoded.position() + mismatch)),
+			Byte.toUnsignedInt(otherEncoded.get(otherEncoded.position() + mismatch)));
+	}
+
+	/**
+	 * Checks if the given encoded beans are equal
+	 *
+	 * @param encoded
+	 *            the encoded bean
+	 * @param otherEncoded
+	 *            the encoded bean to compare
+	 * @return true if the beans are equal otherwise false
+	 */
+	public static boolean isEqual(final byte[] encoded, final byte[] otherEncoded)
+	{
+		return Arrays.mismatch(encoded, otherEncoded) < 0;
+	}
+
+	/**
+	 * Checks if the remaining bytes of the given buffers with encoded beans are equal. The
+	 * positions of the buffers are not changed
+	 *
+	 * @param encoded
+	 *            the buffer with the encoded bean
+	 * @param otherEncoded
+	 *            the buffer with the encoded bean to compare
+	 * @return true if the beans are equal otherwise false
+	 */
+	public static boolean isEqual(final ByteBuffer encoded, final ByteBuffer otherEncoded)
+	{
+		return encoded.mismatch(otherEncoded) < 0;
+	}
+
+	/**
+	 * Gets the bean class
+	 *
+	 * @return the bean class
+	 */
+	public Class<T> getBeanClass()
+	{
+		return beanClass;
+	}
+
+	/**
+	 * Gets the names of the encoded properties in the order of encoding
+	 *
+	 * @return an unmodifiable list with the names of the encoded properties
+	 */
+	public List<String> getPropertyNames()
+	{
+		return propertyNames;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "BinaryBeanEncoder [beanClass=" + beanClass.getName() + ", properties="
+			+ propertyNames + "]";
+	}
+
+	/**
+	 * The enum {@link ValueEncoding} encodes the values of a type so that the unsigned order of the
+	 * bytes is the natural order of the values
+	 */
+	private enum ValueEncoding
+	{
+
+		/** byte values with 1 byte. */
+		BYTE
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				encodeByte(((Number)value).intValue(), output);
+			}
+		},
+
+		/** short values with 2 bytes. */
+		SHORT
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				encodeShort(((Number)value).intValue(), output);
+			}
+		},
+
+		/** char values with 2 bytes. */
+		CHAR
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				encodeChar(((Character)value).charValue(), output);
+			}
+		},
+
+		/** int values with 4 bytes. */
+		INT
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				encodeInt(((Number)value).intValue(), output);
+			}
+		},
+
+		/** long values with 8 bytes. */
+		LONG
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				encodeLong(((Number)value).longValue(), output);
+			}
+		},
+
+		/** float values with the 4 bytes of their bits. */
+		FLOAT
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				encodeFloat(((Number)value).floatValue(), output);
+			}
+		},
+
+		/** double values with the 8 bytes of their bits. */
+		DOUBLE
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				encodeDouble(((Number)value).doubleValue(), output);
+			}
+		},
+
+		/** boolean values with 1 byte. */
+		BOOLEAN
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				output.put((Boolean)value ? 1 : 0);
+			}
+		},
+
+		/** {@link LocalDate} values with the 8 bytes of the epoch day. */
+		LOCAL_DATE
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				encodeLong(((LocalDate)value).toEpochDay(), output);
+			}
+		},
+
+		/** enum values with the 4 bytes of the ordinal. */
+		ENUM
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				encodeInt(((Enum<?>)value).ordinal(), output);
+			}
+		},
+
+		/** {@link String} values with the escaped and terminated bytes of the UTF-16 chars. */
+		STRING
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				final String string = (String)value;
+				for (int index = 0; index < string.length(); index++)
+				{
+					final char character = string.charAt(index);
+					output.putEscaped(character >>> 8);
+					output.putEscaped(character);
+				}
+				output.putTerminator();
+			}
+		},
+
+		/** byte arrays with the escaped and terminated bytes with flipped sign bits. */
+		BYTE_ARRAY
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				for (final byte element : (byte[])value)
+				{
+					output.putEscaped(element ^ Byte.MIN_VALUE);
+				}
+				output.putTerminator();
+			}
+		},
+
+		/**
+		 * {@link BigDecimal} values with a sign byte, the exponent and the terminated digits
+		 * without trailing zeros. The bytes after the sign of negative values are inverted
+		 */
+		BIG_DECIMAL
+		{
+			@Override
+			void encode(final Object value, final Output output)
+			{
+				final BigDecimal decimal = ((BigDecimal)value).stripTrailingZeros();
+				final int signum = decimal.signum();
+				output.put(signum + 1);
+				if (signum == 0)
+				{
+					return;
+				}
+				final int mask = signum < 0 ? 0xFF : 0;
+				final long exponent = (long)decimal.precision() - decimal.scale();
+				output.putLong(exponent ^ Long.MIN_VALUE ^ (signum < 0 ? -1L : 0L));
+				final String digits = decimal.unscaledValue().abs().toString();
+				for (int index = 0; index < digits.length(); index++)
+				{
+					output.put(digits.charAt(index) ^ mask);
+				}
+				output.put(mask);
+			}
+		};
+
+		/**
+		 * Encodes the given value that is not null
+		 *
+		 * @param value
+		 *            the value
+		 * @param output
+		 *            the output
+		 */
+		abstract void encode(Object value, Output output);
+
+		/**
+		 * Gets the encoding of the values of the given type
+		 *
+		 * @param type
+		 *            the declared type of a property
+		 * @return the encoding or null if the values of the given type can not be encoded
+		 */
+		static ValueEncoding of(final Class<?> type)
+		{
+			if (type == byte.class || type == Byte.class)
+			{
+				return BYTE;
+			}
+			if (type == short.class || type == Short.class)
+			{
+				return SHORT;
+			}
+			if (type == char.class || type == Character.class)
+			{
+				return CHAR;
+			}
+			if (type == int.class || type == Integer.class)
+			{
+				return INT;
+			}
+			if (type == long.class || type == Long.class)
+			{
+				return LONG;
+			}
+			if (type == float.class || type == Float.class)
+			{
+				return FLOAT;
+			}
+			if (type == double.class || type == Double.class)
+			{
+				return DOUBLE;
+			}
+			if (type == boolean.class || type == Boolean.class)
+			{
+				return BOOLEAN;
+			}
+			if (type == LocalDate.class)
+			{
+				return LOCAL_DATE;
+			}
+			if (type.isEnum())
+			{
+				return ENUM;
+			}
+			if (type == String.class)
+			{
+				return STRING;
+			}
+			if (type == byte[].class)
+			{
+				return BYTE_ARRAY;
+			}
+			if (type == BigDecimal.class)
+			{
+				return BIG_DECIMAL;
+			}
+			return null;
+		}
+
+	}
+
+	/**
+	 * The class {@link Output} collects the bytes of an encoded bean
+	 */
+	private static final class Output
+	{
+
+		/** The collected bytes. */
+		private byte[] bytes = new byte[INITIAL_CAPACITY];
+
+		/** The number of collected bytes. */
+		private int size;
+
+		void put(final int value)
+		{
+			if (size == bytes.length)
+			{
+				bytes = Arrays.copyOf(bytes, size * 2);
+			}
+			bytes[size++] = (byte)value;
+		}
+
+		void putShort(final int value)
+		{
+			put(value >>> 8);
+			put(value);
+		}
+
+		void putInt(final int value)
+		{
+			putShort(value >>> 16);
+			putShort(value);
+		}
+
+		void putLong(final long value)
+		{
+			putInt((int)(value >>> 32));
+			putInt((int)value);
+		}
+
+		/**
+		 * Puts the given byte of a variable length value. A zero byte is escaped with the byte
+		 * 0xFF, so it is greater than the terminator
+		 *
+		 * @param value
+		 *            the byte
+		 */
+		void putEscaped(final int value)
+		{
+			put(value);
+			if ((value & 0xFF) == 0)
+			{
+				put(0xFF);
+			}
+		}
+
+		/**
+		 * Puts the terminator of a variable length value that is less than every escaped byte
+		 */
+		void putTerminator()
+		{
+			put(0);
+			put(0);
+		}
+
+		byte[] toByteArray()
+		{
+			return Arrays.copyOf(bytes, size);
+		}
+
+	}
+
+}
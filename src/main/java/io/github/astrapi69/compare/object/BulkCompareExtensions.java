@@ -0,0 +1,239 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The class {@link BulkCompareExtensions} compares two lists of objects pairwise on a
+ * {@link ForkJoinPool}. The index range of the lists is split recursively into chunks, so idle
+ * workers steal the remaining chunks from busy workers. Every pair is compared with an
+ * {@link ObjectDiff} over the shared {@link BeanMetadata} of the bean class and the results are
+ * returned in the order of the given lists
+ */
+public final class BulkCompareExtensions
+{
+
+	/** The minimum number of pairs that are compared in one task. */
+	static final int MIN_CHUNK_SIZE = 16;
+
+	/** The number of chunks per worker thread, so the workers can balance uneven chunks. */
+	static final int CHUNKS_PER_WORKER = 8;
+
+	private BulkCompareExtensions()
+	{
+	}
+
+	/**
+	 * Compares the given lists pairwise on the common {@link ForkJoinPool}
+	 *
+	 * @param sourceObjects
+	 *            the source objects
+	 * @param objectsToCompare
+	 *            the objects to compare
+	 * @return the {@link ObjectDiff} of every pair in the order of the given lists
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws IllegalArgumentException
+	 *             if the lists have not the same size or a pair contains null or objects of
+	 *             different types
+	 */
+	public static List<ObjectDiff> getObjectDiffs(final List<?> sourceObjects,
+		final List<?> objectsToCompare) throws IllegalAccessException, InvocationTargetException
+	{
+		return getObjectDiffs(sourceObjects, objectsToCompare, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Compares the elements of the given spliterators pairwise on the common {@link ForkJoinPool}.
+	 * The elements are collected into lists before the comparison, so the spliterators do not have
+	 * to split in the same way
+	 *
+	 * @param sourceObjects
+	 *            the spliterator of the source objects
+	 * @param objectsToCompare
+	 *            the spliterator of the objects to compare
+	 * @return the {@link ObjectDiff} of every pair in the encounter order of the given spliterators
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws IllegalArgumentException
+	 *             if the spliterators have not the same number of elements or a pair contains null
+	 *             or objects of different types
+	 */
+	public static List<ObjectDiff> getObjectDiffs(final Spliterator<?> sourceObjects,
+		final Spliterator<?> objectsToCompare)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		return getObjectDiffs(toList(sourceObjects), toList(objectsToCompare),
+			ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Compares the given lists pairwise on the given {@link ForkJoinPool}
+	 *
+	 * @param sourceObjects
+	 *            the source objects
+	 * @param objectsToCompare
+	 *            the objects to compare
+	 * @param pool
+	 *            the pool that runs the comparison
+	 * @return the {@link ObjectDiff} of every pair in the order of the given lists
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws IllegalArgumentException
+	 *             if the lists have not the same size or a pair contains null or objects of
+	 *             different types
+	 */
+	public static List<ObjectDiff> getObjectDiffs(final List<?> sourceObjects,
+		final List<?> objectsToCompare, final ForkJoinPool pool)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (sourceObjects.size() != objectsToCompare.size())
+		{
+			throw new IllegalArgumentException("Lists should have the same size.");
+		}
+		final ObjectDiff[] results = new ObjectDiff[sourceObjects.size()];
+		final int chunkSize = Math.max(MIN_CHUNK_SIZE,
+			results.length / (pool.getParallelism() * CHUNKS_PER_WORKER));
+		try
+		{
+			pool.invoke(new ObjectDiffTask(toRandomAccess(sourceObjects),
+				toRandomAccess(objectsToCompare), results, 0, results.length, chunkSize));
+		}
+		catch (final UndeclaredThrowableException e)
+		{
+			Throwable cause = e;
+			while (cause instanceof UndeclaredThrowableException)
+			{
+				cause = cause.getCause();
+			}
+			if (cause instanceof IllegalAccessException)
+			{
+				throw (IllegalAccessException)cause;
+			}
+			if (cause instanceof InvocationTargetException)
+			{
+				throw (InvocationTargetException)cause;
+			}
+			throw e;
+		}
+		return Collections.unmodifiableList(Arrays.asList(results));
+	}
+
+	private static List<?> toRandomAccess(final List<?> list)
+	{
+		return list instanceof RandomAccess ? list : new ArrayList<>(list);
+	}
+
+	private static List<Object> toList(final Spliterator<?> spliterator)
+	{
+		final List<Object> list = new ArrayList<>(
+			spliterator.hasCharacteristics(Spliterator.SIZED)
+				? (int)spliterator.estimateSize()
+				: 16);
+		spliterator.forEachRemaining(list::add);
+		return list;
+	}
+
+	/**
+	 * The class {@link ObjectDiffTask} compares the pairs of an index range and writes the results
+	 * to the same indexes of the result array
+	 */
+	private static final class ObjectDiffTask extends RecursiveAction
+	{
+
+		private static final long serialVersionUID = 1L;
+
+		/** The source objects. */
+		private final transient List<?> sourceObjects;
+
+		/** The objects to compare. */
+		private final transient List<?> objectsToCompare;
+
+		/** The results of all tasks. */
+		private final ObjectDiff[] results;
+
+		/** The first index of this task. */
+		private final int from;
+
+		/** The index after the last index of this task. */
+		private final int to;
+
+		/** The maximum number of pairs that are compared without a split. */
+		private final int chunkSize;
+
+		ObjectDiffTask(final List<?> sourceObjects, final List<?> objectsToCompare,
+			final ObjectDiff[] results, final int from, final int to, final int chunkSize)
+		{
+			this.sourceObjects = sourceObjects;
+			this.objectsToCompare = objectsToCompare;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		protected void compute()
+		{
+			if (to - from <= chunkSize)
+			{
+				for (int index = from; index < to; index++)
+				{
+					try
+					{
+						results[index] = ObjectDiff.of(sourceObjects.get(index),
+							objectsToCompare.get(index));
+					}
+					catch (final IllegalAccessException | InvocationTargetException e)
+					{
+						throw new UndeclaredThrowableException(e);
+					}
+				}
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			invokeAll(
+				new ObjectDiffTask(sourceObjects, objectsToCompare, results, from, middle,
+					chunkSize),
+				new ObjectDiffTask(sourceObjects, objectsToCompare, results, middle, to, chunkSize));
+		}
+	}
+
+}
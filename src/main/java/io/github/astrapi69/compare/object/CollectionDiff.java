@@ -0,0 +1,424 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The class {@link CollectionDiff} holds the added, removed and changed elements of two
+ * collections. Elements are matched over a key that is by default the element itself.<br>
+ * <br>
+ * Two lists are diffed in order with the linear space variant of the Myers difference algorithm,
+ * so the effort depends on the size of the lists and the number of differences. All other
+ * collections are diffed without order over hash buckets of the keys, so the effort is linear to
+ * the size of the collections. Elements with an equal key that are not equal are changed elements
+ *
+ * @param <T>
+ *            the generic type of the elements
+ */
+public final class CollectionDiff<T>
+{
+
+	/** The elements that are only contained in the other collection. */
+	private final List<T> added;
+
+	/** The elements that are only contained in the source collection. */
+	private final List<T> removed;
+
+	/** The elements with an equal key that are not equal. */
+	private final List<Change<T>> changed;
+
+	private CollectionDiff(final List<T> added, final List<T> removed,
+		final List<Change<T>> changed)
+	{
+		this.added = Collections.unmodifiableList(added);
+		this.removed = Collections.unmodifiableList(removed);
+		this.changed = Collections.unmodifiableList(changed);
+	}
+
+	/**
+	 * Factory method for create a new {@link CollectionDiff} from the given collections. The
+	 * elements are matched over their equality
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param source
+	 *            the source collection
+	 * @param other
+	 *            the collection to compare
+	 * @return the new {@link CollectionDiff}
+	 */
+	public static <T> CollectionDiff<T> of(final Collection<? extends T> source,
+		final Collection<? extends T> other)
+	{
+		return of(source, other, Function.identity());
+	}
+
+	/**
+	 * Factory method for create a new {@link CollectionDiff} from the given collections. The
+	 * elements are matched over the keys from the given key extractor. If both collections are
+	 * lists the order of the elements is considered
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 * @param source
+	 *            the source collection
+	 * @param other
+	 *            the collection to compare
+	 * @param keyExtractor
+	 *            the function that extracts the key of an element
+	 * @return the new {@link CollectionDiff}
+	 */
+	public static <T> CollectionDiff<T> of(final Collection<? extends T> source,
+		final Collection<? extends T> other, final Function<? super T, ?> keyExtractor)
+	{
+		if (source == null || other == null)
+		{
+			throw new IllegalArgumentException("Collections should not be null.");
+		}
+		Objects.requireNonNull(keyExtractor);
+		if (source instanceof List && other instanceof List)
+		{
+			return ordered(new ArrayList<>(source), new ArrayList<>(other), keyExtractor);
+		}
+		return unordered(source, other, keyExtractor);
+	}
+
+	private static <T> CollectionDiff<T> unordered(final Collection<? extends T> source,
+		final Collection<? extends T> other, final Function<? super T, ?> keyExtractor)
+	{
+		final Map<Object, Deque<T>> buckets = new LinkedHashMap<>();
+		for (final T element : source)
+		{
+			buckets.computeIfAbsent(keyExtractor.apply(element), key -> new ArrayDeque<>(1))
+				.add(element);
+		}
+		final List<T> added = new ArrayList<>();
+		final List<Change<T>> changed = new ArrayList<>();
+		for (final T element : other)
+		{
+			final Object key = keyExtractor.apply(element);
+			final Deque<T> bucket = buckets.get(key);
+			if (bucket == null)
+			{
+				added.add(element);
+				continue;
+			}
+			final T sourceElement = bucket.poll();
+			if (bucket.isEmpty())
+			{
+				buckets.remove(key);
+			}
+			if (!Objects.equals(sourceElement, element))
+			{
+				changed.add(new Change<>(sourceElement, element));
+			}
+		}
+		final List<T> removed = new ArrayList<>();
+		for (final Deque<T> bucket : buckets.values())
+		{
+			removed.addAll(bucket);
+		}
+		return new CollectionDiff<>(added, removed, changed);
+	}
+
+	private static <T> CollectionDiff<T> ordered(final List<T> source, final List<T> other,
+		final Function<? super T, ?> keyExtractor)
+	{
+		final Map<Object, Integer> keyIds = new HashMap<>();
+		final int[] sourceIds = toKeyIds(source, keyExtractor, keyIds);
+		final int[] otherIds = toKeyIds(other, keyExtractor, keyIds);
+		final int[] matches = match(sourceIds, otherIds);
+		final List<T> added = new ArrayList<>();
+		final List<T> removed = new ArrayList<>();
+		final List<Change<T>> changed = new ArrayList<>();
+		int otherIndex = 0;
+		for (int index = 0; index < matches.length; index++)
+		{
+			if (matches[index] < 0)
+			{
+				removed.add(source.get(index));
+				continue;
+			}
+			while (otherIndex < matches[index])
+			{
+				added.add(other.get(otherIndex++));
+			}
+			final T element = other.get(otherIndex++);
+			if (!Objects.equals(source.get(index), element))
+			{
+				changed.add(new Change<>(source.get(index), element));
+			}
+		}
+		while (otherIndex < otherIds.length)
+		{
+			added.add(other.get(otherIndex++));
+		}
+		return new CollectionDiff<>(added, removed, changed);
+	}
+
+	private static <T> int[] toKeyIds(final List<T> elements,
+		final Function<? super T, ?> keyExtractor, final Map<Object, Integer> keyIds)
+	{
+		final int[] ids = new int[elements.size()];
+		final Iterator<T> iterator = elements.iterator();
+		for (int index = 0; index < ids.length; index++)
+		{
+			final Object key = keyExtractor.apply(iterator.next());
+			Integer id = keyIds.get(key);
+			if (id == null)
+			{
+				id = keyIds.size();
+				keyIds.put(key, id);
+			}
+			ids[index] = id;
+		}
+		return ids;
+	}
+
+	/**
+	 * Matches the given sequences with the linear space variant of the Myers difference algorithm.
+	 * The ranges that are left to match are kept on a stack instead of recursive calls
+	 *
+	 * @param source
+	 *            the source sequence
+	 * @param other
+	 *            the sequence to compare
+	 * @return an array with the matched index of the other sequence for every index of the source
+	 *         sequence or -1 if the element is not matched
+	 */
+	private static int[] match(final int[] source, final int[] other)
+	{
+		final int[] matches = new int[source.length];
+		Arrays.fill(matches, -1);
+		final int size = source.length + other.length + 5;
+		final int[] forward = new int[size];
+		final int[] backward = new int[size];
+		final Deque<int[]> ranges = new ArrayDeque<>();
+		ranges.push(new int[] { 0, source.length, 0, other.length });
+		while (!ranges.isEmpty())
+		{
+			final int[] range = ranges.pop();
+			int sourceStart = range[0];
+			int sourceEnd = range[1];
+			int otherStart = range[2];
+			int otherEnd = range[3];
+			while (sourceStart < sourceEnd && otherStart < otherEnd
+				&& source[sourceStart] == other[otherStart])
+			{
+				matches[sourceStart++] = otherStart++;
+			}
+			while (sourceStart < sourceEnd && otherStart < otherEnd
+				&& source[sourceEnd - 1] == other[otherEnd - 1])
+			{
+				matches[--sourceEnd] = --otherEnd;
+			}
+			if (sourceStart == sourceEnd || otherStart == otherEnd)
+			{
+				continue;
+			}
+			final int[] split = split(source, sourceStart, sourceEnd, other, otherStart, otherEnd,
+				forward, backward);
+			ranges.push(new int[] { sourceStart, split[0], otherStart, split[1] });
+			ranges.push(new int[] { split[0], sourceEnd, split[1], otherEnd });
+		}
+		return matches;
+	}
+
+	/**
+	 * Finds the point where the forward and the backward search of the shortest edit script
+	 * overlap. The given ranges have no common prefix or suffix, so the point is always inside of
+	 * the ranges
+	 */
+	private static int[] split(final int[] source, final int sourceStart, final int sourceEnd,
+		final int[] other, final int otherStart, final int otherEnd, final int[] forward,
+		final int[] backward)
+	{
+		final int n = sourceEnd - sourceStart;
+		final int m = otherEnd - otherStart;
+		final int delta = n - m;
+		final boolean odd = (delta & 1) != 0;
+		final int max = (n + m + 1) / 2;
+		final int offset = max + 1;
+		forward[offset + 1] = 0;
+		backward[offset + 1] = 0;
+		for (int d = 0; d <= max; d++)
+		{
+			for (int k = -d; k <= d; k += 2)
+			{
+				int x = k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1])
+					? forward[offset + k + 1]
+					: forward[offset + k - 1] + 1;
+				int y = x - k;
+				while (x < n && y < m && source[sourceStart + x] == other[otherStart + y])
+				{
+					x++;
+					y++;
+				}
+				forward[offset + k] = x;
+				final int backwardK = delta - k;
+				if (odd && backwardK >= -(d - 1) && backwardK <= d - 1
+					&& x + backward[offset + backwardK] >= n)
+				{
+					return new int[] { sourceStart + x, otherStart + y };
+				}
+			}
+			for (int k = -d; k <= d; k += 2)
+			{
+				int x = k == -d || (k != d && backward[offset + k - 1] < backward[offset + k + 1])
+					? backward[offset + k + 1]
+					: backward[offset + k - 1] + 1;
+				int y = x - k;
+				while (x < n && y < m
+					&& source[sourceEnd - 1 - x] == other[otherEnd - 1 - y])
+				{
+					x++;
+					y++;
+				}
+				backward[offset + k] = x;
+				final int forwardK = delta - k;
+				if (!odd && forwardK >= -d && forwardK <= d
+					&& forward[offset + forwardK] + x >= n)
+				{
+					final int forwardX = forward[offset + forwardK];
+					return new int[] { sourceStart + forwardX,
+							otherStart + forwardX - forwardK };
+				}
+			}
+		}
+		throw new IllegalStateException("No overlap of the forward and the backward search found.");
+	}
+
+	/**
+	 * Gets the elements that are only contained in the other collection
+	 *
+	 * @return the added elements
+	 */
+	public List<T> getAdded()
+	{
+		return added;
+	}
+
+	/**
+	 * Gets the elements that are only contained in the source collection
+	 *
+	 * @return the removed elements
+	 */
+	public List<T> getRemoved()
+	{
+		return removed;
+	}
+
+	/**
+	 * Gets the elements with an equal key that are not equal
+	 *
+	 * @return the changed elements
+	 */
+	public List<Change<T>> getChanged()
+	{
+		return changed;
+	}
+
+	/**
+	 * Checks if the collections are equal
+	 *
+	 * @return true, if no element is added, removed or changed otherwise false
+	 */
+	public boolean isEqual()
+	{
+		return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "CollectionDiff [added=" + added + ", removed=" + removed + ", changed=" + changed
+			+ "]";
+	}
+
+	/**
+	 * The class {@link Change} holds an element of the source collection and the element of the
+	 * other collection with the same key
+	 *
+	 * @param <T>
+	 *            the generic type of the elements
+	 */
+	public static final class Change<T>
+	{
+
+		/** The element of the source collection. */
+		private final T source;
+
+		/** The element of the other collection. */
+		private final T other;
+
+		private Change(final T source, final T other)
+		{
+			this.source = source;
+			this.other = other;
+		}
+
+		/**
+		 * Gets the element of the source collection
+		 *
+		 * @return the element of the source collection
+		 */
+		public T getSource()
+		{
+			return source;
+		}
+
+		/**
+		 * Gets the element of the other collection
+		 *
+		 * @return the element of the other collection
+		 */
+		public T getOther()
+		{
+			return other;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString()
+		{
+			return "Change [source=" + source + ", other=" + other + "]";
+		}
+	}
+
+}
@@ -27,13 +27,15 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.beanutils.BeanComparator;
-import org.apache.commons.beanutils.BeanUtils;
+import io.github.astrapi69.comparator.BeanComparatorFactory;
 import io.github.astrapi69.comparator.ComparatorExtensions;
+import io.github.astrapi69.compare.metrics.CompareListener;
+import io.github.astrapi69.compare.metrics.CompareMetrics;
 
 /**
  * The class {@link CompareObjectExtensions} provide methods for compare an object with another
- * given object.
+ * given object. The properties of a bean class are resolved only once over {@link BeanMetadata},
+ * so a comparison of two whole objects calls every getter only once per object.
  *
  * @deprecated use instead the class <code>ComparatorExtensions</code> from the new module
  *             'comparator-extensions' Note:<br/>
@@ -49,7 +51,9 @@ public final class CompareObjectExtensions
 	}
 
 	/**
-	 * Compares the given two objects.
+	 * Compares the given two objects. The comparison stops at the first property that differs.
+	 * The properties are checked in the order of how often they differed in previous comparisons
+	 * of the same bean class, so the property that differs most often is read first
 	 *
 	 * @param sourceOjbect
 	 *            the source ojbect
@@ -65,7 +69,6 @@ public final class CompareObjectExtensions
 	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
 	 *             "&lt;clinit&gt;".
 	 */
-	@SuppressWarnings("rawtypes")
 	public static boolean compare(final Object sourceOjbect, final Object objectToCompare)
 		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
 	{
@@ -74,14 +77,32 @@ public final class CompareObjectExtensions
 		{
 			throw new IllegalArgumentException("Object should not be null and be the same type.");
 		}
-		final Map beanDescription = BeanUtils.describe(sourceOjbect);
-		beanDescription.remove("class");
-		final Map clonedBeanDescription = BeanUtils.describe(objectToCompare);
-		clonedBeanDescription.remove("class");
-		for (final Object key : beanDescription.keySet())
+		if (sourceOjbect == objectToCompare)
 		{
-			if (compareTo(sourceOjbect, objectToCompare, key.toString()) != 0)
+			return true;
+		}
+		final CompareListener listener = CompareMetrics.getListener();
+		if (listener == CompareListener.NOOP)
+		{
+			return compareProperties(sourceOjbect, objectToCompare, listener);
+		}
+		final long start = System.nanoTime();
+		final boolean result = compareProperties(sourceOjbect, objectToCompare, listener);
+		listener.onBeanComparison(sourceOjbect.getClass(), System.nanoTime() - start);
+		return result;
+	}
+
+	private static boolean compareProperties(final Object sourceOjbect,
+		final Object objectToCompare, final CompareListener listener)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		final AdaptivePropertyOrder propertyOrder = AdaptivePropertyOrder
+			.of(sourceOjbect.getClass());
+		for (final PropertyMetadata property : propertyOrder.getOrder())
+		{
+			if (property.compare(sourceOjbect, objectToCompare, listener) != 0)
 			{
+				propertyOrder.recordDifference(property);
 				return false;
 			}
 		}
@@ -89,7 +110,9 @@ public final class CompareObjectExtensions
 	}
 
 	/**
-	 * Compares the given object over the given property.
+	 * Compares the given object over the given property. The values are compared with the
+	 * comparator of the declared type of the property like from
+	 * {@link PropertyMetadata#compare(Object, Object)}
 	 *
 	 * @param sourceOjbect
 	 *            the source ojbect
@@ -148,20 +171,20 @@ public final class CompareObjectExtensions
 		{
 			return ((Comparable)sourceOjbect).compareTo(objectToCompare);
 		}
-		final Map beanDescription = BeanUtils.describe(sourceOjbect);
-		beanDescription.remove("class");
-		final Map clonedBeanDescription = BeanUtils.describe(objectToCompare);
-		clonedBeanDescription.remove("class");
+		final BeanMetadata beanMetadata = BeanMetadata.of(sourceOjbect.getClass());
 		int result = 0;
-		for (final Object key : beanDescription.keySet())
+		for (int ordinal = 0; ordinal < beanMetadata.size(); ordinal++)
 		{
-			result += compareTo(sourceOjbect, objectToCompare, key.toString());
+			final PropertyMetadata property = beanMetadata.getProperty(ordinal);
+			result += property.compare(sourceOjbect, objectToCompare);
 		}
 		return result;
 	}
 
 	/**
-	 * Compares the given object over the given property.
+	 * Compares the given object over the given property. The values are compared with the
+	 * comparator of the declared type of the property like from
+	 * {@link PropertyMetadata#compare(Object, Object)}
 	 *
 	 * @param sourceOjbect
 	 *            the source ojbect
@@ -183,6 +206,12 @@ public final class CompareObjectExtensions
 		final Set<String> properties)
 		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
 	{
+		if (sourceOjbect != null && objectToCompare != null
+			&& sourceOjbect.getClass().equals(objectToCompare.getClass()))
+		{
+			return BeanComparatorFactory.newComparator(sourceOjbect.getClass(), properties)
+				.compareAll(sourceOjbect, objectToCompare);
+		}
 		int result = 0;
 		for (String property : properties)
 		{
@@ -192,7 +221,9 @@ public final class CompareObjectExtensions
 	}
 
 	/**
-	 * Compares the given object over the given property.
+	 * Compares the given object over the given property. The values are compared with the
+	 * comparator of the declared type of the property like from
+	 * {@link PropertyMetadata#compare(Object, Object)}
 	 *
 	 * @param sourceOjbect
 	 *            the source ojbect
@@ -210,19 +241,108 @@ public final class CompareObjectExtensions
 	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
 	 *             "&lt;clinit&gt;".
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public static int compareTo(final Object sourceOjbect, final Object objectToCompare,
 		final String property)
 		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
 	{
-		final Integer nullCheck = ComparatorExtensions.nullCheck(
-			BeanUtils.describe(sourceOjbect).get(property),
-			BeanUtils.describe(objectToCompare).get(property));
+		final PropertyMetadata propertyMetadata = getPropertyMetadata(
+			sourceOjbect != null ? sourceOjbect : objectToCompare, property);
+		if (propertyMetadata == null)
+		{
+			return PropertyValueComparator.compare(null,
+				getPropertyValue(objectToCompare, property));
+		}
+		if (sourceOjbect != null && objectToCompare != null
+			&& sourceOjbect.getClass().equals(objectToCompare.getClass()))
+		{
+			return propertyMetadata.compare(sourceOjbect, objectToCompare);
+		}
+		return PropertyValueComparator.compare(getPropertyValue(sourceOjbect, property),
+			getPropertyValue(objectToCompare, property), propertyMetadata.getValueComparator());
+	}
+
+	/**
+	 * Compares the given two objects over all readable properties ordered by name with the
+	 * declared types of the properties. In difference to {@link #compareTo(Object, Object)} the
+	 * results of the properties are not summed up, the first result that is not 0 is returned
+	 * like from a chain of <code>Comparator#thenComparing</code>, so the sign of the result is
+	 * meaningful and the remaining properties are not read
+	 *
+	 * @param sourceOjbect
+	 *            the source object
+	 * @param objectToCompare
+	 *            the object to compare
+	 * @return the resulted int value
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public static int compareInOrder(final Object sourceOjbect, final Object objectToCompare)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		final Integer nullCheck = ComparatorExtensions.nullCheck(sourceOjbect, objectToCompare);
 		if (nullCheck != null)
 		{
 			return nullCheck;
 		}
-		return new BeanComparator(property).compare(sourceOjbect, objectToCompare);
+		if (!sourceOjbect.getClass().equals(objectToCompare.getClass()))
+		{
+			throw new IllegalArgumentException("Object should be the same type.");
+		}
+		if (sourceOjbect instanceof Comparable && objectToCompare instanceof Comparable)
+		{
+			return ((Comparable)sourceOjbect).compareTo(objectToCompare);
+		}
+		return BeanComparatorFactory.newComparator(sourceOjbect.getClass())
+			.compareInOrder(sourceOjbect, objectToCompare);
+	}
+
+	/**
+	 * Compares the given two objects over the given properties in the given order with the
+	 * declared types of the properties and returns the first result that is not 0
+	 *
+	 * @param sourceOjbect
+	 *            the source object
+	 * @param objectToCompare
+	 *            the object to compare
+	 * @param properties
+	 *            the properties in the order of comparison
+	 * @return the resulted int value
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws IllegalArgumentException
+	 *             Thrown if the objects are not the same type or if the objects have no readable
+	 *             property with one of the given names
+	 */
+	public static int compareInOrder(final Object sourceOjbect, final Object objectToCompare,
+		final String... properties) throws IllegalAccessException, InvocationTargetException
+	{
+		final Integer nullCheck = ComparatorExtensions.nullCheck(sourceOjbect, objectToCompare);
+		if (nullCheck != null)
+		{
+			return nullCheck;
+		}
+		if (!sourceOjbect.getClass().equals(objectToCompare.getClass()))
+		{
+			throw new IllegalArgumentException("Object should be the same type.");
+		}
+		final BeanMetadata beanMetadata = BeanMetadata.of(sourceOjbect.getClass());
+		for (final String property : properties)
+		{
+			if (beanMetadata.getProperty(property) == null)
+			{
+				throw new IllegalArgumentException("Bean class "
+					+ sourceOjbect.getClass().getName() + " has no readable property " + property);
+			}
+		}
+		return BeanComparatorFactory.newComparator(sourceOjbect.getClass(), properties)
+			.compareInOrder(sourceOjbect, objectToCompare);
 	}
 
 	/**
@@ -242,27 +362,78 @@ public final class CompareObjectExtensions
 	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
 	 *             "&lt;clinit&gt;".
 	 */
-	@SuppressWarnings("rawtypes")
 	public static Map<String, Integer> getCompareToResult(final Object sourceOjbect,
 		final Object objectToCompare)
 		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
 	{
-		if (sourceOjbect == null || objectToCompare == null
-			|| !sourceOjbect.getClass().equals(objectToCompare.getClass()))
+		return new HashMap<>(getObjectDiff(sourceOjbect, objectToCompare).toMap());
+	}
+
+	/**
+	 * Gets the compare result of all readable properties as an {@link ObjectDiff}. In difference
+	 * to {@link #getCompareToResult(Object, Object)} no map is created, the results are stored in
+	 * a compact int array
+	 *
+	 * @param sourceOjbect
+	 *            the source ojbect
+	 * @param objectToCompare
+	 *            the object to compare
+	 * @return the {@link ObjectDiff} of the given objects
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static ObjectDiff getObjectDiff(final Object sourceOjbect, final Object objectToCompare)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		return ObjectDiff.of(sourceOjbect, objectToCompare);
+	}
+
+	/**
+	 * Gets the value of the given property from the given bean. If the bean is null or has no
+	 * readable property with the given name null will be returned
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param property
+	 *            the property
+	 * @return the value of the property or null
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	private static Object getPropertyValue(final Object bean, final String property)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		final PropertyMetadata propertyMetadata = getPropertyMetadata(bean, property);
+		if (propertyMetadata == null)
 		{
-			throw new IllegalArgumentException("Object should not be null and be the same type.");
+			return null;
 		}
-		final Map beanDescription = BeanUtils.describe(sourceOjbect);
-		beanDescription.remove("class");
-		final Map clonedBeanDescription = BeanUtils.describe(objectToCompare);
-		clonedBeanDescription.remove("class");
-		final Map<String, Integer> compareResult = new HashMap<>();
-		for (final Object key : beanDescription.keySet())
+		return propertyMetadata.getValue(bean);
+	}
+
+	/**
+	 * Gets the property with the given name of the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param property
+	 *            the property
+	 * @return the property or null if the bean is null or has no readable property with the given
+	 *         name
+	 */
+	private static PropertyMetadata getPropertyMetadata(final Object bean, final String property)
+	{
+		if (bean == null)
 		{
-			compareResult.put(key.toString(),
-				compareTo(sourceOjbect, objectToCompare, key.toString()));
+			return null;
 		}
-		return compareResult;
+		return BeanMetadata.of(bean.getClass()).getProperty(property);
 	}
 
 }
@@ -0,0 +1,265 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The class {@link GraphCompareExtensions} compares two object graphs deeply. In difference to
+ * {@link CompareObjectExtensions} nested beans, lists, maps and arrays are not compared as a whole
+ * but descended into.<br>
+ * <br>
+ * Every pair of visited objects is recorded by identity. A pair that is visited again while it is
+ * still compared is a cycle and is assumed to be equal, a pair that was already compared returns
+ * the memorized result. So every shared pair of sub graphs is compared only once.<br>
+ * <br>
+ * Values are compared as follows:
+ * <ul>
+ * <li>{@link Comparable} values are equal if <code>compareTo</code> returns 0</li>
+ * <li>lists, other ordered collections and arrays are compared element by element</li>
+ * <li>maps are equal if they have the same keys and the values are deeply equal</li>
+ * <li>sets and classes of the JDK that are not {@link Comparable} are compared with
+ * {@link Object#equals(Object)}</li>
+ * <li>all other objects are beans of the same class with deeply equal readable properties</li>
+ * </ul>
+ */
+public final class GraphCompareExtensions
+{
+
+	/** The compare results of the visited pairs, pairs in progress are mapped to true. */
+	private final Map<IdentityPair, Boolean> results = new HashMap<>();
+
+	private GraphCompareExtensions()
+	{
+	}
+
+	/**
+	 * Compares the given two object graphs deeply
+	 *
+	 * @param sourceOjbect
+	 *            the source object
+	 * @param objectToCompare
+	 *            the object to compare
+	 * @return true, if the object graphs are equal otherwise false
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static boolean compare(final Object sourceOjbect, final Object objectToCompare)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		return new GraphCompareExtensions().deepEquals(sourceOjbect, objectToCompare);
+	}
+
+	private static boolean isJdkClass(final Class<?> type)
+	{
+		final String name = type.getName();
+		return name.startsWith("java.") || name.startsWith("javax.");
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private boolean deepEquals(final Object value, final Object otherValue)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (value == otherValue)
+		{
+			return true;
+		}
+		if (value == null || otherValue == null)
+		{
+			return false;
+		}
+		if (value instanceof Comparable && value.getClass().equals(otherValue.getClass()))
+		{
+			return ((Comparable)value).compareTo(otherValue) == 0;
+		}
+		if (value instanceof Set || otherValue instanceof Set)
+		{
+			return value.equals(otherValue);
+		}
+		final boolean list = value instanceof List && otherValue instanceof List;
+		final boolean map = value instanceof Map && otherValue instanceof Map;
+		final boolean collection = value instanceof Collection
+			&& otherValue instanceof Collection;
+		if (!list && !map && !collection && !value.getClass().equals(otherValue.getClass()))
+		{
+			return false;
+		}
+		if (!value.getClass().isArray() && !collection && !map && isJdkClass(value.getClass()))
+		{
+			return value.equals(otherValue);
+		}
+		final IdentityPair pair = new IdentityPair(value, otherValue);
+		final Boolean known = results.get(pair);
+		if (known != null)
+		{
+			return known;
+		}
+		results.put(pair, Boolean.TRUE);
+		final boolean result;
+		if (value.getClass().isArray())
+		{
+			result = arrayEquals(value, otherValue);
+		}
+		else if (map)
+		{
+			result = mapEquals((Map<?, ?>)value, (Map<?, ?>)otherValue);
+		}
+		else if (collection)
+		{
+			result = collectionEquals((Collection<?>)value, (Collection<?>)otherValue);
+		}
+		else
+		{
+			result = beanEquals(value, otherValue);
+		}
+		results.put(pair, result);
+		return result;
+	}
+
+	private boolean arrayEquals(final Object array, final Object otherArray)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (array.getClass().getComponentType().isPrimitive())
+		{
+			return Objects.deepEquals(array, otherArray);
+		}
+		final int length = Array.getLength(array);
+		if (length != Array.getLength(otherArray))
+		{
+			return false;
+		}
+		for (int i = 0; i < length; i++)
+		{
+			if (!deepEquals(Array.get(array, i), Array.get(otherArray, i)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean collectionEquals(final Collection<?> collection,
+		final Collection<?> otherCollection)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (collection.size() != otherCollection.size())
+		{
+			return false;
+		}
+		final Iterator<?> iterator = collection.iterator();
+		final Iterator<?> otherIterator = otherCollection.iterator();
+		while (iterator.hasNext() && otherIterator.hasNext())
+		{
+			if (!deepEquals(iterator.next(), otherIterator.next()))
+			{
+				return false;
+			}
+		}
+		return !iterator.hasNext() && !otherIterator.hasNext();
+	}
+
+	private boolean mapEquals(final Map<?, ?> map, final Map<?, ?> otherMap)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (map.size() != otherMap.size())
+		{
+			return false;
+		}
+		for (final Map.Entry<?, ?> entry : map.entrySet())
+		{
+			final Object otherValue = otherMap.get(entry.getKey());
+			if (otherValue == null && !otherMap.containsKey(entry.getKey()))
+			{
+				return false;
+			}
+			if (!deepEquals(entry.getValue(), otherValue))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean beanEquals(final Object bean, final Object otherBean)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		final BeanMetadata beanMetadata = BeanMetadata.of(bean.getClass());
+		if (beanMetadata.size() == 0)
+		{
+			return bean.equals(otherBean);
+		}
+		for (int ordinal = 0; ordinal < beanMetadata.size(); ordinal++)
+		{
+			final PropertyMetadata property = beanMetadata.getProperty(ordinal);
+			if (!deepEquals(property.getValue(bean), property.getValue(otherBean)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The class {@link IdentityPair} is a pair of objects that is compared by identity
+	 */
+	private static final class IdentityPair
+	{
+
+		private final Object first;
+
+		private final Object second;
+
+		IdentityPair(final Object first, final Object second)
+		{
+			this.first = first;
+			this.second = second;
+		}
+
+		@Override
+		public boolean equals(final Object o)
+		{
+			if (!(o instanceof IdentityPair))
+			{
+				return false;
+			}
+			final IdentityPair other = (IdentityPair)o;
+			return first == other.first && second == other.second;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return 31 * System.identityHashCode(first) + System.identityHashCode(second);
+		}
+	}
+
+}
@@ -0,0 +1,450 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import io.github.astrapi69.compare.metrics.CompareListener;
+import io.github.astrapi69.compare.metrics.CompareMetrics;
+
+/**
+ * The class {@link ObjectDiff} holds the compare results of all readable properties of two objects
+ * of the same type. The results are stored in an int array that is indexed by the ordinals of the
+ * {@link BeanMetadata}, so no map is created for the results.<br>
+ * <br>
+ * The changed properties are iterated lazily, the property values are read only on demand and
+ * {@link #toMap()} provides a view with the same content as
+ * {@link CompareObjectExtensions#getCompareToResult(Object, Object)}
+ */
+public final class ObjectDiff
+{
+
+	/** The metadata of the bean class. */
+	private final BeanMetadata beanMetadata;
+
+	/** The source object. */
+	private final Object sourceObject;
+
+	/** The object to compare. */
+	private final Object objectToCompare;
+
+	/** The compare results indexed by the ordinals of the properties. */
+	private final int[] results;
+
+	/** The number of properties with a result that is not 0. */
+	private final int changedCount;
+
+	private ObjectDiff(final BeanMetadata beanMetadata, final Object sourceObject,
+		final Object objectToCompare, final int[] results, final int changedCount)
+	{
+		this.beanMetadata = beanMetadata;
+		this.sourceObject = sourceObject;
+		this.objectToCompare = objectToCompare;
+		this.results = results;
+		this.changedCount = changedCount;
+	}
+
+	/**
+	 * Factory method for create a new {@link ObjectDiff} from the given objects
+	 *
+	 * @param sourceObject
+	 *            the source object
+	 * @param objectToCompare
+	 *            the object to compare
+	 * @return the new {@link ObjectDiff}
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static ObjectDiff of(final Object sourceObject, final Object objectToCompare)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (sourceObject == null || objectToCompare == null
+			|| !sourceObject.getClass().equals(objectToCompare.getClass()))
+		{
+			throw new IllegalArgumentException("Object should not be null and be the same type.");
+		}
+		final CompareListener listener = CompareMetrics.getListener();
+		final long start = listener != CompareListener.NOOP ? System.nanoTime() : 0L;
+		final BeanMetadata beanMetadata = BeanMetadata.of(sourceObject.getClass());
+		final int[] results = new int[beanMetadata.size()];
+		int changedCount = 0;
+		for (int ordinal = 0; ordinal < results.length; ordinal++)
+		{
+			results[ordinal] = beanMetadata.getProperty(ordinal).compare(sourceObject,
+				objectToCompare, listener);
+			if (results[ordinal] != 0)
+			{
+				changedCount++;
+			}
+		}
+		if (listener != CompareListener.NOOP)
+		{
+			listener.onBeanComparison(sourceObject.getClass(), System.nanoTime() - start);
+		}
+		return new ObjectDiff(beanMetadata, sourceObject, objectToCompare, results, changedCount);
+	}
+
+	/**
+	 * Factory method for create a new {@link ObjectDiff} that compares only the dirty properties of
+	 * the given {@link DirtyTrackable}. The source object is the baseline of the object to compare,
+	 * so all properties that are not dirty are assumed to be equal and get the result 0. The effort
+	 * depends on the number of dirty properties and not on the number of all properties
+	 *
+	 * @param sourceObject
+	 *            the baseline of the object to compare
+	 * @param objectToCompare
+	 *            the object to compare that tracks its dirty properties
+	 * @return the new {@link ObjectDiff}
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static ObjectDiff ofDirty(final Object sourceObject,
+		final DirtyTrackable objectToCompare)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (sourceObject == null || objectToCompare == null
+			|| !sourceObject.getClass().equals(objectToCompare.getClass()))
+		{
+			throw new IllegalArgumentException("Object should not be null and be the same type.");
+		}
+		final BeanMetadata beanMetadata = BeanMetadata.of(sourceObject.getClass());
+		final int[] results = new int[beanMetadata.size()];
+		int changedCount = 0;
+		for (final String property : objectToCompare.dirtyProperties())
+		{
+			final PropertyMetadata propertyMetadata = beanMetadata.getProperty(property);
+			if (propertyMetadata == null)
+			{
+				continue;
+			}
+			final int result = propertyMetadata.compare(sourceObject, objectToCompare);
+			results[propertyMetadata.getOrdinal()] = result;
+			if (result != 0)
+			{
+				changedCount++;
+			}
+		}
+		return new ObjectDiff(beanMetadata, sourceObject, objectToCompare, results, changedCount);
+	}
+
+	/**
+	 * Gets the metadata of the compared bean class
+	 *
+	 * @return the metadata of the compared bean class
+	 */
+	public BeanMetadata getBeanMetadata()
+	{
+		return beanMetadata;
+	}
+
+	/**
+	 * Gets the source object
+	 *
+	 * @return the source object
+	 */
+	public Object getSourceObject()
+	{
+		return sourceObject;
+	}
+
+	/**
+	 * Gets the object to compare
+	 *
+	 * @return the object to compare
+	 */
+	public Object getObjectToCompare()
+	{
+		return objectToCompare;
+	}
+
+	/**
+	 * Checks if all properties are equal
+	 *
+	 * @return true, if all properties are equal otherwise false
+	 */
+	public boolean isEqual()
+	{
+		return changedCount == 0;
+	}
+
+	/**
+	 * Gets the number of properties that are not equal
+	 *
+	 * @return the number of changed properties
+	 */
+	public int getChangedCount()
+	{
+		return changedCount;
+	}
+
+	/**
+	 * Gets the compare result of the property with the given ordinal
+	 *
+	 * @param ordinal
+	 *            the ordinal of the property
+	 * @return the compare result of the property
+	 */
+	public int getResult(final int ordinal)
+	{
+		return results[ordinal];
+	}
+
+	/**
+	 * Gets the compare result of the given property
+	 *
+	 * @param property
+	 *            the name of the property
+	 * @return the compare result of the property
+	 * @throws IllegalArgumentException
+	 *             if the compared bean class has no readable property with the given name
+	 */
+	public int getResult(final String property)
+	{
+		return results[getProperty(property).getOrdinal()];
+	}
+
+	/**
+	 * Gets the properties that are not equal. The properties are iterated lazily from the compare
+	 * results
+	 *
+	 * @return the changed properties
+	 */
+	public Iterable<PropertyMetadata> getChangedProperties()
+	{
+		return () -> new Iterator<>()
+		{
+			private int next = advance(0);
+
+			@Override
+			public boolean hasNext()
+			{
+				return next < results.length;
+			}
+
+			@Override
+			public PropertyMetadata next()
+			{
+				if (!hasNext())
+				{
+					throw new NoSuchElementException();
+				}
+				final PropertyMetadata property = beanMetadata.getProperty(next);
+				next = advance(next + 1);
+				return property;
+			}
+		};
+	}
+
+	private int advance(final int from)
+	{
+		int ordinal = from;
+		while (ordinal < results.length && results[ordinal] == 0)
+		{
+			ordinal++;
+		}
+		return ordinal;
+	}
+
+	/**
+	 * Gets the value of the given property from the source object
+	 *
+	 * @param property
+	 *            the name of the property
+	 * @return the value of the property from the source object
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public Object getSourceValue(final String property)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		return getProperty(property).getValue(sourceObject);
+	}
+
+	/**
+	 * Gets the value of the given property from the object to compare
+	 *
+	 * @param property
+	 *            the name of the property
+	 * @return the value of the property from the object to compare
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public Object getValueToCompare(final String property)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		return getProperty(property).getValue(objectToCompare);
+	}
+
+	/**
+	 * Gets the {@link CollectionDiff} of the given collection valued property
+	 *
+	 * @param property
+	 *            the name of the property
+	 * @return the {@link CollectionDiff} of the property values or null if one of the values is
+	 *         null
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws IllegalArgumentException
+	 *             if the compared bean class has no readable property with the given name or the
+	 *             property values are not collections
+	 */
+	public CollectionDiff<Object> getCollectionDiff(final String property)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		final Object sourceValue = getSourceValue(property);
+		final Object valueToCompare = getValueToCompare(property);
+		if (sourceValue == null || valueToCompare == null)
+		{
+			return null;
+		}
+		if (!(sourceValue instanceof Collection) || !(valueToCompare instanceof Collection))
+		{
+			throw new IllegalArgumentException("Property " + property + " of bean class "
+				+ beanMetadata.getBeanClass().getName() + " is not a collection");
+		}
+		return CollectionDiff.of((Collection<?>)sourceValue, (Collection<?>)valueToCompare);
+	}
+
+	/**
+	 * Gets an unmodifiable map view of the compare results with the property names as keys
+	 *
+	 * @return the map view of the compare results
+	 */
+	public Map<String, Integer> toMap()
+	{
+		return new ResultMap();
+	}
+
+	private PropertyMetadata getProperty(final String property)
+	{
+		final PropertyMetadata propertyMetadata = beanMetadata.getProperty(property);
+		if (propertyMetadata == null)
+		{
+			throw new IllegalArgumentException("Bean class "
+				+ beanMetadata.getBeanClass().getName() + " has no readable property " + property);
+		}
+		return propertyMetadata;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ObjectDiff [beanClass=" + beanMetadata.getBeanClass().getName() + ", results="
+			+ toMap() + "]";
+	}
+
+	/**
+	 * The class {@link ResultMap} is the map view of the compare results
+	 */
+	private final class ResultMap extends AbstractMap<String, Integer>
+	{
+
+		@Override
+		public boolean containsKey(final Object key)
+		{
+			return key instanceof String && beanMetadata.getProperty((String)key) != null;
+		}
+
+		@Override
+		public Set<Entry<String, Integer>> entrySet()
+		{
+			return new AbstractSet<>()
+			{
+				@Override
+				public Iterator<Entry<String, Integer>> iterator()
+				{
+					return new Iterator<>()
+					{
+						private int ordinal;
+
+						@Override
+						public boolean hasNext()
+						{
+							return ordinal < results.length;
+						}
+
+						@Override
+						public Entry<String, Integer> next()
+						{
+							if (!hasNext())
+							{
+								throw new NoSuchElementException();
+							}
+							final Entry<String, Integer> entry = new SimpleImmutableEntry<>(
+								beanMetadata.getProperty(ordinal).getName(), results[ordinal]);
+							ordinal++;
+							return entry;
+						}
+					};
+				}
+
+				@Override
+				public int size()
+				{
+					return results.length;
+				}
+			};
+		}
+
+		@Override
+		public Integer get(final Object key)
+		{
+			if (!(key instanceof String))
+			{
+				return null;
+			}
+			final PropertyMetadata property = beanMetadata.getProperty((String)key);
+			return property == null ? null : results[property.getOrdinal()];
+		}
+
+		@Override
+		public int size()
+		{
+			return results.length;
+		}
+	}
+
+}
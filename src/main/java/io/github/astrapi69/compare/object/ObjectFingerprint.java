@@ -0,0 +1,469 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * The class {@link ObjectFingerprint} computes a 64 bit structural fingerprint of a bean over a
+ * chosen set of properties. The fingerprint is consistent with the semantics of
+ * {@link CompareObjectExtensions#compare(Object, Object)}: beans that are equal over these
+ * properties have the same fingerprint, so beans with different fingerprints are known to be not
+ * equal without reading any property. Beans with the same fingerprint are equal with a high
+ * probability and can be verified with {@link #isEqual(Object, Object, boolean)}.<br>
+ * <br>
+ * Values of a primitive type are hashed without boxing, {@link BigDecimal} values are hashed
+ * without trailing zeros because they are compared with <code>compareTo</code>, strings are hashed
+ * to 64 bit, enums over their name and all other values over their <code>hashCode</code> method,
+ * so their <code>compareTo</code> method has to be consistent with <code>equals</code>. Values
+ * with a comparator from the {@link ValueComparatorRegistry} that is registered with a hash
+ * function are hashed with this function, comparators that are registered without a hash
+ * function have to be consistent with <code>equals</code>. Collections are hashed in order if the
+ * property is declared as {@link List} and otherwise without order like in
+ * {@link CollectionDiff}.<br>
+ * <br>
+ * Fingerprints of values of primitive types, strings, enums, {@link BigDecimal} and of the
+ * common value types of the JDK are the same in every JVM and can be persisted or shared.
+ * Values of classes that do not override <code>hashCode</code> are hashed with their identity
+ * hash code, so fingerprints of beans with such values are only valid inside one JVM.<br>
+ * <br>
+ * Fingerprints can be cached per instance with {@link #getCachedFingerprint(Object)} in a cache
+ * with weak identity keys. A cached fingerprint has to be invalidated with
+ * {@link #invalidate(Object)} after the bean is changed. Instances are thread safe
+ */
+public final class ObjectFingerprint
+{
+
+	/** The hash of a value that is described as null. */
+	private static final long NULL_HASH = 0x6A09E667F3BCC909L;
+
+	/** The multiplier that combines the hashes of the properties and elements. */
+	private static final long MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	/** The bean class. */
+	private final Class<?> beanClass;
+
+	/** The properties that are hashed in this order. */
+	private final PropertyMetadata[] properties;
+
+	/** The flags if the property with the same index is declared as {@link List}. */
+	private final boolean[] orderedCollections;
+
+	/** The cache with the fingerprints of the hashed beans. */
+	private final WeakIdentityCache cache = new WeakIdentityCache();
+
+	private ObjectFingerprint(final Class<?> beanClass, final List<PropertyMetadata> properties)
+	{
+		this.beanClass = beanClass;
+		this.properties = properties.toArray(new PropertyMetadata[0]);
+		this.orderedCollections = new boolean[this.properties.length];
+		for (int index = 0; index < this.properties.length; index++)
+		{
+			orderedCollections[index] = List.class
+				.isAssignableFrom(this.properties[index].getType());
+		}
+	}
+
+	/**
+	 * Factory method for create a new {@link ObjectFingerprint} over all readable properties of the
+	 * given bean class
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @return the new {@link ObjectFingerprint}
+	 */
+	public static ObjectFingerprint of(final Class<?> beanClass)
+	{
+		return new ObjectFingerprint(beanClass, BeanMetadata.of(beanClass).getProperties());
+	}
+
+	/**
+	 * Factory method for create a new {@link ObjectFingerprint} over the given properties of the
+	 * given bean class
+	 *
+	 * @param beanClass
+	 *            the bean class
+	 * @param properties
+	 *            the names of the properties
+	 * @return the new {@link ObjectFingerprint}
+	 * @throws IllegalArgumentException
+	 *             if the bean class has no readable property with one of the given names
+	 */
+	public static ObjectFingerprint of(final Class<?> beanClass,
+		final Collection<String> properties)
+	{
+		final BeanMetadata beanMetadata = BeanMetadata.of(beanClass);
+		final List<PropertyMetadata> resolved = new ArrayList<>();
+		for (final String property : properties)
+		{
+			final PropertyMetadata propertyMetadata = beanMetadata.getProperty(property);
+			if (propertyMetadata == null)
+			{
+				throw new IllegalArgumentException(
+					"Bean class " + beanClass.getName() + " has no readable property " + property);
+			}
+			resolved.add(propertyMetadata);
+		}
+		return new ObjectFingerprint(beanClass, resolved);
+	}
+
+	/**
+	 * Computes the fingerprint of the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @return the fingerprint of the given bean
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public long getFingerprint(final Object bean)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		checkBean(bean);
+		long hash = properties.length;
+		for (int index = 0; index < properties.length; index++)
+		{
+			hash = hash * MULTIPLIER + hashProperty(index, bean);
+		}
+		return mix(hash);
+	}
+
+	/**
+	 * Gets the cached fingerprint of the given bean or computes and caches it if the bean was not
+	 * hashed before or was invalidated
+	 *
+	 * @param bean
+	 *            the bean
+	 * @return the fingerprint of the given bean
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public long getCachedFingerprint(final Object bean)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		checkBean(bean);
+		final Long cached = cache.get(bean);
+		if (cached != null)
+		{
+			return cached;
+		}
+		final long fingerprint = getFingerprint(bean);
+		cache.put(bean, fingerprint);
+		return fingerprint;
+	}
+
+	/**
+	 * Removes the cached fingerprint of the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 */
+	public void invalidate(final Object bean)
+	{
+		cache.remove(bean);
+	}
+
+	/**
+	 * Checks if the given beans are equal over the properties of this {@link ObjectFingerprint}.
+	 * The beans are not equal if their cached fingerprints are different. If the fingerprints are
+	 * the same and the flag verify is true the properties are compared
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param otherBean
+	 *            the bean to compare
+	 * @param verify
+	 *            the flag if the properties are compared if the fingerprints are the same
+	 * @return true if the beans are equal otherwise false
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public boolean isEqual(final Object bean, final Object otherBean, final boolean verify)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (bean == otherBean)
+		{
+			return true;
+		}
+		if (getCachedFingerprint(bean) != getCachedFingerprint(otherBean))
+		{
+			return false;
+		}
+		if (verify)
+		{
+			for (final PropertyMetadata property : properties)
+			{
+				if (property.compare(bean, otherBean) != 0)
+				{
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the bean class
+	 *
+	 * @return the bean class
+	 */
+	public Class<?> getBeanClass()
+	{
+		return beanClass;
+	}
+
+	private void checkBean(final Object bean)
+	{
+		if (!beanClass.isInstance(bean))
+		{
+			throw new IllegalArgumentException(
+				"Object should not be null and be an instance of " + beanClass.getName() + ".");
+		}
+	}
+
+	private long hashProperty(final int index, final Object bean)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		final PropertyMetadata property = properties[index];
+		final ToLongFunction<Object> hashFunction = property.getValueHashFunction();
+		if (hashFunction == null)
+		{
+			try
+			{
+				if (property.getIntAccessor() != null)
+				{
+					return property.getIntAccessor().applyAsInt(bean);
+				}
+				if (property.getLongAccessor() != null)
+				{
+					return property.getLongAccessor().applyAsLong(bean);
+				}
+				if (property.getDoubleAccessor() != null)
+				{
+					return Double
+						.doubleToLongBits(property.getDoubleAccessor().applyAsDouble(bean));
+				}
+				if (property.getBooleanAccessor() != null)
+				{
+					return property.getBooleanAccessor().test(bean) ? 1 : 2;
+				}
+			}
+			catch (final UndeclaredThrowableException e)
+			{
+				throw new InvocationTargetException(e.getCause());
+			}
+			catch (final Throwable throwable)
+			{
+				throw new InvocationTargetException(throwable);
+			}
+		}
+		return hashValue(property.getValue(bean), orderedCollections[index], hashFunction);
+	}
+
+	private static long hashValue(final Object value, final boolean orderedCollection,
+		final ToLongFunction<Object> hashFunction)
+	{
+		if (value == null)
+		{
+			return NULL_HASH;
+		}
+		if (value.getClass().isArray())
+		{
+			if (Array.getLength(value) < 1)
+			{
+				return NULL_HASH;
+			}
+			return hashFunction != null
+				? hashFunction.applyAsLong(value)
+				: hashValue(Array.get(value, 0), false, null);
+		}
+		if (value instanceof Collection)
+		{
+			return hashCollection((Collection<?>)value, orderedCollection);
+		}
+		if (hashFunction != null)
+		{
+			return hashFunction.applyAsLong(value);
+		}
+		if (value instanceof BigDecimal)
+		{
+			return ((BigDecimal)value).stripTrailingZeros().hashCode();
+		}
+		return hashElement(value);
+	}
+
+	private static long hashElement(final Object value)
+	{
+		if (value == null)
+		{
+			return NULL_HASH;
+		}
+		if (value instanceof String)
+		{
+			return hashString((String)value);
+		}
+		if (value instanceof Enum)
+		{
+			return hashString(((Enum<?>)value).name());
+		}
+		return value.hashCode();
+	}
+
+	private static long hashCollection(final Collection<?> collection, final boolean ordered)
+	{
+		long hash = collection.size();
+		for (final Object element : collection)
+		{
+			final long elementHash = mix(hashElement(element));
+			hash = ordered ? hash * MULTIPLIER + elementHash : hash + elementHash;
+		}
+		return hash;
+	}
+
+	private static long hashString(final String value)
+	{
+		long hash = value.length();
+		for (int index = 0; index < value.length(); index++)
+		{
+			hash = (hash ^ value.charAt(index)) * 0x100000001B3L;
+		}
+		return hash;
+	}
+
+	/**
+	 * The finalizer of the 64 bit murmur hash that distributes the bits of the given value
+	 *
+	 * @param value
+	 *            the value
+	 * @return the mixed value
+	 */
+	private static long mix(long value)
+	{
+		value ^= value >>> 33;
+		value *= 0xFF51AFD7ED558CCDL;
+		value ^= value >>> 33;
+		value *= 0xC4CEB9FE1A85EC53L;
+		value ^= value >>> 33;
+		return value;
+	}
+
+	/**
+	 * The class {@link WeakIdentityCache} maps objects by their identity to a fingerprint and does
+	 * not prevent that the objects are garbage collected
+	 */
+	private static final class WeakIdentityCache
+	{
+
+		/** The fingerprints by the weak references of the objects. */
+		private final Map<IdentityReference, Long> fingerprints = new HashMap<>();
+
+		/** The queue with the references of garbage collected objects. */
+		private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+		synchronized Long get(final Object object)
+		{
+			expunge();
+			return fingerprints.get(new IdentityReference(object, null));
+		}
+
+		synchronized void put(final Object object, final long fingerprint)
+		{
+			expunge();
+			fingerprints.put(new IdentityReference(object, queue), fingerprint);
+		}
+
+		synchronized void remove(final Object object)
+		{
+			expunge();
+			fingerprints.remove(new IdentityReference(object, null));
+		}
+
+		private void expunge()
+		{
+			Object reference;
+			while ((reference = queue.poll()) != null)
+			{
+				fingerprints.remove(reference);
+			}
+		}
+
+	}
+
+	/**
+	 * The class {@link IdentityReference} is a weak reference that is equal to other references
+	 * of the same object
+	 */
+	private static final class IdentityReference extends WeakReference<Object>
+	{
+
+		/** The identity hash code of the referenced object. */
+		private final int hash;
+
+		IdentityReference(final Object referent, final ReferenceQueue<Object> queue)
+		{
+			super(referent, queue);
+			this.hash = System.identityHashCode(referent);
+		}
+
+		@Override
+		public boolean equals(final Object object)
+		{
+			if (this == object)
+			{
+				return true;
+			}
+			if (!(object instanceof IdentityReference))
+			{
+				return false;
+			}
+			final Object referent = get();
+			return referent != null && referent == ((IdentityReference)object).get();
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+	}
+
+}
@@ -0,0 +1,553 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import io.github.astrapi69.compare.metrics.CompareListener;
+import io.github.astrapi69.compare.metrics.CompareMetrics;
+
+/**
+ * The class {@link PropertyMetadata} holds the resolved read accessor of a single bean property.
+ * Instances are created from {@link BeanMetadata} and are immutable.<br>
+ * <br>
+ * The getter is bound once to a {@link Function} that is generated over the
+ * {@link LambdaMetafactory}, so the call of the getter can be inlined from the JIT. If the bean
+ * class is not visible from the class loader of this library a {@link MethodHandle} is used
+ * instead.<br>
+ * <br>
+ * Properties of a primitive type are additionally bound to a {@link ToIntFunction},
+ * {@link ToLongFunction}, {@link ToDoubleFunction} or {@link Predicate}, so they can be compared
+ * without boxing
+ */
+public final class PropertyMetadata
+{
+
+	/** The name of the property. */
+	private final String name;
+
+	/** The position of the property in the owning {@link BeanMetadata}. */
+	private final int ordinal;
+
+	/** The declared type of the property. */
+	private final Class<?> type;
+
+	/** The kind of the value of the property. */
+	private final ValueKind valueKind;
+
+	/** The accessor that is bound to the read method of the property. */
+	private final Function<Object, Object> accessor;
+
+	/** The accessor for int, short, byte and char properties or null. */
+	private final ToIntFunction<Object> intAccessor;
+
+	/** The accessor for long properties or null. */
+	private final ToLongFunction<Object> longAccessor;
+
+	/** The accessor for double and float properties or null. */
+	private final ToDoubleFunction<Object> doubleAccessor;
+
+	/** The accessor for boolean properties or null. */
+	private final Predicate<Object> booleanAccessor;
+
+	/** The entry of the comparator for the values of the declared type or of its wrapper type. */
+	private final ValueComparatorRegistry.Entry valueComparator;
+
+	/**
+	 * Instantiates a new {@link PropertyMetadata}
+	 *
+	 * @param name
+	 *            the name of the property
+	 * @param ordinal
+	 *            the position of the property in the owning {@link BeanMetadata}
+	 * @param type
+	 *            the declared type of the property
+	 * @param readMethod
+	 *            the accessible read method of the property
+	 */
+	PropertyMetadata(final String name, final int ordinal, final Class<?> type,
+		final Method readMethod)
+	{
+		this(name, ordinal, type, unreflect(readMethod), readMethod.getDeclaringClass());
+	}
+
+	/**
+	 * Instantiates a new {@link PropertyMetadata}
+	 *
+	 * @param name
+	 *            the name of the property
+	 * @param ordinal
+	 *            the position of the property in the owning {@link BeanMetadata}
+	 * @param type
+	 *            the declared type of the property
+	 * @param getter
+	 *            the method handle that reads the property from a bean
+	 * @param declaringClass
+	 *            the class that declares the getter
+	 */
+	PropertyMetadata(final String name, final int ordinal, final Class<?> type,
+		final MethodHandle getter, final Class<?> declaringClass)
+	{
+		this.name = name;
+		this.ordinal = ordinal;
+		this.type = type;
+		this.valueKind = ValueKind.of(type);
+		this.valueComparator = ValueComparatorRegistry
+			.getEntry(type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type);
+		final boolean visible = isVisible(declaringClass);
+		this.accessor = bind(Function.class, "apply",
+			MethodType.methodType(Object.class, Object.class), getter, visible);
+		this.intAccessor = valueKind == ValueKind.INT || valueKind == ValueKind.INT_DIFFERENCE
+			? bind(ToIntFunction.class, "applyAsInt",
+				MethodType.methodType(int.class, Object.class), getter, visible)
+			: null;
+		this.longAccessor = valueKind == ValueKind.LONG
+			? bind(ToLongFunction.class, "applyAsLong",
+				MethodType.methodType(long.class, Object.class), getter, visible)
+			: null;
+		this.doubleAccessor = valueKind == ValueKind.DOUBLE
+			? bind(ToDoubleFunction.class, "applyAsDouble",
+				MethodType.methodType(double.class, Object.class), getter, visible)
+			: null;
+		this.booleanAccessor = valueKind == ValueKind.BOOLEAN
+			? bind(Predicate.class, "test", MethodType.methodType(boolean.class, Object.class),
+				getter, visible)
+			: null;
+		if (MethodHandleProxies.isWrapperInstance(accessor))
+		{
+			CompareMetrics.getListener().onReflectionFallback(declaringClass, name);
+		}
+	}
+
+	private static MethodHandle unreflect(final Method readMethod)
+	{
+		try
+		{
+			return MethodHandles.lookup().unreflect(readMethod);
+		}
+		catch (final IllegalAccessException e)
+		{
+			throw new IllegalStateException("Read method is not accessible: " + readMethod, e);
+		}
+	}
+
+	/**
+	 * Binds the given getter to an instance of the given functional interface
+	 *
+	 * @param <F>
+	 *            the generic type of the functional interface
+	 * @param functionalInterface
+	 *            the functional interface
+	 * @param methodName
+	 *            the name of the method of the functional interface
+	 * @param methodType
+	 *            the erased type of the method of the functional interface
+	 * @param getter
+	 *            the getter
+	 * @param visible
+	 *            the flag if the bean class is visible from the class loader of this library
+	 * @return the bound accessor
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static <F> F bind(final Class functionalInterface, final String methodName,
+		final MethodType methodType, final MethodHandle getter, final boolean visible)
+	{
+		if (visible)
+		{
+			final MethodType instantiatedMethodType = methodType.returnType().isPrimitive()
+				? MethodType.methodType(methodType.returnType(), getter.type().parameterType(0))
+				: getter.type().wrap();
+			try
+			{
+				final CallSite callSite = LambdaMetafactory.metafactory(MethodHandles.lookup(),
+					methodName, MethodType.methodType(functionalInterface), methodType, getter,
+					instantiatedMethodType);
+				return (F)callSite.getTarget().invoke();
+			}
+			catch (final LambdaConversionException | IllegalArgumentException | LinkageError e)
+			{
+				// the getter is not accessible from this library, fall through to the method
+				// handle
+			}
+			catch (final Throwable throwable)
+			{
+				throw new IllegalStateException("Could not bind getter " + getter, throwable);
+			}
+		}
+		return (F)MethodHandleProxies.asInterfaceInstance(functionalInterface,
+			getter.asType(methodType));
+	}
+
+	/**
+	 * Checks if the given class can be resolved from the class loader of this library
+	 *
+	 * @param type
+	 *            the type
+	 * @return true, if the given class is visible otherwise false
+	 */
+	private static boolean isVisible(final Class<?> type)
+	{
+		try
+		{
+			return Class.forName(type.getName(), false,
+				PropertyMetadata.class.getClassLoader()) == type;
+		}
+		catch (final ClassNotFoundException e)
+		{
+			return false;
+		}
+	}
+
+	/**
+	 * Gets the name of the property
+	 *
+	 * @return the name of the property
+	 */
+	public String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Gets the position of the property in the owning {@link BeanMetadata}
+	 *
+	 * @return the ordinal of the property
+	 */
+	public int getOrdinal()
+	{
+		return ordinal;
+	}
+
+	/**
+	 * Gets the declared type of the property
+	 *
+	 * @return the declared type of the property
+	 */
+	public Class<?> getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the value of this property from the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @return the value of this property
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public Object getValue(final Object bean)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		try
+		{
+			return accessor.apply(bean);
+		}
+		catch (final UndeclaredThrowableException e)
+		{
+			throw new InvocationTargetException(e.getCause());
+		}
+		catch (final Throwable throwable)
+		{
+			throw new InvocationTargetException(throwable);
+		}
+	}
+
+	/**
+	 * Compares the values of this property from the given beans with the semantics of
+	 * {@link PropertyValueComparator}
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param otherBean
+	 *            the bean to compare
+	 * @return the resulted int value
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public int compare(final Object bean, final Object otherBean)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (valueKind == ValueKind.REFERENCE)
+		{
+			return PropertyValueComparator.compare(getValue(bean), getValue(otherBean),
+				valueComparator.get());
+		}
+		try
+		{
+			return compareDirect(bean, otherBean);
+		}
+		catch (final UndeclaredThrowableException e)
+		{
+			throw new InvocationTargetException(e.getCause());
+		}
+		catch (final Throwable throwable)
+		{
+			throw new InvocationTargetException(throwable);
+		}
+	}
+
+	/**
+	 * Compares the values of this property from the given beans like
+	 * {@link #compare(Object, Object)} and reports the duration of the comparison or the thrown
+	 * exception to the given listener. The duration is not measured if the listener is
+	 * {@link CompareListener#NOOP}
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param otherBean
+	 *            the bean to compare
+	 * @param listener
+	 *            the listener
+	 * @return the resulted int value
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public int compare(final Object bean, final Object otherBean, final CompareListener listener)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (listener == CompareListener.NOOP)
+		{
+			return compare(bean, otherBean);
+		}
+		final long start = System.nanoTime();
+		try
+		{
+			final int result = compare(bean, otherBean);
+			listener.onPropertyComparison(bean.getClass(), name, System.nanoTime() - start);
+			return result;
+		}
+		catch (final IllegalAccessException | InvocationTargetException | RuntimeException e)
+		{
+			listener.onException(bean.getClass(), name, e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Compares the values of this property from the given beans with the semantics of
+	 * {@link PropertyValueComparator}. Values of a primitive type are compared without boxing, so
+	 * this method does not allocate any objects for them, unless a comparator is registered for
+	 * the wrapper type in the {@link ValueComparatorRegistry}. Exceptions from the getters are not
+	 * wrapped
+	 *
+	 * @param bean
+	 *            the bean
+	 * @param otherBean
+	 *            the bean to compare
+	 * @return the resulted int value
+	 */
+	public int compareDirect(final Object bean, final Object otherBean)
+	{
+		if (valueKind != ValueKind.REFERENCE && valueComparator.isRegistered())
+		{
+			return PropertyValueComparator.compare(accessor.apply(bean), accessor.apply(otherBean),
+				valueComparator.get());
+		}
+		switch (valueKind)
+		{
+			case INT :
+				return Integer.compare(intAccessor.applyAsInt(bean),
+					intAccessor.applyAsInt(otherBean));
+			case INT_DIFFERENCE :
+				return intAccessor.applyAsInt(bean) - intAccessor.applyAsInt(otherBean);
+			case LONG :
+				return Long.compare(longAccessor.applyAsLong(bean),
+					longAccessor.applyAsLong(otherBean));
+			case DOUBLE :
+				return Double.compare(doubleAccessor.applyAsDouble(bean),
+					doubleAccessor.applyAsDouble(otherBean));
+			case BOOLEAN :
+				return Boolean.compare(booleanAccessor.test(bean), booleanAccessor.test(otherBean));
+			default :
+				return PropertyValueComparator.compare(accessor.apply(bean),
+					accessor.apply(otherBean), valueComparator.get());
+		}
+	}
+
+	/**
+	 * Gets the accessor that is bound to the read method of this property. Exceptions from the
+	 * getter are not wrapped
+	 *
+	 * @return the accessor of this property
+	 */
+	public Function<Object, Object> getAccessor()
+	{
+		return accessor;
+	}
+
+	/**
+	 * Gets the comparator for the values of this property from the {@link ValueComparatorRegistry}.
+	 * The comparator is resolved once for the declared type of this property
+	 *
+	 * @return the comparator for the values of this property
+	 */
+	public Comparator<Object> getValueComparator()
+	{
+		return valueComparator.get();
+	}
+
+	/**
+	 * Gets the hash function of the comparator for the values of this property
+	 *
+	 * @return the hash function or null if the comparator is consistent with <code>equals</code>
+	 */
+	ToLongFunction<Object> getValueHashFunction()
+	{
+		return valueComparator.getHashFunction();
+	}
+
+	/**
+	 * Gets the accessor for properties of the type int, short, byte or char
+	 *
+	 * @return the accessor or null if this property has an other type
+	 */
+	public ToIntFunction<Object> getIntAccessor()
+	{
+		return intAccessor;
+	}
+
+	/**
+	 * Gets the accessor for properties of the type long
+	 *
+	 * @return the accessor or null if this property has an other type
+	 */
+	public ToLongFunction<Object> getLongAccessor()
+	{
+		return longAccessor;
+	}
+
+	/**
+	 * Gets the accessor for properties of the type double or float
+	 *
+	 * @return the accessor or null if this property has an other type
+	 */
+	public ToDoubleFunction<Object> getDoubleAccessor()
+	{
+		return doubleAccessor;
+	}
+
+	/**
+	 * Gets the accessor for properties of the type boolean
+	 *
+	 * @return the accessor or null if this property has an other type
+	 */
+	public Predicate<Object> getBooleanAccessor()
+	{
+		return booleanAccessor;
+	}
+
+	/**
+	 * Checks if the type of this property is a primitive type
+	 *
+	 * @return true, if the type of this property is a primitive type otherwise false
+	 */
+	public boolean isPrimitive()
+	{
+		return valueKind != ValueKind.REFERENCE;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "PropertyMetadata [name=" + name + ", type=" + type.getName() + "]";
+	}
+
+	/**
+	 * The enum {@link ValueKind} decides how the values of a property are read and compared. The
+	 * results are the same as from the <code>compareTo</code> method of the wrapper classes
+	 */
+	private enum ValueKind
+	{
+
+		/** int values compared with {@link Integer#compare(int, int)}. */
+		INT,
+
+		/** short, byte and char values compared by their difference. */
+		INT_DIFFERENCE,
+
+		/** long values compared with {@link Long#compare(long, long)}. */
+		LONG,
+
+		/** double and float values compared with {@link Double#compare(double, double)}. */
+		DOUBLE,
+
+		/** boolean values compared with {@link Boolean#compare(boolean, boolean)}. */
+		BOOLEAN,
+
+		/** all other values compared over {@link PropertyValueComparator}. */
+		REFERENCE;
+
+		static ValueKind of(final Class<?> type)
+		{
+			if (type == int.class)
+			{
+				return INT;
+			}
+			if (type == short.class || type == byte.class || type == char.class)
+			{
+				return INT_DIFFERENCE;
+			}
+			if (type == long.class)
+			{
+				return LONG;
+			}
+			if (type == double.class || type == float.class)
+			{
+				return DOUBLE;
+			}
+			if (type == boolean.class)
+			{
+				return BOOLEAN;
+			}
+			return REFERENCE;
+		}
+	}
+
+}
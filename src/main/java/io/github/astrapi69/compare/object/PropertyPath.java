@@ -0,0 +1,242 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Map;
+
+import org.apache.commons.beanutils.DynaBean;
+import org.apache.commons.beanutils.PropertyUtils;
+
+/**
+ * The class {@link PropertyPath} resolves a property expression like <code>a.b.c</code> once into
+ * the accessors of the {@link BeanMetadata} of the visited bean classes. Every segment of the path
+ * remembers the last resolved bean class, so the property expression is not parsed again and no
+ * descriptor lookup is needed as long as the bean classes do not change.<br>
+ * <br>
+ * Expressions with indexed or mapped properties, map beans, dyna beans and all error cases are
+ * delegated to {@link PropertyUtils#getProperty(Object, String)}, so the result and the thrown
+ * exceptions are the same
+ */
+public final class PropertyPath
+{
+
+	/** The property expression. */
+	private final String expression;
+
+	/** The segments of a nested property expression or null if it is not supported. */
+	private final Segment[] segments;
+
+	/**
+	 * Instantiates a new {@link PropertyPath} from the given property expression
+	 *
+	 * @param expression
+	 *            the property expression
+	 */
+	private PropertyPath(final String expression)
+	{
+		this.expression = expression;
+		this.segments = parse(expression);
+	}
+
+	/**
+	 * Factory method for create a new {@link PropertyPath} from the given property expression
+	 *
+	 * @param expression
+	 *            the property expression
+	 * @return the new {@link PropertyPath}
+	 */
+	public static PropertyPath of(final String expression)
+	{
+		return new PropertyPath(expression);
+	}
+
+	private static Segment[] parse(final String expression)
+	{
+		if (expression == null || expression.isEmpty() || expression.indexOf('[') != -1
+			|| expression.indexOf('(') != -1)
+		{
+			return null;
+		}
+		final String[] names = expression.split("\\.", -1);
+		final Segment[] segments = new Segment[names.length];
+		for (int i = 0; i < names.length; i++)
+		{
+			if (names[i].isEmpty())
+			{
+				return null;
+			}
+			segments[i] = new Segment(names[i]);
+		}
+		return segments;
+	}
+
+	/**
+	 * Gets the property expression
+	 *
+	 * @return the property expression
+	 */
+	public String getExpression()
+	{
+		return expression;
+	}
+
+	/**
+	 * Gets the value of this property path from the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @return the value of this property path
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	public Object getValue(final Object bean)
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		if (segments == null)
+		{
+			return PropertyUtils.getProperty(bean, expression);
+		}
+		Object current = bean;
+		for (final Segment segment : segments)
+		{
+			final PropertyMetadata property = segment.resolve(current);
+			if (property == null)
+			{
+				return PropertyUtils.getProperty(bean, expression);
+			}
+			current = property.getValue(current);
+		}
+		return current;
+	}
+
+	/**
+	 * Gets the property of the last segment of this property path for the given bean. The values
+	 * of the previous segments are read from the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @return the property of the last segment or null if this property path is delegated to
+	 *         {@link PropertyUtils#getProperty(Object, String)} for the given bean
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public PropertyMetadata getProperty(final Object bean)
+		throws IllegalAccessException, InvocationTargetException
+	{
+		if (segments == null)
+		{
+			return null;
+		}
+		Object current = bean;
+		for (int index = 0; index < segments.length - 1; index++)
+		{
+			final PropertyMetadata property = segments[index].resolve(current);
+			if (property == null)
+			{
+				return null;
+			}
+			current = property.getValue(current);
+		}
+		return segments[segments.length - 1].resolve(current);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return expression;
+	}
+
+	/**
+	 * The class {@link Segment} holds one name of a nested property expression with the property
+	 * that was resolved for the last visited bean class
+	 */
+	private static final class Segment
+	{
+
+		/** The name of the property. */
+		private final String name;
+
+		/** The property that was resolved for the last visited bean class. */
+		private volatile Resolved cached;
+
+		Segment(final String name)
+		{
+			this.name = name;
+		}
+
+		/**
+		 * Resolves the property of this segment for the given bean
+		 *
+		 * @param bean
+		 *            the bean
+		 * @return the resolved property or null if the bean can not be resolved over
+		 *         {@link BeanMetadata}
+		 */
+		PropertyMetadata resolve(final Object bean)
+		{
+			if (bean == null || bean instanceof Map || bean instanceof DynaBean)
+			{
+				return null;
+			}
+			final Class<?> beanClass = bean.getClass();
+			Resolved resolved = cached;
+			if (resolved == null || resolved.beanClass != beanClass)
+			{
+				resolved = new Resolved(beanClass, BeanMetadata.of(beanClass).getProperty(name));
+				cached = resolved;
+			}
+			return resolved.property;
+		}
+	}
+
+	/**
+	 * The class {@link Resolved} pairs a bean class with the property resolved for it
+	 */
+	private static final class Resolved
+	{
+
+		/** The bean class. */
+		final Class<?> beanClass;
+
+		/** The resolved property or null if the bean class has no such property. */
+		final PropertyMetadata property;
+
+		Resolved(final Class<?> beanClass, final PropertyMetadata property)
+		{
+			this.beanClass = beanClass;
+			this.property = property;
+		}
+	}
+
+}
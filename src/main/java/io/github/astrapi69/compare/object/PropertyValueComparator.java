@@ -0,0 +1,245 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import io.github.astrapi69.comparator.ComparatorExtensions;
+
+/**
+ * The class {@link PropertyValueComparator} compares two property values with the semantics of
+ * {@link CompareObjectExtensions}. Values that are described as null from
+ * <code>BeanUtils#describe</code> are checked first, collections are compared element by element
+ * with the equality of {@link CollectionDiff} and all other values are compared with the
+ * comparator from the {@link ValueComparatorRegistry}
+ */
+public final class PropertyValueComparator
+{
+
+	private PropertyValueComparator()
+	{
+	}
+
+	/**
+	 * Compares the given property values that have no declared type with the comparator of the
+	 * runtime class of the given value. Values of a bean property should be compared with
+	 * {@link PropertyMetadata#compare(Object, Object)} or with the comparator of the declared type
+	 * from {@link PropertyMetadata#getValueComparator()}
+	 *
+	 * @param value
+	 *            the value of the source object
+	 * @param otherValue
+	 *            the value of the object to compare
+	 * @return the resulted int value
+	 */
+	public static int compare(final Object value, final Object otherValue)
+	{
+		return compare(value, otherValue, ValueComparatorRegistry
+			.getComparator(value != null ? value.getClass() : Object.class));
+	}
+
+	/**
+	 * Compares the given property values with the given comparator if they are not described as
+	 * null and are not collections
+	 *
+	 * @param value
+	 *            the value of the source object
+	 * @param otherValue
+	 *            the value of the object to compare
+	 * @param comparator
+	 *            the comparator for the values
+	 * @return the resulted int value
+	 */
+	public static int compare(final Object value, final Object otherValue,
+		final Comparator<Object> comparator)
+	{
+		final Integer nullCheck = ComparatorExtensions.nullCheck(toDescribedValue(value),
+			toDescribedValue(otherValue));
+		if (nullCheck != null)
+		{
+			return nullCheck;
+		}
+		if (value instanceof Collection && otherValue instanceof Collection)
+		{
+			return compareCollections((Collection<?>)value, (Collection<?>)otherValue);
+		}
+		return comparator.compare(value, otherValue);
+	}
+
+	/**
+	 * Compares the given collections. Collections of a different size are compared by their size.
+	 * Two lists are equal if they have equal elements in the same order and all other
+	 * collections if they have the same elements with the same count like in
+	 * {@link CollectionDiff}. Collections that are not equal are compared at the first pair of
+	 * elements in iteration order that are not equal and that can be ordered by their content, so
+	 * the sign of the result is reversed if the collections are swapped. If no pair of elements
+	 * can be ordered, because they have the same natural order, class, hash code and string
+	 * representation, the collections are compared by the name of their classes and are
+	 * otherwise compared as 0, so the result only depends on the content of the collections
+	 *
+	 * @param collection
+	 *            the collection of the source object
+	 * @param otherCollection
+	 *            the collection of the object to compare
+	 * @return 0 if the collections are equal or can not be ordered by their content otherwise a
+	 *         value that is not 0
+	 */
+	private static int compareCollections(final Collection<?> collection,
+		final Collection<?> otherCollection)
+	{
+		if (collection == otherCollection)
+		{
+			return 0;
+		}
+		final int result = Integer.compare(collection.size(), otherCollection.size());
+		if (result != 0)
+		{
+			return result;
+		}
+		final boolean ordered = collection instanceof List && otherCollection instanceof List;
+		if (!ordered && isEqualUnordered(collection, otherCollection))
+		{
+			return 0;
+		}
+		boolean equal = true;
+		final Iterator<?> iterator = collection.iterator();
+		final Iterator<?> otherIterator = otherCollection.iterator();
+		while (iterator.hasNext() && otherIterator.hasNext())
+		{
+			final Object element = iterator.next();
+			final Object otherElement = otherIterator.next();
+			if (!Objects.equals(element, otherElement))
+			{
+				final int elementResult = compareElements(element, otherElement);
+				if (elementResult != 0)
+				{
+					return elementResult;
+				}
+				equal = false;
+			}
+		}
+		if (equal)
+		{
+			return 0;
+		}
+		return collection.getClass().getName().compareTo(otherCollection.getClass().getName());
+	}
+
+	/**
+	 * Checks if the given collections of the same size have the same elements with the same
+	 * count without considering the order
+	 *
+	 * @param collection
+	 *            the collection of the source object
+	 * @param otherCollection
+	 *            the collection of the object to compare
+	 * @return true if the collections have the same elements otherwise false
+	 */
+	private static boolean isEqualUnordered(final Collection<?> collection,
+		final Collection<?> otherCollection)
+	{
+		if (collection instanceof Set && otherCollection instanceof Set)
+		{
+			return collection.equals(otherCollection);
+		}
+		final Map<Object, int[]> counts = new HashMap<>();
+		for (final Object element : collection)
+		{
+			counts.computeIfAbsent(element, key -> new int[1])[0]++;
+		}
+		for (final Object element : otherCollection)
+		{
+			final int[] count = counts.get(element);
+			if (count == null || count[0] == 0)
+			{
+				return false;
+			}
+			count[0]--;
+		}
+		return true;
+	}
+
+	/**
+	 * Compares two elements of collections that are not equal. Elements of the same class are
+	 * compared with their natural order if they are {@link Comparable} and otherwise or if the
+	 * natural order is 0 by the name of their classes, their hash codes and their string
+	 * representations
+	 *
+	 * @param element
+	 *            the element of the source collection
+	 * @param otherElement
+	 *            the element of the collection to compare
+	 * @return the resulted int value
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private static int compareElements(final Object element, final Object otherElement)
+	{
+		final Integer nullCheck = ComparatorExtensions.nullCheck(element, otherElement);
+		if (nullCheck != null)
+		{
+			return nullCheck;
+		}
+		int result = 0;
+		if (element instanceof Comparable && element.getClass() == otherElement.getClass())
+		{
+			result = ((Comparable)element).compareTo(otherElement);
+		}
+		if (result == 0)
+		{
+			result = element.getClass().getName().compareTo(otherElement.getClass().getName());
+		}
+		if (result == 0)
+		{
+			result = Integer.compare(element.hashCode(), otherElement.hashCode());
+		}
+		if (result == 0)
+		{
+			result = element.toString().compareTo(otherElement.toString());
+		}
+		return result;
+	}
+
+	/**
+	 * Resolves the value that <code>BeanUtils#describe</code> would convert to a string. For arrays
+	 * this is the first element
+	 *
+	 * @param value
+	 *            the value
+	 * @return the value that would be described or null
+	 */
+	private static Object toDescribedValue(final Object value)
+	{
+		if (value != null && value.getClass().isArray())
+		{
+			return Array.getLength(value) < 1 ? null : Array.get(value, 0);
+		}
+		return value;
+	}
+
+}
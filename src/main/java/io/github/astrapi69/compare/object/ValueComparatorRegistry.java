@@ -0,0 +1,337 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * The class {@link ValueComparatorRegistry} holds the comparators for the values of a type. The
+ * comparator of a type is the registered comparator of the type, of the nearest superclass or of
+ * an interface of them including the inherited super interfaces. If no comparator is registered
+ * the values are compared as {@link Comparable}.<br>
+ * <br>
+ * The comparator of a type is resolved once and cached over a {@link ClassValue}, so there is no
+ * map lookup on every comparison. {@link PropertyMetadata} resolves the comparator of the
+ * declared type of a property once and all compare methods of bean properties use this
+ * comparator, so a comparator that is registered for {@link String} is not used for a property
+ * that is declared as {@link CharSequence} or {@link Object}. A new registration invalidates the
+ * resolved comparators, so comparators can be registered at any time. Comparators for
+ * {@link BigDecimal}, {@link LocalDate}, {@link String} and <code>byte[]</code> are registered by
+ * default. A collator can be registered for {@link String} values and a comparator for all enums
+ * can be registered for {@link Enum}. A comparator that is registered for a wrapper type like
+ * {@link Integer} is also used for the properties of the primitive type, which are otherwise
+ * compared without boxing.<br>
+ * <br>
+ * A comparator that is registered without a hash function has to be consistent with
+ * <code>equals</code>, so values that are compared as 0 are equal. {@link ObjectFingerprint}
+ * hashes the values with their <code>hashCode</code> method in this case. A comparator that is
+ * not consistent with <code>equals</code>, like a collator or a comparator that ignores the case,
+ * has to be registered with a hash function that returns the same hash for all values that are
+ * compared as 0
+ */
+public final class ValueComparatorRegistry
+{
+
+	/** The comparator that compares the values as {@link Comparable}. */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static final Comparator<Object> NATURAL = (value,
+		otherValue) -> ((Comparable)value).compareTo(otherValue);
+
+	/** The registered comparators by the type of the values. */
+	private static final Map<Class<?>, Comparator<?>> COMPARATORS = new ConcurrentHashMap<>();
+
+	/** The hash functions of the registered comparators by the type of the values. */
+	private static final Map<Class<?>, ToLongFunction<?>> HASH_FUNCTIONS =
+		new ConcurrentHashMap<>();
+
+	/** The registry that holds the resolved comparator for every type. */
+	private static final ClassValue<Entry> ENTRIES = new ClassValue<>()
+	{
+		@Override
+		protected Entry computeValue(final Class<?> type)
+		{
+			return new Entry(type);
+		}
+	};
+
+	/** The number of changes of the registered comparators. */
+	private static volatile int generation;
+
+	static
+	{
+		COMPARATORS.put(BigDecimal.class, Comparator.<BigDecimal> naturalOrder());
+		COMPARATORS.put(LocalDate.class, Comparator.<LocalDate> naturalOrder());
+		COMPARATORS.put(String.class, Comparator.<String> naturalOrder());
+		COMPARATORS.put(byte[].class, (Comparator<byte[]>)Arrays::compare);
+	}
+
+	private ValueComparatorRegistry()
+	{
+	}
+
+	/**
+	 * Registers the given comparator for the values of the given type and of its subtypes that
+	 * have no comparator of their own. The comparator has to be consistent with
+	 * <code>equals</code>, otherwise it has to be registered with a hash function over
+	 * {@link #register(Class, Comparator, ToLongFunction)}
+	 *
+	 * @param <T>
+	 *            the generic type of the values
+	 * @param type
+	 *            the type of the values
+	 * @param comparator
+	 *            the comparator that is consistent with <code>equals</code>
+	 */
+	public static synchronized <T> void register(final Class<T> type,
+		final Comparator<? super T> comparator)
+	{
+		COMPARATORS.put(Objects.requireNonNull(type), Objects.requireNonNull(comparator));
+		HASH_FUNCTIONS.remove(type);
+		generation++;
+	}
+
+	/**
+	 * Registers the given comparator with the given hash function for the values of the given
+	 * type and of its subtypes that have no comparator of their own. The hash function has to
+	 * return the same hash for all values that are compared as 0 and is used from
+	 * {@link ObjectFingerprint}
+	 *
+	 * @param <T>
+	 *            the generic type of the values
+	 * @param type
+	 *            the type of the values
+	 * @param comparator
+	 *            the comparator
+	 * @param hashFunction
+	 *            the hash function that is consistent with the comparator
+	 */
+	public static synchronized <T> void register(final Class<T> type,
+		final Comparator<? super T> comparator, final ToLongFunction<? super T> hashFunction)
+	{
+		COMPARATORS.put(Objects.requireNonNull(type), Objects.requireNonNull(comparator));
+		HASH_FUNCTIONS.put(type, Objects.requireNonNull(hashFunction));
+		generation++;
+	}
+
+	/**
+	 * Removes the registered comparator of the given type
+	 *
+	 * @param type
+	 *            the type of the values
+	 */
+	public static synchronized void unregister(final Class<?> type)
+	{
+		HASH_FUNCTIONS.remove(type);
+		if (COMPARATORS.remove(type) != null)
+		{
+			generation++;
+		}
+	}
+
+	/**
+	 * Gets the comparator for the values of the given type
+	 *
+	 * @param type
+	 *            the type of the values
+	 * @return the comparator for the values of the given type
+	 */
+	public static Comparator<Object> getComparator(final Class<?> type)
+	{
+		return ENTRIES.get(type).get();
+	}
+
+	/**
+	 * Gets the hash function of the comparator for the values of the given type
+	 *
+	 * @param type
+	 *            the type of the values
+	 * @return the hash function or null if the comparator is consistent with <code>equals</code>
+	 */
+	public static ToLongFunction<Object> getHashFunction(final Class<?> type)
+	{
+		return ENTRIES.get(type).getHashFunction();
+	}
+
+	/**
+	 * Gets the cached entry of the given type that resolves the current comparator of the type
+	 *
+	 * @param type
+	 *            the type of the values
+	 * @return the entry of the given type
+	 */
+	static Entry getEntry(final Class<?> type)
+	{
+		return ENTRIES.get(type);
+	}
+
+	/**
+	 * Resolves the type with the registered comparator for the given type. For every class of the
+	 * superclass chain the class and then all of its interfaces and their super interfaces are
+	 * checked breadth first
+	 *
+	 * @param type
+	 *            the type of the values
+	 * @return the nearest type with a registered comparator or null
+	 */
+	private static Class<?> resolve(final Class<?> type)
+	{
+		final Set<Class<?>> visited = new HashSet<>();
+		final Deque<Class<?>> interfaces = new ArrayDeque<>();
+		for (Class<?> current = type; current != null; current = current.getSuperclass())
+		{
+			if (COMPARATORS.containsKey(current))
+			{
+				return current;
+			}
+			interfaces.addAll(Arrays.asList(current.getInterfaces()));
+			while (!interfaces.isEmpty())
+			{
+				final Class<?> interfaceType = interfaces.poll();
+				if (!visited.add(interfaceType))
+				{
+					continue;
+				}
+				if (COMPARATORS.containsKey(interfaceType))
+				{
+					return interfaceType;
+				}
+				interfaces.addAll(Arrays.asList(interfaceType.getInterfaces()));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * The class {@link Entry} holds the resolved comparator of a type and resolves it again if the
+	 * registered comparators are changed
+	 */
+	static final class Entry
+	{
+
+		/** The type of the values. */
+		private final Class<?> type;
+
+		/** The resolved comparator with the generation of the registry it was resolved from. */
+		private volatile Resolved resolved;
+
+		private Entry(final Class<?> type)
+		{
+			this.type = type;
+		}
+
+		/**
+		 * Gets the current comparator of the type
+		 *
+		 * @return the current comparator of the type
+		 */
+		Comparator<Object> get()
+		{
+			return getResolved().comparator;
+		}
+
+		/**
+		 * Checks if a comparator is registered for the type or for one of its supertypes
+		 *
+		 * @return true if a comparator is registered otherwise false
+		 */
+		boolean isRegistered()
+		{
+			return getResolved().registered;
+		}
+
+		/**
+		 * Gets the hash function of the current comparator of the type
+		 *
+		 * @return the hash function or null if the comparator is consistent with
+		 *         <code>equals</code>
+		 */
+		ToLongFunction<Object> getHashFunction()
+		{
+			return getResolved().hashFunction;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Resolved getResolved()
+		{
+			final int current = generation;
+			Resolved result = resolved;
+			if (result == null || result.generation != current)
+			{
+				final Class<?> registeredType = resolve(type);
+				final Comparator<?> comparator = registeredType != null
+					? COMPARATORS.get(registeredType)
+					: null;
+				result = new Resolved(
+					comparator != null ? (Comparator<Object>)comparator : NATURAL,
+					registeredType != null
+						? (ToLongFunction<Object>)HASH_FUNCTIONS.get(registeredType)
+						: null,
+					registeredType != null, current);
+				resolved = result;
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * The class {@link Resolved} holds a resolved comparator with its hash function and the
+	 * generation of the registry
+	 */
+	private static final class Resolved
+	{
+
+		/** The resolved comparator. */
+		private final Comparator<Object> comparator;
+
+		/** The hash function of the resolved comparator or null. */
+		private final ToLongFunction<Object> hashFunction;
+
+		/** The flag if the comparator is registered. */
+		private final boolean registered;
+
+		/** The generation of the registry. */
+		private final int generation;
+
+		private Resolved(final Comparator<Object> comparator,
+			final ToLongFunction<Object> hashFunction, final boolean registered,
+			final int generation)
+		{
+			this.comparator = comparator;
+			this.hashFunction = hashFunction;
+			this.registered = registered;
+			this.generation = generation;
+		}
+
+	}
+
+}
@@ -0,0 +1,869 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.reconcile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.astrapi69.compare.object.ObjectDiff;
+import io.github.astrapi69.compare.object.PropertyPath;
+import io.github.astrapi69.compare.sort.RecordSerializer;
+
+/**
+ * The class {@link HashJoinReconciler} reconciles two data sets that are not sorted by a key. The
+ * records of the source data set are read into a hash index with open addressing and the records
+ * of the data set to compare are streamed against the index in one pass. Records with a key that
+ * is only contained in one data set are reported as inserted or deleted and records with an equal
+ * key are compared with an {@link ObjectDiff} and reported as modified if a property is not equal.
+ * Equal records are skipped. If a key occurs more than once the records with this key are joined
+ * in the given order.<br>
+ * <br>
+ * The source data set should be the smaller one. If it contains more records than the maximum
+ * number of records in memory, both data sets are partitioned by the hash of the key into
+ * temporary files with the given {@link RecordSerializer} and the partitions are joined one after
+ * another like in a grace hash join. Partitions that still exceed the maximum are partitioned again
+ * up to {@link #MAX_PARTITION_DEPTH} times, after that they are joined in memory because they
+ * consist of records with the same keys. The keys are compared with <code>equals</code> and
+ * <code>hashCode</code>
+ *
+ * @param <T>
+ *            the generic type of the records
+ */
+public final class HashJoinReconciler<T>
+{
+
+	/** The default number of partitions that a data set is split into. */
+	public static final int DEFAULT_PARTITION_COUNT = 32;
+
+	/** The maximum number of times that a data set is partitioned. */
+	public static final int MAX_PARTITION_DEPTH = 3;
+
+	/** The buffer size for reading and writing the partitions. */
+	private static final int BUFFER_SIZE = 1 << 14;
+
+	/** The prefix of the temporary files. */
+	private static final String TEMP_FILE_PREFIX = "jobj-compare-partition";
+
+	/** The key of the index for records with a null key. */
+	private static final Object NULL_KEY = new Object();
+
+	/** The function that extracts the key of a record. */
+	private final Function<? super T, ?> keyExtractor;
+
+	/** The serializer of the records. */
+	private final RecordSerializer<T> serializer;
+
+	/** The maximum number of records of the source data set in memory. */
+	private final int maxRecordsInMemory;
+
+	/** The number of partitions that a data set is split into. */
+	private final int partitionCount;
+
+	/** The directory of the temporary files or null for the default temporary directory. */
+	private final Path tempDirectory;
+
+	private HashJoinReconciler(final Function<? super T, ?> keyExtractor,
+		final RecordSerializer<T> serializer, final int maxRecordsInMemory,
+		final int partitionCount, final Path tempDirectory)
+	{
+		if (maxRecordsInMemory < 1)
+		{
+			throw new IllegalArgumentException("maxRecordsInMemory should be greater than 0.");
+		}
+		if (partitionCount < 2)
+		{
+			throw new IllegalArgumentException("partitionCount should be greater than 1.");
+		}
+		this.keyExtractor = Objects.requireNonNull(keyExtractor);
+		this.serializer = Objects.requireNonNull(serializer);
+		this.maxRecordsInMemory = maxRecordsInMemory;
+		this.partitionCount = partitionCount;
+		this.tempDirectory = tempDirectory;
+	}
+
+	/**
+	 * Factory method for create a new {@link HashJoinReconciler} that joins the records over the
+	 * given key property and spills the partitions to the default temporary directory
+	 *
+	 * @param <T>
+	 *            the generic type of the records
+	 * @param keyProperty
+	 *            the key property, nested properties are supported
+	 * @param serializer
+	 *            the serializer of the records
+	 * @param maxRecordsInMemory
+	 *            the maximum number of records of the source data set in memory
+	 * @return the new {@link HashJoinReconciler}
+	 */
+	public static <T> HashJoinReconciler<T> of(final String keyProperty,
+		final RecordSerializer<T> serializer, final int maxRecordsInMemory)
+	{
+		final PropertyPath keyPath = PropertyPath.of(keyProperty);
+		return new HashJoinReconciler<>(bean -> MergeJoinReconciler.getKey(keyPath, bean),
+			serializer, maxRecordsInMemory, DEFAULT_PARTITION_COUNT, null);
+	}
+
+	/**
+	 * Factory method for create a new {@link HashJoinReconciler} that joins the records over the
+	 * keys of the given key extractor
+	 *
+	 * @param <T>
+	 *            the generic type of the records
+	 * @param keyExtractor
+	 *            the function that extracts the key of a record
+	 * @param serializer
+	 *            the serializer of the records
+	 * @param maxRecordsInMemory
+	 *            the maximum number of records of the source data set in memory
+	 * @param partitionCount
+	 *            the number of partitions that a data set is split into
+	 * @param tempDirectory
+	 *            the directory of the temporary files or null for the default temporary directory
+	 * @return the new {@link HashJoinReconciler}
+	 */
+	public static <T> HashJoinReconciler<T> of(final Function<? super T, ?> keyExtractor,
+		final RecordSerializer<T> serializer, final int maxRecordsInMemory,
+		final int partitionCount, final Path tempDirectory)
+	{
+		return new HashJoinReconciler<>(keyExtractor, serializer, maxRecordsInMemory,
+			partitionCount, tempDirectory);
+	}
+
+	/**
+	 * Reconciles the given data sets. The source data set is read into the index or into the
+	 * partitions before this method returns. If the source data set fits into memory the data set
+	 * to compare is read lazily and no temporary file is written. Otherwise the returned stream
+	 * reads the partitions lazily from the temporary files, so it has to be closed if it is not
+	 * consumed completely to delete the temporary files
+	 *
+	 * @param sourceObjects
+	 *            the records of the source data set
+	 * @param objectsToCompare
+	 *            the records of the data set to compare
+	 * @return the stream of the inserted, deleted and modified records
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalStateException
+	 *             on traversal if a property could not be read
+	 */
+	public Stream<ReconcileResult<T>> reconcile(final Iterator<? extends T> sourceObjects,
+		final Iterator<? extends T> objectsToCompare) throws IOException
+	{
+		final JoinIterator<ReconcileResult<T>> iterator = join(sourceObjects, objectsToCompare, 0);
+		return StreamSupport
+			.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL), false)
+			.onClose(iterator::close);
+	}
+
+	/**
+	 * Reconciles the given data sets. Closing the returned stream closes the given streams and
+	 * deletes the temporary files
+	 *
+	 * @param sourceObjects
+	 *            the records of the source data set
+	 * @param objectsToCompare
+	 *            the records of the data set to compare
+	 * @return the stream of the inserted, deleted and modified records
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @see #reconcile(Iterator, Iterator)
+	 */
+	public Stream<ReconcileResult<T>> reconcile(final Stream<? extends T> sourceObjects,
+		final Stream<? extends T> objectsToCompare) throws IOException
+	{
+		final Runnable closeStreams = () -> {
+			try
+			{
+				sourceObjects.close();
+			}
+			finally
+			{
+				objectsToCompare.close();
+			}
+		};
+		try
+		{
+			return reconcile(sourceObjects.iterator(), objectsToCompare.iterator())
+				.onClose(closeStreams);
+		}
+		catch (final IOException | RuntimeException e)
+		{
+			closeStreams.run();
+			throw e;
+		}
+	}
+
+	/**
+	 * Joins the given data sets in memory or partitions them if the source data set has more
+	 * records than the maximum number of records in memory
+	 */
+	private JoinIterator<ReconcileResult<T>> join(final Iterator<? extends T> sourceObjects,
+		final Iterator<? extends T> objectsToCompare, final int depth) throws IOException
+	{
+		final HashIndex index = new HashIndex(Math.min(maxRecordsInMemory, 1024));
+		while (sourceObjects.hasNext())
+		{
+			if (index.size == maxRecordsInMemory && depth < MAX_PARTITION_DEPTH)
+			{
+				final Partition[] sourcePartitions = spill(index.iterator(), sourceObjects,
+					depth);
+				final Partition[] partitionsToCompare;
+				try
+				{
+					partitionsToCompare = spill(objectsToCompare, Collections.emptyIterator(),
+						depth);
+				}
+				catch (final IOException | RuntimeException e)
+				{
+					delete(sourcePartitions, e);
+					throw e;
+				}
+				return new PartitionIterator(sourcePartitions, partitionsToCompare, depth);
+			}
+			final T record = sourceObjects.next();
+			index.add(keyExtractor.apply(record), record);
+		}
+		return new ProbeIterator(index, objectsToCompare);
+	}
+
+	/**
+	 * Writes the given records into new partitions by the hash of their keys
+	 */
+	private Partition[] spill(final Iterator<? extends T> records,
+		final Iterator<? extends T> moreRecords, final int depth) throws IOException
+	{
+		final Partition[] partitions = new Partition[partitionCount];
+		try
+		{
+			final DataOutputStream[] outputs = new DataOutputStream[partitionCount];
+			try
+			{
+				for (int index = 0; index < partitionCount; index++)
+				{
+					final Path path = tempDirectory == null
+						? Files.createTempFile(TEMP_FILE_PREFIX, ".tmp")
+						: Files.createTempFile(tempDirectory, TEMP_FILE_PREFIX, ".tmp");
+					partitions[index] = new Partition(path);
+					outputs[index] = new DataOutputStream(new BufferedOutputStream(
+						Channels.newOutputStream(FileChannel.open(path, StandardOpenOption.WRITE)),
+						BUFFER_SIZE));
+				}
+				write(records, partitions, outputs, depth);
+				write(moreRecords, partitions, outputs, depth);
+			}
+			finally
+			{
+				close(outputs);
+			}
+		}
+		catch (final IOException | RuntimeException e)
+		{
+			delete(partitions, e);
+			throw e;
+		}
+		return partitions;
+	}
+
+	private void write(final Iterator<? extends T> records, final Partition[] partitions,
+		final DataOutputStream[] outputs, final int depth) throws IOException
+	{
+		while (records.hasNext())
+		{
+			final T record = records.next();
+			final int partition = partitionOf(keyExtractor.apply(record), depth);
+			serializer.write(record, outputs[partition]);
+			partitions[partition].size++;
+		}
+	}
+
+	/**
+	 * Computes the partition of the given key. Every depth has an other hash function, so the keys
+	 * of a partition are spread over all partitions of the next depth
+	 */
+	private int partitionOf(final Object key, final int depth)
+	{
+		int hash = (Objects.hashCode(key) + depth) * 0x9E3779B9;
+		hash ^= hash >>> 15;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+		return Math.floorMod(hash, partitionCount);
+	}
+
+	private static void close(final DataOutputStream[] outputs) throws IOException
+	{
+		IOException failure = null;
+		for (final DataOutputStream output : outputs)
+		{
+			if (output == null)
+			{
+				continue;
+			}
+			try
+			{
+				output.close();
+			}
+			catch (final IOException e)
+			{
+				if (failure == null)
+				{
+					failure = e;
+				}
+				else
+				{
+					failure.addSuppressed(e);
+				}
+			}
+		}
+		if (failure != null)
+		{
+			throw failure;
+		}
+	}
+
+	private static void delete(final Partition[] partitions, final Throwable failure)
+	{
+		for (final Partition partition : partitions)
+		{
+			if (partition != null)
+			{
+				partition.delete(failure);
+			}
+		}
+	}
+
+	private ObjectDiff getObjectDiff(final T source, final T other)
+	{
+		try
+		{
+			return ObjectDiff.of(source, other);
+		}
+		catch (final IllegalAccessException | InvocationTargetException e)
+		{
+			throw new IllegalStateException(
+				"Could not compare the records with the key " + keyExtractor.apply(source), e);
+		}
+	}
+
+	/**
+	 * The interface {@link JoinIterator} is an iterator that holds resources
+	 *
+	 * @param <E>
+	 *            the generic type of the elements
+	 */
+	private interface JoinIterator<E> extends Iterator<E>, Closeable
+	{
+
+		/**
+		 * Releases the resources of this iterator
+		 */
+		@Override
+		void close();
+
+	}
+
+	/**
+	 * The class {@link HashIndex} holds the records of the source data set in insertion order and
+	 * maps the keys with open addressing and linear probing to a chain of the records with the key
+	 */
+	private final class HashIndex
+	{
+
+		/** The keys of the slots or null for an empty slot. */
+		private Object[] keys;
+
+		/** The first record of every slot that is not matched yet or -1. */
+		private int[] heads;
+
+		/** The last record of every slot. */
+		private int[] tails;
+
+		/** The records in insertion order. */
+		private Object[] records;
+
+		/** The next record with the same key of every record or -1. */
+		private int[] nextRecords;
+
+		/** The flags of the matched records. */
+		private final BitSet matched = new BitSet();
+
+		/** The number of records. */
+		private int size;
+
+		/** The number of slots that are used. */
+		private int usedSlots;
+
+		HashIndex(final int capacity)
+		{
+			this.records = new Object[capacity];
+			this.nextRecords = new int[capacity];
+			final int slots = Integer.highestOneBit(Math.max(capacity, 8)) << 1;
+			this.keys = new Object[slots];
+			this.heads = new int[slots];
+			this.tails = new int[slots];
+		}
+
+		void add(final Object key, final T record)
+		{
+			if (size == records.length)
+			{
+				records = Arrays.copyOf(records, size << 1);
+				nextRecords = Arrays.copyOf(nextRecords, size << 1);
+			}
+			if (keys.length < (usedSlots + 1) << 1)
+			{
+				rehash();
+			}
+			final Object indexKey = key == null ? NULL_KEY : key;
+			final int slot = find(keys, indexKey);
+			records[size] = record;
+			nextRecords[size] = -1;
+			if (keys[slot] == null)
+			{
+				keys[slot] = indexKey;
+				heads[slot] = size;
+				usedSlots++;
+			}
+			else
+			{
+				nextRecords[tails[slot]] = size;
+			}
+			tails[slot] = size;
+			size++;
+		}
+
+		/**
+		 * Marks the first record with the given key that is not matched yet as matched
+		 *
+		 * @return the index of the matched record or -1 if no record is left
+		 */
+		int match(final Object key)
+		{
+			final int slot = find(keys, key == null ? NULL_KEY : key);
+			if (keys[slot] == null || heads[slot] < 0)
+			{
+				return -1;
+			}
+			final int record = heads[slot];
+			heads[slot] = nextRecords[record];
+			matched.set(record);
+			return record;
+		}
+
+		@SuppressWarnings("unchecked")
+		T get(final int record)
+		{
+			return (T)records[record];
+		}
+
+		Iterator<T> iterator()
+		{
+			return new Iterator<T>()
+			{
+				private int record;
+
+				@Override
+				public boolean hasNext()
+				{
+					return record < size;
+				}
+
+				@Override
+				public T next()
+				{
+					if (!hasNext())
+					{
+						throw new NoSuchElementException();
+					}
+					return get(record++);
+				}
+			};
+		}
+
+		private void rehash()
+		{
+			final Object[] oldKeys = keys;
+			final int[] oldHeads = heads;
+			final int[] oldTails = tails;
+			keys = new Object[oldKeys.length << 1];
+			heads = new int[keys.length];
+			tails = new int[keys.length];
+			for (int index = 0; index < oldKeys.length; index++)
+			{
+				if (oldKeys[index] != null)
+				{
+					final int slot = find(keys, oldKeys[index]);
+					keys[slot] = oldKeys[index];
+					heads[slot] = oldHeads[index];
+					tails[slot] = oldTails[index];
+				}
+			}
+		}
+
+		private int find(final Object[] table, final Object key)
+		{
+			final int mask = table.length - 1;
+			final int hash = key.hashCode() * 0x9E3779B9;
+			int slot = (hash ^ hash >>> 16) & mask;
+			while (table[slot] != null && !table[slot].equals(key))
+			{
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+	}
+
+	/**
+	 * The class {@link ProbeIterator} streams the records of the data set to compare against the
+	 * index and reports the records of the index that are not matched as deleted at the end
+	 */
+	private final class ProbeIterator implements JoinIterator<ReconcileResult<T>>
+	{
+
+		/** The index of the source data set. */
+		private final HashIndex index;
+
+		/** The records of the data set to compare. */
+		private final Iterator<? extends T> objectsToCompare;
+
+		/** The index of the next record that is checked if it is deleted. */
+		private int nextDeleted;
+
+		/** The next result or null if it is not computed yet. */
+		private ReconcileResult<T> next;
+
+		ProbeIterator(final HashIndex index, final Iterator<? extends T> objectsToCompare)
+		{
+			this.index = index;
+			this.objectsToCompare = objectsToCompare;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			if (next == null)
+			{
+				next = computeNext();
+			}
+			return next != null;
+		}
+
+		@Override
+		public ReconcileResult<T> next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			final ReconcileResult<T> result = next;
+			next = null;
+			return result;
+		}
+
+		@Override
+		public void close()
+		{
+		}
+
+		private ReconcileResult<T> computeNext()
+		{
+			while (objectsToCompare.hasNext())
+			{
+				final T other = objectsToCompare.next();
+				final int record = index.match(keyExtractor.apply(other));
+				if (record < 0)
+				{
+					return ReconcileResult.inserted(other);
+				}
+				final T source = index.get(record);
+				final ObjectDiff objectDiff = getObjectDiff(source, other);
+				if (!objectDiff.isEqual())
+				{
+					return ReconcileResult.modified(source, other, objectDiff);
+				}
+			}
+			nextDeleted = index.matched.nextClearBit(nextDeleted);
+			if (nextDeleted < index.size)
+			{
+				return ReconcileResult.deleted(index.get(nextDeleted++));
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * The class {@link PartitionIterator} joins the partitions of both data sets one after another.
+	 * The temporary files of a partition are deleted after it is joined or if the iterator is
+	 * closed
+	 */
+	private final class PartitionIterator implements JoinIterator<ReconcileResult<T>>
+	{
+
+		/** The partitions of the source data set. */
+		private final Partition[] sourcePartitions;
+
+		/** The partitions of the data set to compare. */
+		private final Partition[] partitionsToCompare;
+
+		/** The depth of the partitions. */
+		private final int depth;
+
+		/** The index of the current partition. */
+		private int current = -1;
+
+		/** The reader of the current partition of the source data set. */
+		private PartitionReader sourceReader;
+
+		/** The reader of the current partition of the data set to compare. */
+		private PartitionReader readerToCompare;
+
+		/** The results of the current partition. */
+		private JoinIterator<ReconcileResult<T>> results;
+
+		/** The flag if this iterator is closed. */
+		private boolean closed;
+
+		PartitionIterator(final Partition[] sourcePartitions,
+			final Partition[] partitionsToCompare, final int depth)
+		{
+			this.sourcePartitions = sourcePartitions;
+			this.partitionsToCompare = partitionsToCompare;
+			this.depth = depth;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			while (!closed)
+			{
+				if (results != null && results.hasNext())
+				{
+					return true;
+				}
+				closeCurrent();
+				if (++current == sourcePartitions.length)
+				{
+					close();
+					return false;
+				}
+				if (sourcePartitions[current].size == 0 && partitionsToCompare[current].size == 0)
+				{
+					continue;
+				}
+				try
+				{
+					sourceReader = new PartitionReader(sourcePartitions[current]);
+					readerToCompare = new PartitionReader(partitionsToCompare[current]);
+					results = join(sourceReader, readerToCompare, depth + 1);
+				}
+				catch (final IOException e)
+				{
+					throw new UncheckedIOException(e);
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public ReconcileResult<T> next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			return results.next();
+		}
+
+		@Override
+		public void close()
+		{
+			if (closed)
+			{
+				return;
+			}
+			closed = true;
+			final UncheckedIOException failure = new UncheckedIOException(
+				new IOException("Could not close the partitions of the hash join."));
+			release(failure);
+			delete(sourcePartitions, failure);
+			delete(partitionsToCompare, failure);
+			if (failure.getSuppressed().length != 0)
+			{
+				throw failure;
+			}
+		}
+
+		private void closeCurrent()
+		{
+			if (current < 0 || sourcePartitions.length <= current)
+			{
+				return;
+			}
+			final UncheckedIOException failure = new UncheckedIOException(
+				new IOException("Could not close the partition of the hash join."));
+			release(failure);
+			sourcePartitions[current].delete(failure);
+			partitionsToCompare[current].delete(failure);
+			if (failure.getSuppressed().length != 0)
+			{
+				throw failure;
+			}
+		}
+
+		private void release(final Throwable failure)
+		{
+			try
+			{
+				if (results != null)
+				{
+					results.close();
+				}
+			}
+			catch (final RuntimeException e)
+			{
+				failure.addSuppressed(e);
+			}
+			results = null;
+			if (sourceReader != null)
+			{
+				sourceReader.close(failure);
+			}
+			if (readerToCompare != null)
+			{
+				readerToCompare.close(failure);
+			}
+			sourceReader = null;
+			readerToCompare = null;
+		}
+	}
+
+	/**
+	 * The class {@link Partition} holds the temporary file and the number of records of a
+	 * partition
+	 */
+	private static final class Partition
+	{
+
+		/** The temporary file. */
+		private final Path path;
+
+		/** The number of records. */
+		private long size;
+
+		Partition(final Path path)
+		{
+			this.path = path;
+		}
+
+		void delete(final Throwable failure)
+		{
+			try
+			{
+				Files.deleteIfExists(path);
+			}
+			catch (final IOException e)
+			{
+				failure.addSuppressed(e);
+			}
+		}
+	}
+
+	/**
+	 * The class {@link PartitionReader} reads the records of a partition
+	 */
+	private final class PartitionReader implements Iterator<T>
+	{
+
+		/** The input of the temporary file. */
+		private final DataInputStream input;
+
+		/** The number of records that are not read yet. */
+		private long remaining;
+
+		PartitionReader(final Partition partition) throws IOException
+		{
+			this.input = new DataInputStream(new BufferedInputStream(
+				Channels.newInputStream(FileChannel.open(partition.path, StandardOpenOption.READ)),
+				BUFFER_SIZE));
+			this.remaining = partition.size;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return 0 < remaining;
+		}
+
+		@Override
+		public T next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			try
+			{
+				final T record = serializer.read(input);
+				remaining--;
+				return record;
+			}
+			catch (final IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		void close(final Throwable failure)
+		{
+			try
+			{
+				input.close();
+			}
+			catch (final IOException e)
+			{
+				failure.addSuppressed(e);
+			}
+		}
+	}
+
+}
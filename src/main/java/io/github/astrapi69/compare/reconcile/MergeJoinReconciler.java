@@ -0,0 +1,384 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.reconcile;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.astrapi69.compare.object.ObjectDiff;
+import io.github.astrapi69.compare.object.PropertyMetadata;
+import io.github.astrapi69.compare.object.PropertyPath;
+import io.github.astrapi69.compare.object.PropertyValueComparator;
+import io.github.astrapi69.compare.object.ValueComparatorRegistry;
+
+/**
+ * The class {@link MergeJoinReconciler} reconciles two data sets that are sorted by a key. Both
+ * data sets are read only once in one pass like the merge step of a merge sort, so only the
+ * current record of every data set is held in memory. Records with a key that is only contained in
+ * one data set are reported as inserted or deleted and records with an equal key are compared with
+ * an {@link ObjectDiff} and reported as modified if a property is not equal. Equal records are
+ * skipped. If a key occurs more than once the records with this key are joined in the given order
+ *
+ * @param <T>
+ *            the generic type of the records
+ */
+public final class MergeJoinReconciler<T>
+{
+
+	/** The function that extracts the key of a record. */
+	private final Function<? super T, ?> keyExtractor;
+
+	/** The comparator of the keys. */
+	private final Comparator<Object> keyComparator;
+
+	private MergeJoinReconciler(final Function<? super T, ?> keyExtractor,
+		final Comparator<Object> keyComparator)
+	{
+		this.keyExtractor = keyExtractor;
+		this.keyComparator = keyComparator;
+	}
+
+	/**
+	 * Factory method for create a new {@link MergeJoinReconciler} for data sets that are sorted by
+	 * the given key property. The keys are compared with the semantics of
+	 * {@link PropertyValueComparator}, so null keys are sorted first. The comparator of the keys is
+	 * the comparator of the declared type of the key property like in {@link ObjectDiff}, only
+	 * keys of map beans and dyna beans are compared with the comparator of their runtime class
+	 *
+	 * @param <T>
+	 *            the generic type of the records
+	 * @param keyProperty
+	 *            the key property, nested properties are supported
+	 * @return the new {@link MergeJoinReconciler}
+	 */
+	public static <T> MergeJoinReconciler<T> of(final String keyProperty)
+	{
+		final PropertyPath keyPath = PropertyPath.of(keyProperty);
+		return new MergeJoinReconciler<>(bean -> getPropertyKey(keyPath, bean),
+			(key, otherKey) -> ((PropertyKey)key).compareTo((PropertyKey)otherKey));
+	}
+
+	/**
+	 * Factory method for create a new {@link MergeJoinReconciler} for data sets that are sorted by
+	 * the keys of the given key extractor in the order of the given key comparator
+	 *
+	 * @param <T>
+	 *            the generic type of the records
+	 * @param <K>
+	 *            the generic type of the keys
+	 * @param keyExtractor
+	 *            the function that extracts the key of a record
+	 * @param keyComparator
+	 *            the comparator of the keys
+	 * @return the new {@link MergeJoinReconciler}
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, K> MergeJoinReconciler<T> of(
+		final Function<? super T, ? extends K> keyExtractor,
+		final Comparator<? super K> keyComparator)
+	{
+		Objects.requireNonNull(keyExtractor);
+		Objects.requireNonNull(keyComparator);
+		return new MergeJoinReconciler<>(keyExtractor, (Comparator<Object>)keyComparator);
+	}
+
+	static Object getKey(final PropertyPath keyPath, final Object bean)
+	{
+		try
+		{
+			return keyPath.getValue(bean);
+		}
+		catch (final IllegalAccessException | InvocationTargetException
+			| NoSuchMethodException e)
+		{
+			throw new IllegalStateException(
+				"Could not read the key property " + keyPath.getExpression(), e);
+		}
+	}
+
+	private static PropertyKey getPropertyKey(final PropertyPath keyPath, final Object bean)
+	{
+		final Object key = getKey(keyPath, bean);
+		final PropertyMetadata property;
+		try
+		{
+			property = keyPath.getProperty(bean);
+		}
+		catch (final IllegalAccessException | InvocationTargetException e)
+		{
+			throw new IllegalStateException(
+				"Could not read the key property " + keyPath.getExpression(), e);
+		}
+		return new PropertyKey(key, property != null
+			? property.getValueComparator()
+			: ValueComparatorRegistry.getComparator(key != null ? key.getClass() : Object.class));
+	}
+
+	/**
+	 * Reconciles the given data sets lazily. The records are read from the iterators on demand
+	 *
+	 * @param sourceObjects
+	 *            the records of the source data set sorted by the key
+	 * @param objectsToCompare
+	 *            the records of the data set to compare sorted by the key
+	 * @return the iterator of the inserted, deleted and modified records in the order of the keys
+	 * @throws IllegalStateException
+	 *             on iteration if a data set is not sorted by the key or a property could not be
+	 *             read
+	 */
+	public Iterator<ReconcileResult<T>> reconcile(final Iterator<? extends T> sourceObjects,
+		final Iterator<? extends T> objectsToCompare)
+	{
+		return new MergeJoinIterator(sourceObjects, objectsToCompare);
+	}
+
+	/**
+	 * Reconciles the given data sets lazily. Closing the returned stream closes the given streams
+	 *
+	 * @param sourceObjects
+	 *            the records of the source data set sorted by the key
+	 * @param objectsToCompare
+	 *            the records of the data set to compare sorted by the key
+	 * @return the stream of the inserted, deleted and modified records in the order of the keys
+	 * @throws IllegalStateException
+	 *             on traversal if a data set is not sorted by the key or a property could not be
+	 *             read
+	 */
+	public Stream<ReconcileResult<T>> reconcile(final Stream<? extends T> sourceObjects,
+		final Stream<? extends T> objectsToCompare)
+	{
+		final Iterator<ReconcileResult<T>> iterator = reconcile(sourceObjects.iterator(),
+			objectsToCompare.iterator());
+		return StreamSupport
+			.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL), false)
+			.onClose(() -> {
+				try
+				{
+					sourceObjects.close();
+				}
+				finally
+				{
+					objectsToCompare.close();
+				}
+			});
+	}
+
+	/**
+	 * The class {@link MergeJoinIterator} holds the current record and key of both data sets and
+	 * advances the data set with the smaller key
+	 */
+	private final class MergeJoinIterator implements Iterator<ReconcileResult<T>>
+	{
+
+		/** The records of the source data set. */
+		private final Iterator<? extends T> sourceObjects;
+
+		/** The records of the data set to compare. */
+		private final Iterator<? extends T> objectsToCompare;
+
+		/** The current record of the source data set. */
+		private T sourceObject;
+
+		/** The key of the current record of the source data set. */
+		private Object sourceKey;
+
+		/** The flag if the source data set has a current record. */
+		private boolean hasSourceObject;
+
+		/** The current record of the data set to compare. */
+		private T objectToCompare;
+
+		/** The key of the current record of the data set to compare. */
+		private Object keyToCompare;
+
+		/** The flag if the data set to compare has a current record. */
+		private boolean hasObjectToCompare;
+
+		/** The next result or null if it is not computed yet. */
+		private ReconcileResult<T> next;
+
+		MergeJoinIterator(final Iterator<? extends T> sourceObjects,
+			final Iterator<? extends T> objectsToCompare)
+		{
+			this.sourceObjects = sourceObjects;
+			this.objectsToCompare = objectsToCompare;
+			advanceSourceObject();
+			advanceObjectToCompare();
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			if (next == null)
+			{
+				next = computeNext();
+			}
+			return next != null;
+		}
+
+		@Override
+		public ReconcileResult<T> next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			final ReconcileResult<T> result = next;
+			next = null;
+			return result;
+		}
+
+		private ReconcileResult<T> computeNext()
+		{
+			while (hasSourceObject || hasObjectToCompare)
+			{
+				final int result = !hasObjectToCompare
+					? -1
+					: !hasSourceObject ? 1 : keyComparator.compare(sourceKey, keyToCompare);
+				if (result < 0)
+				{
+					final T deleted = sourceObject;
+					advanceSourceObject();
+					return ReconcileResult.deleted(deleted);
+				}
+				if (0 < result)
+				{
+					final T inserted = objectToCompare;
+					advanceObjectToCompare();
+					return ReconcileResult.inserted(inserted);
+				}
+				final T source = sourceObject;
+				final T other = objectToCompare;
+				advanceSourceObject();
+				advanceObjectToCompare();
+				final ObjectDiff objectDiff = getObjectDiff(source, other);
+				if (!objectDiff.isEqual())
+				{
+					return ReconcileResult.modified(source, other, objectDiff);
+				}
+			}
+			return null;
+		}
+
+		private void advanceSourceObject()
+		{
+			final boolean hasPreviousKey = hasSourceObject;
+			hasSourceObject = sourceObjects.hasNext();
+			if (hasSourceObject)
+			{
+				sourceObject = sourceObjects.next();
+				sourceKey = nextKey(sourceObject, sourceKey, hasPreviousKey, "source");
+			}
+			else
+			{
+				sourceObject = null;
+			}
+		}
+
+		private void advanceObjectToCompare()
+		{
+			final boolean hasPreviousKey = hasObjectToCompare;
+			hasObjectToCompare = objectsToCompare.hasNext();
+			if (hasObjectToCompare)
+			{
+				objectToCompare = objectsToCompare.next();
+				keyToCompare = nextKey(objectToCompare, keyToCompare, hasPreviousKey,
+					"compared");
+			}
+			else
+			{
+				objectToCompare = null;
+			}
+		}
+
+		private Object nextKey(final T record, final Object previousKey,
+			final boolean hasPreviousKey, final String dataSet)
+		{
+			final Object key = keyExtractor.apply(record);
+			if (hasPreviousKey && 0 < keyComparator.compare(previousKey, key))
+			{
+				throw new IllegalStateException(
+					"The " + dataSet + " data set is not sorted by the key: " + previousKey
+						+ " is followed by " + key);
+			}
+			return key;
+		}
+
+		private ObjectDiff getObjectDiff(final T source, final T other)
+		{
+			try
+			{
+				return ObjectDiff.of(source, other);
+			}
+			catch (final IllegalAccessException | InvocationTargetException e)
+			{
+				throw new IllegalStateException("Could not compare the records with the key "
+					+ keyExtractor.apply(source), e);
+			}
+		}
+	}
+
+	/**
+	 * The class {@link PropertyKey} holds the value of a key property with the comparator of the
+	 * declared type of the key property
+	 */
+	private static final class PropertyKey implements Comparable<PropertyKey>
+	{
+
+		/** The value of the key property. */
+		private final Object value;
+
+		/** The comparator of the declared type of the key property. */
+		private final Comparator<Object> comparator;
+
+		private PropertyKey(final Object value, final Comparator<Object> comparator)
+		{
+			this.value = value;
+			this.comparator = comparator;
+		}
+
+		@Override
+		public int compareTo(final PropertyKey other)
+		{
+			return PropertyValueComparator.compare(value, other.value, comparator);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString()
+		{
+			return String.valueOf(value);
+		}
+
+	}
+
+}
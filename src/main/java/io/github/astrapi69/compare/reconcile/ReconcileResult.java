@@ -0,0 +1,154 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.reconcile;
+
+import io.github.astrapi69.compare.object.ObjectDiff;
+
+/**
+ * The class {@link ReconcileResult} holds an inserted, deleted or modified record of a
+ * reconciliation
+ *
+ * @param <T>
+ *            the generic type of the records
+ */
+public final class ReconcileResult<T>
+{
+
+	/** The kind of this result. */
+	private final ReconcileType type;
+
+	/** The record of the source data set or null if the record is inserted. */
+	private final T sourceObject;
+
+	/** The record of the data set to compare or null if the record is deleted. */
+	private final T objectToCompare;
+
+	/** The property diff of a modified record or null. */
+	private final ObjectDiff objectDiff;
+
+	private ReconcileResult(final ReconcileType type, final T sourceObject,
+		final T objectToCompare, final ObjectDiff objectDiff)
+	{
+		this.type = type;
+		this.sourceObject = sourceObject;
+		this.objectToCompare = objectToCompare;
+		this.objectDiff = objectDiff;
+	}
+
+	/**
+	 * Factory method for create a new {@link ReconcileResult} of an inserted record
+	 *
+	 * @param <T>
+	 *            the generic type of the records
+	 * @param objectToCompare
+	 *            the record of the data set to compare
+	 * @return the new {@link ReconcileResult}
+	 */
+	public static <T> ReconcileResult<T> inserted(final T objectToCompare)
+	{
+		return new ReconcileResult<>(ReconcileType.INSERTED, null, objectToCompare, null);
+	}
+
+	/**
+	 * Factory method for create a new {@link ReconcileResult} of a deleted record
+	 *
+	 * @param <T>
+	 *            the generic type of the records
+	 * @param sourceObject
+	 *            the record of the source data set
+	 * @return the new {@link ReconcileResult}
+	 */
+	public static <T> ReconcileResult<T> deleted(final T sourceObject)
+	{
+		return new ReconcileResult<>(ReconcileType.DELETED, sourceObject, null, null);
+	}
+
+	/**
+	 * Factory method for create a new {@link ReconcileResult} of a modified record
+	 *
+	 * @param <T>
+	 *            the generic type of the records
+	 * @param sourceObject
+	 *            the record of the source data set
+	 * @param objectToCompare
+	 *            the record of the data set to compare
+	 * @param objectDiff
+	 *            the property diff of the records
+	 * @return the new {@link ReconcileResult}
+	 */
+	public static <T> ReconcileResult<T> modified(final T sourceObject, final T objectToCompare,
+		final ObjectDiff objectDiff)
+	{
+		return new ReconcileResult<>(ReconcileType.MODIFIED, sourceObject, objectToCompare,
+			objectDiff);
+	}
+
+	/**
+	 * Gets the kind of this result
+	 *
+	 * @return the kind of this result
+	 */
+	public ReconcileType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the record of the source data set
+	 *
+	 * @return the record of the source data set or null if the record is inserted
+	 */
+	public T getSourceObject()
+	{
+		return sourceObject;
+	}
+
+	/**
+	 * Gets the record of the data set to compare
+	 *
+	 * @return the record of the data set to compare or null if the record is deleted
+	 */
+	public T getObjectToCompare()
+	{
+		return objectToCompare;
+	}
+
+	/**
+	 * Gets the property diff of a modified record
+	 *
+	 * @return the property diff of a modified record or null if the record is inserted or deleted
+	 */
+	public ObjectDiff getObjectDiff()
+	{
+		return objectDiff;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ReconcileResult [type=" + type + ", sourceObject=" + sourceObject
+			+ ", objectToCompare=" + objectToCompare + ", objectDiff=" + objectDiff + "]";
+	}
+
+}
@@ -0,0 +1,210 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.snapshot;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The class {@link Column} holds the mapped buffers of a column of an opened
+ * {@link ColumnarSnapshot}
+ */
+final class Column
+{
+
+	/** The name of the column. */
+	private final String name;
+
+	/** The type of the column. */
+	private final ColumnType type;
+
+	/** The fixed width values. */
+	private final ByteBuffer values;
+
+	/** The null flags or null if the column has no null flags. */
+	private final ByteBuffer nulls;
+
+	/** The dictionary of a string column or null. */
+	private final List<String> dictionary;
+
+	/**
+	 * Instantiates a new {@link Column}
+	 *
+	 * @param name
+	 *            the name of the column
+	 * @param type
+	 *            the type of the column
+	 * @param values
+	 *            the fixed width values
+	 * @param nulls
+	 *            the null flags or null if the column has no null flags
+	 * @param dictionary
+	 *            the dictionary of a string column or null
+	 */
+	Column(final String name, final ColumnType type, final ByteBuffer values,
+		final ByteBuffer nulls, final List<String> dictionary)
+	{
+		this.name = name;
+		this.type = type;
+		this.values = values;
+		this.nulls = nulls;
+		this.dictionary = dictionary;
+	}
+
+	/**
+	 * Finds the rows in which this column differs from the given column of the same type
+	 *
+	 * @param other
+	 *            the column to compare
+	 * @param rowCount
+	 *            the number of rows to compare that both columns have
+	 * @return the changed rows
+	 */
+	BitSet diff(final Column other, final int rowCount)
+	{
+		final BitSet changedRows = new BitSet();
+		if (type == ColumnType.STRING)
+		{
+			final int[] translation = translate(other);
+			if (translation != null)
+			{
+				for (int row = 0; row < rowCount; row++)
+				{
+					final int id = values.getInt(row * Integer.BYTES);
+					final int otherId = other.values.getInt(row * Integer.BYTES);
+					if ((id < 0 ? -1 : translation[id]) != otherId)
+					{
+						changedRows.set(row);
+					}
+				}
+				return changedRows;
+			}
+		}
+		mismatch(values, other.values, type.getWidth(), rowCount, changedRows);
+		if (nulls != null)
+		{
+			mismatch(nulls, other.nulls, 1, rowCount, changedRows);
+		}
+		return changedRows;
+	}
+
+	/**
+	 * Translates the ids of the dictionary of this column into the ids of the same values in the
+	 * dictionary of the given column. Ids of values that are not in the given dictionary are
+	 * translated to -2
+	 *
+	 * @param other
+	 *            the column to compare
+	 * @return the translated ids or null if the ids of the same values are equal
+	 */
+	private int[] translate(final Column other)
+	{
+		final List<String> otherDictionary = other.dictionary;
+		final int common = Math.min(dictionary.size(), otherDictionary.size());
+		if (dictionary.subList(0, common).equals(otherDictionary.subList(0, common)))
+		{
+			return null;
+		}
+		final Map<String, Integer> otherIds = new HashMap<>(otherDictionary.size() * 2);
+		for (int id = 0; id < otherDictionary.size(); id++)
+		{
+			otherIds.put(otherDictionary.get(id), id);
+		}
+		final int[] translation = new int[dictionary.size()];
+		for (int id = 0; id < translation.length; id++)
+		{
+			translation[id] = otherIds.getOrDefault(dictionary.get(id), -2);
+		}
+		return translation;
+	}
+
+	/**
+	 * Compares the given number of rows of the given buffers of fixed width values with
+	 * {@link ByteBuffer#mismatch(ByteBuffer)} and marks the rows of all mismatches as changed
+	 *
+	 * @param buffer
+	 *            the buffer
+	 * @param otherBuffer
+	 *            the buffer to compare
+	 * @param width
+	 *            the number of bytes of a value
+	 * @param rowCount
+	 *            the number of rows to compare
+	 * @param changedRows
+	 *            the changed rows
+	 */
+	private static void mismatch(final ByteBuffer buffer, final ByteBuffer otherBuffer,
+		final int width, final int rowCount, final BitSet changedRows)
+	{
+		final ByteBuffer source = buffer.duplicate();
+		final ByteBuffer target = otherBuffer.duplicate();
+		source.limit(rowCount * width);
+		target.limit(rowCount * width);
+		int offset = 0;
+		while (offset < source.limit())
+		{
+			source.position(offset);
+			target.position(offset);
+			final int mismatch = source.mismatch(target);
+			if (mismatch < 0)
+			{
+				return;
+			}
+			final int row = (offset + mismatch) / width;
+			changedRows.set(row);
+			offset = (row + 1) * width;
+		}
+	}
+
+	/**
+	 * Gets the name of the column
+	 *
+	 * @return the name of the column
+	 */
+	String getName()
+	{
+		return name;
+	}
+
+	/**
+	 * Gets the type of the column
+	 *
+	 * @return the type of the column
+	 */
+	ColumnType getType()
+	{
+		return type;
+	}
+
+	/**
+	 * Gets the dictionary of a string column
+	 *
+	 * @return the dictionary of a string column or null
+	 */
+	List<String> getDictionary()
+	{
+		return dictionary;
+	}
+
+}
@@ -0,0 +1,107 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.snapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The enum {@link ColumnType} defines how the values of a property are encoded in a column of a
+ * {@link ColumnarSnapshot}. Every value is stored with a fixed width, strings are stored as the id
+ * of the value in the dictionary of the column
+ */
+public enum ColumnType
+{
+
+	/** int, short, byte and char values and their wrappers stored with 4 bytes. */
+	INT(Integer.BYTES),
+
+	/** long values, their wrapper and {@link LocalDate} values as epoch day stored with 8 bytes. */
+	LONG(Long.BYTES),
+
+	/** double and float values and their wrappers stored as the bits of the double value. */
+	DOUBLE(Long.BYTES),
+
+	/** boolean values and their wrapper stored with 1 byte. */
+	BOOLEAN(1),
+
+	/**
+	 * {@link String}, {@link BigDecimal} and enum values stored as the id of the value in the
+	 * dictionary of the column, null values have the id -1. {@link BigDecimal} values are stored
+	 * without trailing zeros and enum values with their name
+	 */
+	STRING(Integer.BYTES);
+
+	/** The number of bytes of a value. */
+	private final int width;
+
+	ColumnType(final int width)
+	{
+		this.width = width;
+	}
+
+	/**
+	 * Gets the number of bytes of a value
+	 *
+	 * @return the number of bytes of a value
+	 */
+	public int getWidth()
+	{
+		return width;
+	}
+
+	/**
+	 * Gets the column type for the values of the given property type
+	 *
+	 * @param type
+	 *            the declared type of a property
+	 * @return the column type or null if the values of the given type can not be stored in a
+	 *         column
+	 */
+	public static ColumnType of(final Class<?> type)
+	{
+		if (type == int.class || type == short.class || type == byte.class || type == char.class
+			|| type == Integer.class || type == Short.class || type == Byte.class
+			|| type == Character.class)
+		{
+			return INT;
+		}
+		if (type == long.class || type == Long.class || type == LocalDate.class)
+		{
+			return LONG;
+		}
+		if (type == double.class || type == float.class || type == Double.class
+			|| type == Float.class)
+		{
+			return DOUBLE;
+		}
+		if (type == boolean.class || type == Boolean.class)
+		{
+			return BOOLEAN;
+		}
+		if (type == String.class || type == BigDecimal.class || type.isEnum())
+		{
+			return STRING;
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,279 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.astrapi69.compare.object.PropertyMetadata;
+
+/**
+ * The class {@link ColumnWriter} encodes the values of a property into the files of a column of
+ * a {@link ColumnarSnapshot}
+ */
+final class ColumnWriter implements Closeable
+{
+
+	/** The buffer size for writing the column files. */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** The property of the column. */
+	private final PropertyMetadata property;
+
+	/** The type of the column. */
+	private final ColumnType type;
+
+	/** The flag if the column can contain null values. */
+	private final boolean nullable;
+
+	/** The output of the values. */
+	private final DataOutputStream values;
+
+	/** The output of the null flags or null if the column has no null flags. */
+	private final DataOutputStream nulls;
+
+	/** The dictionary file or null if the column is no string column. */
+	private final Path dictionaryFile;
+
+	/** The ids of the strings of a string column. */
+	private final Map<String, Integer> dictionary;
+
+	/** The strings of a string column ordered by id. */
+	private final List<String> dictionaryValues;
+
+	/**
+	 * Instantiates a new {@link ColumnWriter}
+	 *
+	 * @param property
+	 *            the property of the column
+	 * @param type
+	 *            the type of the column
+	 * @param directory
+	 *            the directory of the snapshot
+	 * @param index
+	 *            the index of the column
+	 * @param baselineDictionary
+	 *            the dictionary of the same column of a baseline snapshot that is copied, so the
+	 *            ids of the strings are the same in both snapshots, or null
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	ColumnWriter(final PropertyMetadata property, final ColumnType type, final Path directory,
+		final int index, final List<String> baselineDictionary) throws IOException
+	{
+		this.property = property;
+		this.type = type;
+		this.nullable = !property.getType().isPrimitive();
+		this.dictionaryFile = type == ColumnType.STRING
+			? ColumnarSnapshot.getDictionaryFile(directory, index)
+			: null;
+		this.dictionary = type == ColumnType.STRING ? new HashMap<>() : null;
+		this.dictionaryValues = type == ColumnType.STRING ? new ArrayList<>() : null;
+		if (baselineDictionary != null && dictionary != null)
+		{
+			for (final String value : baselineDictionary)
+			{
+				dictionary.put(value, dictionaryValues.size());
+				dictionaryValues.add(value);
+			}
+		}
+		this.values = open(ColumnarSnapshot.getValuesFile(directory, index));
+		DataOutputStream nullOutput = null;
+		if (nullable && type != ColumnType.STRING)
+		{
+			try
+			{
+				nullOutput = open(ColumnarSnapshot.getNullsFile(directory, index));
+			}
+			catch (final IOException e)
+			{
+				values.close();
+				throw e;
+			}
+		}
+		this.nulls = nullOutput;
+	}
+
+	private static DataOutputStream open(final Path path) throws IOException
+	{
+		return new DataOutputStream(new BufferedOutputStream(
+			Channels.newOutputStream(FileChannel.open(path, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)),
+			BUFFER_SIZE));
+	}
+
+	/**
+	 * Writes the value of the property of the given bean
+	 *
+	 * @param bean
+	 *            the bean
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	void write(final Object bean)
+		throws IOException, IllegalAccessException, InvocationTargetException
+	{
+		if (!nullable)
+		{
+			writePrimitive(bean);
+			return;
+		}
+		final Object value = property.getValue(bean);
+		if (type == ColumnType.STRING)
+		{
+			values.writeInt(value == null ? -1 : getId(value));
+			return;
+		}
+		nulls.writeBoolean(value == null);
+		if (value == null)
+		{
+			values.write(new byte[type.getWidth()]);
+			return;
+		}
+		switch (type)
+		{
+			case INT :
+				values.writeInt(value instanceof Character
+					? (Character)value
+					: ((Number)value).intValue());
+				break;
+			case LONG :
+				values.writeLong(value instanceof LocalDate
+					? ((LocalDate)value).toEpochDay()
+					: ((Number)value).longValue());
+				break;
+			case DOUBLE :
+				values.writeLong(Double.doubleToLongBits(((Number)value).doubleValue()));
+				break;
+			default :
+				values.writeBoolean((Boolean)value);
+				break;
+		}
+	}
+
+	private void writePrimitive(final Object bean) throws IOException, InvocationTargetException
+	{
+		try
+		{
+			switch (type)
+			{
+				case INT :
+					values.writeInt(property.getIntAccessor().applyAsInt(bean));
+					break;
+				case LONG :
+					values.writeLong(property.getLongAccessor().applyAsLong(bean));
+					break;
+				case DOUBLE :
+					values.writeLong(Double
+						.doubleToLongBits(property.getDoubleAccessor().applyAsDouble(bean)));
+					break;
+				default :
+					values.writeBoolean(property.getBooleanAccessor().test(bean));
+					break;
+			}
+		}
+		catch (final IOException e)
+		{
+			throw e;
+		}
+		catch (final UndeclaredThrowableException e)
+		{
+			throw new InvocationTargetException(e.getCause());
+		}
+		catch (final Throwable throwable)
+		{
+			throw new InvocationTargetException(throwable);
+		}
+	}
+
+	private int getId(final Object value)
+	{
+		final String key;
+		if (value instanceof BigDecimal)
+		{
+			key = ((BigDecimal)value).stripTrailingZeros().toString();
+		}
+		else if (value instanceof Enum)
+		{
+			key = ((Enum<?>)value).name();
+		}
+		else
+		{
+			key = (String)value;
+		}
+		Integer id = dictionary.get(key);
+		if (id == null)
+		{
+			id = dictionaryValues.size();
+			dictionary.put(key, id);
+			dictionaryValues.add(key);
+		}
+		return id;
+	}
+
+	/**
+	 * Flushes and closes the files of the column and writes the dictionary of a string column
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try (DataOutputStream valueOutput = values; DataOutputStream nullOutput = nulls)
+		{
+			if (dictionaryFile != null)
+			{
+				try (DataOutputStream output = open(dictionaryFile))
+				{
+					output.writeInt(dictionaryValues.size());
+					for (final String value : dictionaryValues)
+					{
+						final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+						output.writeInt(bytes.length);
+						output.write(bytes);
+					}
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,544 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.snapshot;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.astrapi69.compare.object.BeanMetadata;
+import io.github.astrapi69.compare.object.PropertyMetadata;
+
+/**
+ * The class {@link ColumnarSnapshot} stores the values of a data set of beans column by column in
+ * files of a directory and compares two snapshots of the same bean class without creating any
+ * beans. Every supported property is written to a column of fixed width values, so two columns are
+ * compared over memory mapped buffers with {@link ByteBuffer#mismatch(ByteBuffer)} and only the
+ * rows with a mismatch are inspected.<br>
+ * <br>
+ * The supported property types are defined by {@link ColumnType}, properties of other types are
+ * not stored. Strings are stored as the id of the value in the dictionary of the column. If a
+ * snapshot is written with a baseline snapshot, the dictionaries of the baseline are copied so the
+ * same values have the same ids in both snapshots and the string columns can also be compared
+ * byte by byte.<br>
+ * <br>
+ * The stored values are compared for equality of their encoded form: {@link java.math.BigDecimal}
+ * values without trailing zeros and all other values exactly. This is consistent with
+ * <code>ObjectDiff</code> only for the default comparators, comparators that are registered in
+ * the <code>ValueComparatorRegistry</code> are not considered, so strings that are equal for a
+ * registered collator are reported as changed.<br>
+ * <br>
+ * The rows of two snapshots are matched by their position and not by a key. Both snapshots have
+ * to be aligned by a key, so they should be written ordered by a unique key of the beans and rows
+ * should only be added at the end. A row that is inserted or removed in the middle shifts all
+ * following rows, which are then reported as changed.<br>
+ * <br>
+ * Every column file is mapped into its own buffer, so a snapshot can hold up to
+ * {@link #MAX_ROW_COUNT} rows. An opened snapshot should be closed after use
+ */
+public final class ColumnarSnapshot implements Closeable
+{
+
+	/** The maximum number of rows of a snapshot. */
+	public static final int MAX_ROW_COUNT = Integer.MAX_VALUE / Long.BYTES;
+
+	/** The name of the header file of a snapshot. */
+	static final String HEADER_FILE_NAME = "snapshot.bin";
+
+	/** The magic number at the start of the header file. */
+	private static final int MAGIC = 0x4A4F4353;
+
+	/** The version of the file format. */
+	private static final int VERSION = 1;
+
+	/** The directory of this snapshot. */
+	private final Path directory;
+
+	/** The name of the bean class. */
+	private final String beanClassName;
+
+	/** The number of rows. */
+	private final int rowCount;
+
+	/** The columns in the order of the property names or null if this snapshot is closed. */
+	private volatile Column[] columns;
+
+	/** The names of the columns. */
+	private final List<String> columnNames;
+
+	private ColumnarSnapshot(final Path directory, final String beanClassName,
+		final int rowCount, final Column[] columns)
+	{
+		this.directory = directory;
+		this.beanClassName = beanClassName;
+		this.rowCount = rowCount;
+		this.columns = columns;
+		final List<String> names = new ArrayList<>(columns.length);
+		for (final Column column : columns)
+		{
+			names.add(column.getName());
+		}
+		this.columnNames = Collections.unmodifiableList(names);
+	}
+
+	/**
+	 * Writes a snapshot of the given beans into the given directory
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param beanClass
+	 *            the bean class
+	 * @param beans
+	 *            the beans
+	 * @param directory
+	 *            the directory of the snapshot that is created if it does not exist
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	public static <T> void write(final Class<T> beanClass, final Iterator<? extends T> beans,
+		final Path directory)
+		throws IOException, IllegalAccessException, InvocationTargetException
+	{
+		write(beanClass, beans, directory, null);
+	}
+
+	/**
+	 * Writes a snapshot of the given beans into the given directory. The string dictionaries of
+	 * the given baseline snapshot are copied, so the new snapshot can be compared with the
+	 * baseline byte by byte. If the snapshot can not be written, the files of the snapshot are
+	 * deleted and the exceptions of closing the files are suppressed in the thrown exception
+	 *
+	 * @param <T>
+	 *            the generic type of the beans
+	 * @param beanClass
+	 *            the bean class
+	 * @param beans
+	 *            the beans
+	 * @param directory
+	 *            the directory of the snapshot that is created if it does not exist
+	 * @param baseline
+	 *            the opened baseline snapshot of the same bean class or null
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws IllegalArgumentException
+	 *             Thrown if the baseline is a snapshot of another bean class or if there are more
+	 *             beans than {@link #MAX_ROW_COUNT}
+	 * @throws IllegalStateException
+	 *             Thrown if the baseline is closed
+	 */
+	public static <T> void write(final Class<T> beanClass, final Iterator<? extends T> beans,
+		final Path directory, final ColumnarSnapshot baseline)
+		throws IOException, IllegalAccessException, InvocationTargetException
+	{
+		Objects.requireNonNull(beanClass);
+		Objects.requireNonNull(beans);
+		if (baseline != null && !baseline.beanClassName.equals(beanClass.getName()))
+		{
+			throw new IllegalArgumentException(
+				"Baseline should be a snapshot of the bean class " + beanClass.getName() + ".");
+		}
+		Files.createDirectories(directory);
+		final List<PropertyMetadata> properties = new ArrayList<>();
+		final List<ColumnType> types = new ArrayList<>();
+		for (final PropertyMetadata property : BeanMetadata.of(beanClass).getProperties())
+		{
+			final ColumnType type = ColumnType.of(property.getType());
+			if (type != null)
+			{
+				properties.add(property);
+				types.add(type);
+			}
+		}
+		final ColumnWriter[] writers = new ColumnWriter[properties.size()];
+		int rowCount = 0;
+		try
+		{
+			for (int index = 0; index < writers.length; index++)
+			{
+				final Column baselineColumn = baseline != null
+					? baseline.getColumn(properties.get(index).getName())
+					: null;
+				writers[index] = new ColumnWriter(properties.get(index), types.get(index),
+					directory, index,
+					baselineColumn != null && baselineColumn.getType() == types.get(index)
+						? baselineColumn.getDictionary()
+						: null);
+			}
+			while (beans.hasNext())
+			{
+				if (rowCount == MAX_ROW_COUNT)
+				{
+					throw new IllegalArgumentException(
+						"Snapshot should not have more than " + MAX_ROW_COUNT + " rows.");
+				}
+				final T bean = beans.next();
+				for (final ColumnWriter writer : writers)
+				{
+					writer.write(bean);
+				}
+				rowCount++;
+			}
+		}
+		catch (final Throwable throwable)
+		{
+			close(writers, throwable);
+			delete(directory, writers.length, throwable);
+			throw throwable;
+		}
+		try
+		{
+			final IOException exception = close(writers, null);
+			if (exception != null)
+			{
+				throw exception;
+			}
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(directory.resolve(HEADER_FILE_NAME)))))
+			{
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				output.writeUTF(beanClass.getName());
+				output.writeInt(rowCount);
+				output.writeInt(properties.size());
+				for (int index = 0; index < properties.size(); index++)
+				{
+					output.writeUTF(properties.get(index).getName());
+					output.writeUTF(types.get(index).name());
+					output.writeBoolean(!properties.get(index).getType().isPrimitive());
+				}
+			}
+		}
+		catch (final IOException e)
+		{
+			delete(directory, writers.length, e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Closes all given writers. The exceptions of the writers are added as suppressed exceptions
+	 * to the given failure or to the first exception
+	 *
+	 * @param writers
+	 *            the writers that are null if they are not created
+	 * @param failure
+	 *            the failure that caused the close or null
+	 * @return the first exception if there is no failure and a writer could not be closed
+	 *         otherwise null
+	 */
+	private static IOException close(final ColumnWriter[] writers, final Throwable failure)
+	{
+		IOException exception = null;
+		for (final ColumnWriter writer : writers)
+		{
+			try
+			{
+				if (writer != null)
+				{
+					writer.close();
+				}
+			}
+			catch (final IOException e)
+			{
+				if (failure != null)
+				{
+					failure.addSuppressed(e);
+				}
+				else if (exception == null)
+				{
+					exception = e;
+				}
+				else
+				{
+					exception.addSuppressed(e);
+				}
+			}
+		}
+		return exception;
+	}
+
+	/**
+	 * Deletes the header file and the column files of a snapshot that could not be written. The
+	 * exceptions of the deletion are added as suppressed exceptions to the given failure
+	 *
+	 * @param directory
+	 *            the directory of the snapshot
+	 * @param columnCount
+	 *            the number of columns
+	 * @param failure
+	 *            the failure that caused the deletion
+	 */
+	private static void delete(final Path directory, final int columnCount,
+		final Throwable failure)
+	{
+		final List<Path> files = new ArrayList<>();
+		files.add(directory.resolve(HEADER_FILE_NAME));
+		for (int index = 0; index < columnCount; index++)
+		{
+			files.add(getValuesFile(directory, index));
+			files.add(getNullsFile(directory, index));
+			files.add(getDictionaryFile(directory, index));
+		}
+		for (final Path file : files)
+		{
+			try
+			{
+				Files.deleteIfExists(file);
+			}
+			catch (final IOException e)
+			{
+				failure.addSuppressed(e);
+			}
+		}
+	}
+
+	/**
+	 * Opens the snapshot in the given directory and maps its column files into memory
+	 *
+	 * @param directory
+	 *            the directory of the snapshot
+	 * @return the opened snapshot
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred or the directory contains no
+	 *             snapshot
+	 */
+	public static ColumnarSnapshot open(final Path directory) throws IOException
+	{
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+			Files.newInputStream(directory.resolve(HEADER_FILE_NAME)))))
+		{
+			if (input.readInt() != MAGIC || input.readInt() != VERSION)
+			{
+				throw new IOException("Directory " + directory + " contains no snapshot.");
+			}
+			final String beanClassName = input.readUTF();
+			final int rowCount = input.readInt();
+			final Column[] columns = new Column[input.readInt()];
+			for (int index = 0; index < columns.length; index++)
+			{
+				final String name = input.readUTF();
+				final ColumnType type = ColumnType.valueOf(input.readUTF());
+				final boolean nullable = input.readBoolean();
+				columns[index] = new Column(name, type,
+					map(getValuesFile(directory, index), (long)rowCount * type.getWidth()),
+					nullable && type != ColumnType.STRING
+						? map(getNullsFile(directory, index), rowCount)
+						: null,
+					type == ColumnType.STRING
+						? readDictionary(getDictionaryFile(directory, index))
+						: null);
+			}
+			return new ColumnarSnapshot(directory, beanClassName, rowCount, columns);
+		}
+	}
+
+	private static ByteBuffer map(final Path path, final long size) throws IOException
+	{
+		try (FileChannel channel = FileChannel.open(path))
+		{
+			if (channel.size() != size)
+			{
+				throw new IOException("Column file " + path + " should have " + size + " bytes.");
+			}
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		}
+	}
+
+	private static List<String> readDictionary(final Path path) throws IOException
+	{
+		try (DataInputStream input = new DataInputStream(
+			new BufferedInputStream(Files.newInputStream(path))))
+		{
+			final int size = input.readInt();
+			final List<String> dictionary = new ArrayList<>(size);
+			for (int index = 0; index < size; index++)
+			{
+				final byte[] bytes = new byte[input.readInt()];
+				input.readFully(bytes);
+				dictionary.add(new String(bytes, StandardCharsets.UTF_8));
+			}
+			return Collections.unmodifiableList(dictionary);
+		}
+	}
+
+	static Path getValuesFile(final Path directory, final int index)
+	{
+		return directory.resolve(index + ".values");
+	}
+
+	static Path getNullsFile(final Path directory, final int index)
+	{
+		return directory.resolve(index + ".nulls");
+	}
+
+	static Path getDictionaryFile(final Path directory, final int index)
+	{
+		return directory.resolve(index + ".dictionary");
+	}
+
+	/**
+	 * Compares this snapshot with the given snapshot row by row and column by column. The rows are
+	 * matched by their position, so both snapshots have to be aligned by a key. The rows that both
+	 * snapshots have are compared and the rows after them are reported as added rows of the given
+	 * snapshot or as removed rows of this snapshot
+	 *
+	 * @param other
+	 *            the snapshot to compare
+	 * @return the changed rows of every column with the number of added and removed rows
+	 * @throws IllegalArgumentException
+	 *             Thrown if the snapshots have not the same columns
+	 * @throws IllegalStateException
+	 *             Thrown if one of the snapshots is closed
+	 */
+	public SnapshotDiff diff(final ColumnarSnapshot other)
+	{
+		Objects.requireNonNull(other);
+		final Column[] columns = getColumns();
+		final Column[] otherColumns = other.getColumns();
+		if (!beanClassName.equals(other.beanClassName) || columns.length != otherColumns.length)
+		{
+			throw new IllegalArgumentException("Snapshots should have the same columns.");
+		}
+		final int commonRowCount = Math.min(rowCount, other.rowCount);
+		final BitSet[] changedRows = new BitSet[columns.length];
+		for (int index = 0; index < columns.length; index++)
+		{
+			final Column column = columns[index];
+			final Column otherColumn = otherColumns[index];
+			if (!column.getName().equals(otherColumn.getName())
+				|| column.getType() != otherColumn.getType())
+			{
+				throw new IllegalArgumentException("Snapshots should have the same columns.");
+			}
+			changedRows[index] = column.diff(otherColumn, commonRowCount);
+		}
+		return new SnapshotDiff(columnNames, changedRows, commonRowCount,
+			other.rowCount - commonRowCount, rowCount - commonRowCount);
+	}
+
+	private Column[] getColumns()
+	{
+		final Column[] columns = this.columns;
+		if (columns == null)
+		{
+			throw new IllegalStateException("Snapshot " + directory + " is closed.");
+		}
+		return columns;
+	}
+
+	private Column getColumn(final String name)
+	{
+		for (final Column column : getColumns())
+		{
+			if (column.getName().equals(name))
+			{
+				return column;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the directory of this snapshot
+	 *
+	 * @return the directory of this snapshot
+	 */
+	public Path getDirectory()
+	{
+		return directory;
+	}
+
+	/**
+	 * Gets the name of the bean class
+	 *
+	 * @return the name of the bean class
+	 */
+	public String getBeanClassName()
+	{
+		return beanClassName;
+	}
+
+	/**
+	 * Gets the number of rows
+	 *
+	 * @return the number of rows
+	 */
+	public int getRowCount()
+	{
+		return rowCount;
+	}
+
+	/**
+	 * Gets the names of the columns that are the names of the stored properties
+	 *
+	 * @return an unmodifiable list with the names of the columns
+	 */
+	public List<String> getColumnNames()
+	{
+		return columnNames;
+	}
+
+	/**
+	 * Releases the mapped buffers of this snapshot. The buffers are unmapped by the garbage
+	 * collector, so the column files can still be in use until then
+	 */
+	@Override
+	public void close()
+	{
+		columns = null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "ColumnarSnapshot [directory=" + directory + ", beanClass=" + beanClassName
+			+ ", rows=" + rowCount + ", columns=" + columnNames + "]";
+	}
+
+}
@@ -0,0 +1,201 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.snapshot;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The class {@link SnapshotDiff} holds the changed rows of every column of two compared
+ * {@link ColumnarSnapshot} objects. A row is changed in a column if the stored values are not
+ * equal, so only the equality is known and not the order of the values. Only the rows that both
+ * snapshots have are compared, the rows after them are added if the compared snapshot has more
+ * rows or removed if it has less rows
+ */
+public final class SnapshotDiff
+{
+
+	/** The names of the columns. */
+	private final List<String> columnNames;
+
+	/** The changed rows of every column. */
+	private final BitSet[] changedRowsPerColumn;
+
+	/** The number of rows that both snapshots have. */
+	private final int rowCount;
+
+	/** The number of rows that only the compared snapshot has. */
+	private final int addedRowCount;
+
+	/** The number of rows that only the snapshot has. */
+	private final int removedRowCount;
+
+	/** The changed rows of any column. */
+	private final BitSet changedRows;
+
+	/**
+	 * Instantiates a new {@link SnapshotDiff}
+	 *
+	 * @param columnNames
+	 *            the names of the columns
+	 * @param changedRowsPerColumn
+	 *            the changed rows of every column
+	 * @param rowCount
+	 *            the number of rows that both snapshots have
+	 * @param addedRowCount
+	 *            the number of rows that only the compared snapshot has
+	 * @param removedRowCount
+	 *            the number of rows that only the snapshot has
+	 */
+	SnapshotDiff(final List<String> columnNames, final BitSet[] changedRowsPerColumn,
+		final int rowCount, final int addedRowCount, final int removedRowCount)
+	{
+		this.columnNames = columnNames;
+		this.changedRowsPerColumn = changedRowsPerColumn;
+		this.rowCount = rowCount;
+		this.addedRowCount = addedRowCount;
+		this.removedRowCount = removedRowCount;
+		this.changedRows = new BitSet();
+		for (final BitSet rows : changedRowsPerColumn)
+		{
+			changedRows.or(rows);
+		}
+	}
+
+	/**
+	 * Checks if all rows of both snapshots are equal
+	 *
+	 * @return true if both snapshots have the same number of rows and all rows are equal
+	 *         otherwise false
+	 */
+	public boolean isEqual()
+	{
+		return changedRows.isEmpty() && addedRowCount == 0 && removedRowCount == 0;
+	}
+
+	/**
+	 * Gets the number of compared rows that both snapshots have
+	 *
+	 * @return the number of compared rows
+	 */
+	public int getRowCount()
+	{
+		return rowCount;
+	}
+
+	/**
+	 * Gets the number of added rows that only the compared snapshot has. The added rows are the
+	 * rows from {@link #getRowCount()} of the compared snapshot
+	 *
+	 * @return the number of added rows
+	 */
+	public int getAddedRowCount()
+	{
+		return addedRowCount;
+	}
+
+	/**
+	 * Gets the number of removed rows that only the snapshot has. The removed rows are the rows
+	 * from {@link #getRowCount()} of the snapshot
+	 *
+	 * @return the number of removed rows
+	 */
+	public int getRemovedRowCount()
+	{
+		return removedRowCount;
+	}
+
+	/**
+	 * Gets the number of changed rows of the compared rows
+	 *
+	 * @return the number of changed rows
+	 */
+	public int getChangedRowCount()
+	{
+		return changedRows.cardinality();
+	}
+
+	/**
+	 * Gets the changed rows
+	 *
+	 * @return a copy of the changed rows
+	 */
+	public BitSet getChangedRows()
+	{
+		return (BitSet)changedRows.clone();
+	}
+
+	/**
+	 * Gets the changed rows of the given column
+	 *
+	 * @param columnName
+	 *            the name of the column
+	 * @return a copy of the changed rows of the given column
+	 * @throws IllegalArgumentException
+	 *             Thrown if the given column does not exist
+	 */
+	public BitSet getChangedRows(final String columnName)
+	{
+		final int index = columnNames.indexOf(columnName);
+		if (index < 0)
+		{
+			throw new IllegalArgumentException("Snapshot has no column " + columnName + ".");
+		}
+		return (BitSet)changedRowsPerColumn[index].clone();
+	}
+
+	/**
+	 * Gets the names of the columns that are changed in the given row
+	 *
+	 * @param row
+	 *            the row
+	 * @return an unmodifiable list with the names of the changed columns
+	 */
+	public List<String> getChangedColumns(final int row)
+	{
+		if (!changedRows.get(row))
+		{
+			return Collections.emptyList();
+		}
+		final List<String> changedColumns = new ArrayList<>();
+		for (int index = 0; index < changedRowsPerColumn.length; index++)
+		{
+			if (changedRowsPerColumn[index].get(row))
+			{
+				changedColumns.add(columnNames.get(index));
+			}
+		}
+		return Collections.unmodifiableList(changedColumns);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString()
+	{
+		return "SnapshotDiff [rows=" + rowCount + ", addedRows=" + addedRowCount
+			+ ", removedRows=" + removedRowCount + ", changedRows=" + changedRows + "]";
+	}
+
+}
@@ -0,0 +1,460 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.sort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The class {@link ExternalMergeSorter} sorts data sets that are larger than the heap. The records
+ * are read in runs of a maximum number of records that are sorted in memory and spilled to
+ * temporary files over a {@link FileChannel} with the given {@link RecordSerializer}. The runs are
+ * merged with a heap of the current record of every run, if there are more runs than the merge fan
+ * in the runs are merged in several passes.<br>
+ * <br>
+ * The comparator can be any comparator that is used in memory, for instance a
+ * <code>BeanPropertyComparator</code> or a chain of them over {@link Comparator#thenComparing}.
+ * The sort is stable
+ *
+ * @param <T>
+ *            the generic type of the records
+ */
+public final class ExternalMergeSorter<T>
+{
+
+	/** The default maximum number of runs that are merged at once. */
+	public static final int DEFAULT_MERGE_FAN_IN = 64;
+
+	/** The buffer size for reading and writing the runs. */
+	static final int BUFFER_SIZE = 1 << 16;
+
+	/** The prefix of the temporary files. */
+	private static final String TEMP_FILE_PREFIX = "jobj-compare-run";
+
+	/** The comparator that defines the sort order. */
+	private final Comparator<? super T> comparator;
+
+	/** The serializer of the records. */
+	private final RecordSerializer<T> serializer;
+
+	/** The maximum number of records that are sorted in memory. */
+	private final int maxRecordsInMemory;
+
+	/** The maximum number of runs that are merged at once. */
+	private final int mergeFanIn;
+
+	/** The directory of the temporary files or null for the default temporary directory. */
+	private final Path tempDirectory;
+
+	/**
+	 * Instantiates a new {@link ExternalMergeSorter} that spills the runs to the default temporary
+	 * directory
+	 *
+	 * @param comparator
+	 *            the comparator that defines the sort order
+	 * @param serializer
+	 *            the serializer of the records
+	 * @param maxRecordsInMemory
+	 *            the maximum number of records that are sorted in memory
+	 */
+	public ExternalMergeSorter(final Comparator<? super T> comparator,
+		final RecordSerializer<T> serializer, final int maxRecordsInMemory)
+	{
+		this(comparator, serializer, maxRecordsInMemory, DEFAULT_MERGE_FAN_IN, null);
+	}
+
+	/**
+	 * Instantiates a new {@link ExternalMergeSorter}
+	 *
+	 * @param comparator
+	 *            the comparator that defines the sort order
+	 * @param serializer
+	 *            the serializer of the records
+	 * @param maxRecordsInMemory
+	 *            the maximum number of records that are sorted in memory
+	 * @param mergeFanIn
+	 *            the maximum number of runs that are merged at once
+	 * @param tempDirectory
+	 *            the directory of the temporary files or null for the default temporary directory
+	 */
+	public ExternalMergeSorter(final Comparator<? super T> comparator,
+		final RecordSerializer<T> serializer, final int maxRecordsInMemory, final int mergeFanIn,
+		final Path tempDirectory)
+	{
+		if (maxRecordsInMemory < 1)
+		{
+			throw new IllegalArgumentException("maxRecordsInMemory should be greater than 0.");
+		}
+		if (mergeFanIn < 2)
+		{
+			throw new IllegalArgumentException("mergeFanIn should be greater than 1.");
+		}
+		this.comparator = Objects.requireNonNull(comparator);
+		this.serializer = Objects.requireNonNull(serializer);
+		this.maxRecordsInMemory = maxRecordsInMemory;
+		this.mergeFanIn = mergeFanIn;
+		this.tempDirectory = tempDirectory;
+	}
+
+	/**
+	 * Sorts the given records. If all records fit into memory no temporary file is written.
+	 * Otherwise the returned stream reads the records lazily from the temporary files, so it has to
+	 * be closed if it is not consumed completely to delete the temporary files
+	 *
+	 * @param records
+	 *            the records to sort
+	 * @return the lazy stream of the sorted records
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	public Stream<T> sort(final Iterator<? extends T> records) throws IOException
+	{
+		final List<Run> runs = new ArrayList<>();
+		try
+		{
+			final List<T> buffer = new ArrayList<>(Math.min(maxRecordsInMemory, 1024));
+			while (records.hasNext())
+			{
+				if (buffer.size() == maxRecordsInMemory)
+				{
+					buffer.sort(comparator);
+					runs.add(spill(buffer.iterator()));
+					buffer.clear();
+				}
+				buffer.add(records.next());
+			}
+			buffer.sort(comparator);
+			if (runs.isEmpty())
+			{
+				return buffer.stream();
+			}
+			if (!buffer.isEmpty())
+			{
+				runs.add(spill(buffer.iterator()));
+				buffer.clear();
+			}
+			while (mergeFanIn < runs.size())
+			{
+				mergePass(runs);
+			}
+			long size = 0;
+			for (final Run run : runs)
+			{
+				size += run.size;
+			}
+			final MergeIterator iterator = new MergeIterator(runs);
+			return StreamSupport
+				.stream(Spliterators.spliterator(iterator, size,
+					Spliterator.ORDERED | Spliterator.SIZED), false)
+				.onClose(iterator::close);
+		}
+		catch (final IOException | RuntimeException e)
+		{
+			for (final Run run : runs)
+			{
+				run.delete(e);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Sorts the records of the given stream. The given stream is closed after it is read
+	 *
+	 * @param records
+	 *            the records to sort
+	 * @return the lazy stream of the sorted records
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @see #sort(Iterator)
+	 */
+	public Stream<T> sort(final Stream<? extends T> records) throws IOException
+	{
+		try (records)
+		{
+			return sort(records.iterator());
+		}
+	}
+
+	/**
+	 * Merges the given runs in groups of the merge fan in. The merged runs are replaced in the given
+	 * list with the new run, so the list contains all temporary files at every time
+	 */
+	private void mergePass(final List<Run> runs) throws IOException
+	{
+		int remaining = runs.size();
+		while (0 < remaining)
+		{
+			final int count = Math.min(mergeFanIn, remaining);
+			final List<Run> group = runs.subList(0, count);
+			final Run merged;
+			if (count == 1)
+			{
+				merged = group.get(0);
+			}
+			else
+			{
+				try (MergeIterator iterator = new MergeIterator(new ArrayList<>(group)))
+				{
+					merged = spill(iterator);
+				}
+			}
+			group.clear();
+			runs.add(merged);
+			remaining -= count;
+		}
+	}
+
+	private Run spill(final Iterator<? extends T> records) throws IOException
+	{
+		final Path path = tempDirectory == null
+			? Files.createTempFile(TEMP_FILE_PREFIX, ".tmp")
+			: Files.createTempFile(tempDirectory, TEMP_FILE_PREFIX, ".tmp");
+		long size = 0;
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+			Channels.newOutputStream(FileChannel.open(path, StandardOpenOption.WRITE)),
+			BUFFER_SIZE)))
+		{
+			while (records.hasNext())
+			{
+				serializer.write(records.next(), output);
+				size++;
+			}
+		}
+		catch (final IOException | RuntimeException e)
+		{
+			Files.deleteIfExists(path);
+			throw e;
+		}
+		return new Run(path, size);
+	}
+
+	/**
+	 * The class {@link Run} holds the temporary file and the number of records of a sorted run
+	 */
+	private static final class Run
+	{
+
+		/** The temporary file. */
+		private final Path path;
+
+		/** The number of records. */
+		private final long size;
+
+		Run(final Path path, final long size)
+		{
+			this.path = path;
+			this.size = size;
+		}
+
+		void delete(final Throwable failure)
+		{
+			try
+			{
+				Files.deleteIfExists(path);
+			}
+			catch (final IOException e)
+			{
+				failure.addSuppressed(e);
+			}
+		}
+	}
+
+	/**
+	 * The class {@link RunReader} reads the records of a run and holds the current record
+	 */
+	private final class RunReader
+	{
+
+		/** The index of the run, equal records are ordered by the index to keep the sort stable. */
+		private final int index;
+
+		/** The input of the temporary file. */
+		private final DataInputStream input;
+
+		/** The number of records that are not read yet. */
+		private long remaining;
+
+		/** The current record. */
+		private T head;
+
+		RunReader(final Run run, final int index) throws IOException
+		{
+			this.index = index;
+			this.input = new DataInputStream(new BufferedInputStream(
+				Channels.newInputStream(FileChannel.open(run.path, StandardOpenOption.READ)),
+				BUFFER_SIZE));
+			this.remaining = run.size;
+		}
+
+		boolean advance() throws IOException
+		{
+			if (remaining == 0)
+			{
+				return false;
+			}
+			head = serializer.read(input);
+			remaining--;
+			return true;
+		}
+	}
+
+	/**
+	 * The class {@link MergeIterator} merges the given runs with a heap of the current records. The
+	 * temporary files of the runs are deleted if the iterator is exhausted or closed
+	 */
+	private final class MergeIterator implements Iterator<T>, Closeable
+	{
+
+		/** The merged runs. */
+		private final List<Run> runs;
+
+		/** The readers of all runs. */
+		private final List<RunReader> readers;
+
+		/** The heap of the readers that have a current record. */
+		private final PriorityQueue<RunReader> heap;
+
+		/** The flag if this iterator is closed. */
+		private boolean closed;
+
+		MergeIterator(final List<Run> runs) throws IOException
+		{
+			this.runs = runs;
+			this.readers = new ArrayList<>(runs.size());
+			this.heap = new PriorityQueue<>(Math.max(1, runs.size()),
+				(reader, otherReader) -> {
+					final int result = comparator.compare(reader.head, otherReader.head);
+					return result != 0 ? result : Integer.compare(reader.index, otherReader.index);
+				});
+			try
+			{
+				for (int index = 0; index < runs.size(); index++)
+				{
+					final RunReader reader = new RunReader(runs.get(index), index);
+					readers.add(reader);
+					if (reader.advance())
+					{
+						heap.add(reader);
+					}
+				}
+			}
+			catch (final IOException | RuntimeException e)
+			{
+				closeReaders(e);
+				throw e;
+			}
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			if (heap.isEmpty())
+			{
+				close();
+				return false;
+			}
+			return true;
+		}
+
+		@Override
+		public T next()
+		{
+			if (!hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			final RunReader reader = heap.poll();
+			final T record = reader.head;
+			try
+			{
+				if (reader.advance())
+				{
+					heap.add(reader);
+				}
+			}
+			catch (final IOException e)
+			{
+				throw new UncheckedIOException(e);
+			}
+			return record;
+		}
+
+		@Override
+		public void close()
+		{
+			if (closed)
+			{
+				return;
+			}
+			closed = true;
+			heap.clear();
+			final UncheckedIOException failure = new UncheckedIOException(
+				new IOException("Could not close the runs of the external merge sort."));
+			closeReaders(failure);
+			if (failure.getSuppressed().length != 0)
+			{
+				throw failure;
+			}
+		}
+
+		private void closeReaders(final Throwable failure)
+		{
+			for (final RunReader reader : readers)
+			{
+				try
+				{
+					reader.input.close();
+				}
+				catch (final IOException e)
+				{
+					failure.addSuppressed(e);
+				}
+			}
+			for (final Run run : runs)
+			{
+				run.delete(failure);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.sort;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * The interface {@link RecordSerializer} writes records to and reads records from a binary
+ * representation, so the records can be spilled to temporary files
+ *
+ * @param <T>
+ *            the generic type of the records
+ */
+public interface RecordSerializer<T>
+{
+
+	/**
+	 * Writes the given record to the given output
+	 *
+	 * @param record
+	 *            the record
+	 * @param output
+	 *            the output
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	void write(T record, DataOutput output) throws IOException;
+
+	/**
+	 * Reads the next record from the given input
+	 *
+	 * @param input
+	 *            the input
+	 * @return the record
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	T read(DataInput input) throws IOException;
+
+}
@@ -0,0 +1,178 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.comparator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.Sets;
+
+import io.github.astrapi69.compare.object.CompareObjectExtensions;
+import io.github.astrapi69.test.object.Permission;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumtype.Gender;
+
+/**
+ * The unit test class for the class {@link BeanComparatorFactory}.
+ */
+public class BeanComparatorFactoryTest
+{
+
+	/**
+	 * Test method for {@link BeanComparatorFactory#newComparator(Class, String...)}
+	 */
+	@Test
+	public void testNewComparator()
+	{
+		int expected;
+		int actual;
+		CompiledBeanComparator<Person> comparator;
+		Person obelix;
+		Person asterix;
+		Person miraculix;
+		List<Person> persons;
+
+		comparator = BeanComparatorFactory.newComparator(Person.class, "gender", "name", "foo");
+		assertSame(comparator, BeanComparatorFactory.newComparator(Person.class, "gender", "name",
+			"foo"));
+		assertEquals(Arrays.asList("gender", "name"), comparator.getPropertyNames());
+
+		obelix = Person.builder().gender(Gender.MALE).name("obelix").build();
+		asterix = Person.builder().gender(Gender.MALE).name("asterix").build();
+		miraculix = Person.builder().gender(Gender.FEMALE).name("miraculix").build();
+
+		expected = 14;
+		actual = comparator.compare(obelix, asterix);
+		assertEquals(expected, actual);
+
+		expected = 0;
+		actual = comparator.compare(obelix,
+			Person.builder().gender(Gender.MALE).name("obelix").build());
+		assertEquals(expected, actual);
+
+		expected = -1;
+		actual = comparator.compare(null, obelix);
+		assertEquals(expected, actual);
+
+		persons = new ArrayList<>(Arrays.asList(obelix, asterix, miraculix));
+		persons.sort(comparator);
+		assertEquals(Arrays.asList(miraculix, asterix, obelix), persons);
+	}
+
+	/**
+	 * Test method for {@link CompiledBeanComparator#compareAll(Object, Object)} that have to
+	 * return the same result as {@link CompareObjectExtensions}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@SuppressWarnings("deprecation")
+	@Test
+	public void testCompareAll()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		int expected;
+		int actual;
+		Permission sourceOjbect;
+		Permission objectToCompare;
+
+		sourceOjbect = Permission.builder().name("write").description("Permission for read files")
+			.build();
+		objectToCompare = Permission.builder().name("read").description("Permission for files")
+			.shortcut("R").build();
+
+		expected = CompareObjectExtensions.compareTo(sourceOjbect, objectToCompare);
+		actual = BeanComparatorFactory.newComparator(Permission.class).compareAll(sourceOjbect,
+			objectToCompare);
+		assertEquals(expected, actual);
+
+		expected = 5 + 12;
+		actual = BeanComparatorFactory
+			.newComparator(Permission.class, Sets.newHashSet("name", "description"))
+			.compareAll(sourceOjbect, objectToCompare);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link BeanComparatorFactory#newComparator(Class, java.util.Set)} that
+	 * orders the properties by name and ignores null properties
+	 */
+	@Test
+	public void testNewComparatorWithSet()
+	{
+		List<String> expected;
+		List<String> actual;
+		CompiledBeanComparator<Person> comparator;
+		Set<String> properties;
+
+		properties = new HashSet<>(Arrays.asList("nickname", "name", "gender", "about", null));
+		comparator = BeanComparatorFactory.newComparator(Person.class, properties);
+		expected = Arrays.asList("about", "gender", "name", "nickname");
+		actual = comparator.getPropertyNames();
+		assertEquals(expected, actual);
+		assertSame(comparator, BeanComparatorFactory.newComparator(Person.class,
+			new LinkedHashSet<>(Arrays.asList("name", "about", "nickname", "gender"))));
+		assertSame(comparator, BeanComparatorFactory.newComparator(Person.class, expected));
+
+		comparator = BeanComparatorFactory.newComparator(Person.class,
+			Arrays.asList("name", null));
+		assertEquals(Arrays.asList("name"), comparator.getPropertyNames());
+	}
+
+	/**
+	 * Test method for {@link BeanComparatorFactory#newComparator(Class, List)} with more lists of
+	 * properties than the comparators that are cached
+	 */
+	@Test
+	public void testNewComparatorCacheIsBounded()
+	{
+		CompiledBeanComparator<Permission> comparator;
+
+		for (int index = 0; index < BeanComparatorFactory.MAX_CACHED_COMPARATORS * 2; index++)
+		{
+			comparator = BeanComparatorFactory.newComparator(Permission.class, "name",
+				"property" + index);
+			assertEquals(Arrays.asList("name"), comparator.getPropertyNames());
+		}
+		comparator = BeanComparatorFactory.newComparator(Permission.class, "name",
+			"property" + BeanComparatorFactory.MAX_CACHED_COMPARATORS * 3);
+		assertNotSame(comparator, BeanComparatorFactory.newComparator(Permission.class, "name",
+			"property" + BeanComparatorFactory.MAX_CACHED_COMPARATORS * 3));
+	}
+
+}
@@ -22,8 +22,12 @@ package io.github.astrapi69.comparator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
+import io.github.astrapi69.compare.object.PropertyPathTest.Member;
 import io.github.astrapi69.test.object.Person;
 
 public class BeanPropertyComparatorTest
@@ -42,4 +46,29 @@ public class BeanPropertyComparatorTest
 		expected = -1;
 		assertEquals(actual, expected);
 	}
+
+	@Test
+	public void testCompareNestedProperty()
+	{
+		final Member obelix = new Member(1, Person.builder().name("obelix").build());
+		final Member asterix = new Member(2, Person.builder().name("asterix").build());
+		final Member miraculix = new Member(3, Person.builder().name("miraculix").build());
+		final List<Member> members = new ArrayList<>();
+		members.add(obelix);
+		members.add(asterix);
+		members.add(miraculix);
+
+		members.sort(new BeanPropertyComparator<>("person.name"));
+		assertEquals(asterix, members.get(0));
+		assertEquals(miraculix, members.get(1));
+		assertEquals(obelix, members.get(2));
+
+		final BeanPropertyComparator<Member> beanComparator = new BeanPropertyComparator<>(
+			"person.name");
+		beanComparator.setProperty("id");
+		members.sort(beanComparator);
+		assertEquals(obelix, members.get(0));
+		assertEquals(asterix, members.get(1));
+		assertEquals(miraculix, members.get(2));
+	}
 }
@@ -0,0 +1,200 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.comparator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link CachedKeySorter}.
+ */
+@SuppressWarnings("deprecation")
+public class CachedKeySorterTest
+{
+
+	/**
+	 * Test method for {@link CachedKeySorter#sort(List, BeanPropertyComparator)}
+	 */
+	@Test
+	public void testSortWithBeanPropertyComparator()
+	{
+		List<Person> expected;
+		List<Person> actual;
+		final Random random = new Random(3);
+
+		actual = new ArrayList<>();
+		for (int i = 0; i < 500; i++)
+		{
+			final String name = random.nextInt(10) == 0 ? null : "name" + random.nextInt(40);
+			actual.add(Person.builder().name(name).about(String.valueOf(i)).build());
+		}
+		expected = new ArrayList<>(actual);
+		expected.sort(new BeanPropertyComparator<>("name"));
+
+		CachedKeySorter.sort(actual, new BeanPropertyComparator<>("name"));
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test that every key is read only once
+	 */
+	@Test
+	public void testSortReadsEveryKeyOnce()
+	{
+		final List<CountingBean> beans = new LinkedList<>();
+		final Random random = new Random(5);
+
+		for (int i = 0; i < 1000; i++)
+		{
+			beans.add(new CountingBean(random.nextInt(100)));
+		}
+		CachedKeySorter.sort(beans, new BeanPropertyComparator<>("age"));
+		for (int i = 0; i < beans.size(); i++)
+		{
+			assertEquals(1, beans.get(i).ageCalls);
+			if (0 < i)
+			{
+				assertEquals(true, beans.get(i - 1).age <= beans.get(i).age);
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link CachedKeySorter#sortByInt(List, java.util.function.ToIntFunction)},
+	 * {@link CachedKeySorter#sortByLong(List, java.util.function.ToLongFunction)} and
+	 * {@link CachedKeySorter#sortByDouble(List, java.util.function.ToDoubleFunction)}
+	 */
+	@Test
+	public void testSortByPrimitiveKeys()
+	{
+		List<CountingBean> expected;
+		List<CountingBean> actual;
+		final Random random = new Random(11);
+
+		actual = new ArrayList<>();
+		for (int i = 0; i < 2000; i++)
+		{
+			actual.add(new CountingBean(random.nextInt(300) - 150));
+		}
+		expected = new ArrayList<>(actual);
+		expected.sort(Comparator.comparingInt(bean -> bean.age));
+
+		CachedKeySorter.sortByInt(actual, bean -> bean.age);
+		assertEquals(expected, actual);
+
+		expected.sort(Comparator.comparingLong(bean -> -(long)bean.age));
+		CachedKeySorter.sortByLong(actual, bean -> -(long)bean.age);
+		assertEquals(expected, actual);
+
+		expected.sort(Comparator.comparingDouble(bean -> bean.age / 7d));
+		CachedKeySorter.sortByDouble(actual, bean -> bean.age / 7d);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for
+	 * {@link CachedKeySorter#sort(List, java.util.function.Function, Comparator)}
+	 */
+	@Test
+	public void testSortWithKeyExtractor()
+	{
+		List<String> actual;
+
+		actual = new ArrayList<>(List.of("pear", "fig", "apple", "kiwi", "plum", "banana"));
+		CachedKeySorter.sort(actual, String::length, Comparator.reverseOrder());
+		assertEquals(List.of("banana", "apple", "pear", "kiwi", "plum", "fig"), actual);
+
+		actual = new ArrayList<>();
+		CachedKeySorter.sort(actual, String::length, Comparator.naturalOrder());
+		assertEquals(List.of(), actual);
+	}
+
+	/**
+	 * Test method for the parallel sort methods of {@link CachedKeySorter}
+	 */
+	@Test
+	public void testParallelSort()
+	{
+		List<CountingBean> expected;
+		List<CountingBean> actual;
+		final Random random = new Random(13);
+
+		actual = new ArrayList<>();
+		for (int i = 0; i < CachedKeySorter.PARALLEL_THRESHOLD * 3; i++)
+		{
+			actual.add(new CountingBean(random.nextInt(2000) - 1000));
+		}
+		expected = new ArrayList<>(actual);
+		expected.sort(Comparator.comparingInt(bean -> bean.age));
+
+		CachedKeySorter.parallelSortByInt(actual, bean -> bean.age);
+		assertEquals(expected, actual);
+
+		expected.sort(Comparator.comparingLong(bean -> -(long)bean.age));
+		CachedKeySorter.parallelSortByLong(actual, bean -> -(long)bean.age);
+		assertEquals(expected, actual);
+
+		expected.sort(Comparator.comparingDouble(bean -> bean.age / 7d));
+		CachedKeySorter.parallelSortByDouble(actual, bean -> bean.age / 7d);
+		assertEquals(expected, actual);
+
+		expected.sort(new BeanPropertyComparator<>("age", Comparator.reverseOrder()));
+		CachedKeySorter.parallelSort(actual,
+			new BeanPropertyComparator<CountingBean>("age", Comparator.reverseOrder()));
+		assertEquals(expected, actual);
+
+		expected.sort(Comparator.comparingInt(bean -> bean.age));
+		CachedKeySorter.parallelSort(actual,
+			CompositeBeanComparator.builder(CountingBean.class).ascending("age").build());
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Bean that counts the calls of its getter
+	 */
+	public static class CountingBean
+	{
+		final int age;
+
+		int ageCalls;
+
+		public CountingBean(final int age)
+		{
+			this.age = age;
+		}
+
+		public int getAge()
+		{
+			ageCalls++;
+			return age;
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.comparator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.compare.object.PropertyMetadataTest.PrimitiveBean;
+
+/**
+ * The unit test class for the class {@link CompiledBeanComparator}.
+ */
+public class CompiledBeanComparatorTest
+{
+
+	/**
+	 * Test that {@link CompiledBeanComparator#compare(Object, Object)} does not allocate any
+	 * objects for beans with only primitive properties. After the warm up the comparisons of every
+	 * round have to allocate 0 bytes, the bytes that reading the allocation counter allocates
+	 * itself are measured before and subtracted
+	 */
+	@Test
+	public void testCompareIsAllocationFree()
+	{
+		final CompiledBeanComparator<PrimitiveBean> comparator = BeanComparatorFactory
+			.newComparator(PrimitiveBean.class);
+		final PrimitiveBean bean = new PrimitiveBean(1_000_000, 70_000L, 1.5d, 'z', (short)300,
+			true, 2.5f);
+		final PrimitiveBean otherBean = new PrimitiveBean(1_000_000, 70_000L, 1.5d, 'z',
+			(short)300, true, 2.5f);
+		final int iterations = 100_000;
+		final int rounds = 5;
+		int result = 0;
+		final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory
+			.getThreadMXBean();
+		assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+		final com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean)threadMXBean;
+		assumeTrue(allocationCounter.isThreadAllocatedMemorySupported());
+		final long threadId = Thread.currentThread().getId();
+		// warm up the comparator and the allocation counter
+		for (int i = 0; i < iterations; i++)
+		{
+			result += comparator.compare(bean, otherBean);
+			allocationCounter.getThreadAllocatedBytes(threadId);
+		}
+		long overhead = Long.MAX_VALUE;
+		long allocated = Long.MAX_VALUE;
+		for (int round = 0; round < rounds; round++)
+		{
+			long before = allocationCounter.getThreadAllocatedBytes(threadId);
+			overhead = Math.min(overhead,
+				allocationCounter.getThreadAllocatedBytes(threadId) - before);
+			before = allocationCounter.getThreadAllocatedBytes(threadId);
+			for (int i = 0; i < iterations; i++)
+			{
+				result += comparator.compare(bean, otherBean);
+			}
+			allocated = Math.min(allocated,
+				allocationCounter.getThreadAllocatedBytes(threadId) - before);
+		}
+		assertEquals(0, result);
+		assertEquals(0L, allocated - overhead);
+	}
+
+}
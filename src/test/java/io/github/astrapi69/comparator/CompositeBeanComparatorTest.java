@@ -0,0 +1,117 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.comparator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.comparator.CompositeBeanComparator.Direction;
+import io.github.astrapi69.comparator.CompositeBeanComparator.NullPolicy;
+import io.github.astrapi69.compare.object.PropertyMetadataTest.PrimitiveBean;
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link CompositeBeanComparator}.
+ */
+public class CompositeBeanComparatorTest
+{
+
+	/**
+	 * Test method for {@link CompositeBeanComparator#compare(Object, Object)}
+	 */
+	@Test
+	public void testCompare()
+	{
+		List<Person> actual;
+		CompositeBeanComparator<Person> comparator;
+		Person alexOld;
+		Person alexNew;
+		Person alexNull;
+		Person bob;
+		Person nameless;
+
+		alexOld = Person.builder().name("alex").about("old").build();
+		alexNew = Person.builder().name("alex").about("new").build();
+		alexNull = Person.builder().name("alex").build();
+		bob = Person.builder().name("bob").about("old").build();
+		nameless = Person.builder().about("new").build();
+
+		comparator = CompositeBeanComparator.builder(Person.class).ascending("name")
+			.descending("about").build();
+		actual = new ArrayList<>(Arrays.asList(bob, alexNull, alexNew, nameless, alexOld));
+		actual.sort(comparator);
+		assertEquals(Arrays.asList(nameless, alexOld, alexNew, alexNull, bob), actual);
+
+		comparator = CompositeBeanComparator.builder(Person.class)
+			.add("name", Direction.DESCENDING, NullPolicy.NULLS_FIRST)
+			.add("about", Direction.ASCENDING, NullPolicy.NULLS_LAST).build();
+		actual.sort(comparator);
+		assertEquals(Arrays.asList(nameless, bob, alexNew, alexOld, alexNull), actual);
+		assertEquals(Arrays.asList("name DESCENDING NULLS_FIRST", "about ASCENDING NULLS_LAST"),
+			comparator.getSortKeys());
+
+		assertEquals(-1, comparator.compare(null, bob));
+		assertEquals(0, comparator.compare(bob, bob));
+	}
+
+	/**
+	 * Test method for {@link CompositeBeanComparator#compare(Object, Object)} with primitive
+	 * properties
+	 */
+	@Test
+	public void testComparePrimitiveProperties()
+	{
+		CompositeBeanComparator<PrimitiveBean> comparator;
+		PrimitiveBean bean;
+		PrimitiveBean otherBean;
+
+		bean = new PrimitiveBean(1, 2L, 0.5d, 'a', (short)3, true, 1.5f);
+		otherBean = new PrimitiveBean(1, 3L, 0.5d, 'b', (short)3, true, 1.5f);
+		comparator = CompositeBeanComparator.builder(PrimitiveBean.class).ascending("id")
+			.descending("version").ascending("code").build();
+		assertEquals(1, comparator.compare(bean, otherBean));
+		assertEquals(-1, comparator.compare(otherBean, bean));
+
+		comparator = CompositeBeanComparator.builder(PrimitiveBean.class).ascending("id")
+			.ascending("value").descending("code").build();
+		assertEquals(1, comparator.compare(bean, otherBean));
+	}
+
+	/**
+	 * Test method for {@link CompositeBeanComparator.Builder#add(String, Direction, NullPolicy)}
+	 * that throws an IllegalArgumentException
+	 */
+	@Test
+	public void testAddThrowIllegalArgumentException()
+	{
+		IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+			() -> CompositeBeanComparator.builder(Person.class).ascending("foo"));
+		assertEquals("Bean class io.github.astrapi69.test.object.Person has no readable property foo",
+			exception.getMessage());
+	}
+
+}
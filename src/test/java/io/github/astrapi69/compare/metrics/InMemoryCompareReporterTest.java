@@ -0,0 +1,132 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.compare.object.CompareObjectExtensions;
+import io.github.astrapi69.compare.object.ObjectDiff;
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link InMemoryCompareReporter}.
+ */
+public class InMemoryCompareReporterTest
+{
+
+	@AfterEach
+	public void tearDown()
+	{
+		CompareMetrics.removeListener();
+	}
+
+	/**
+	 * Test method for {@link InMemoryCompareReporter} registered over
+	 * {@link CompareMetrics#setListener(CompareListener)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testReport()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		InMemoryCompareReporter.BeanStatistics actual;
+		InMemoryCompareReporter.PropertyStatistics name;
+		final InMemoryCompareReporter reporter = new InMemoryCompareReporter();
+		Person obelix;
+		Person asterix;
+
+		obelix = Person.builder().name("obelix").build();
+		asterix = Person.builder().name("asterix").build();
+		assertFalse(CompareMetrics.isEnabled());
+		CompareMetrics.setListener(reporter);
+		assertTrue(CompareMetrics.isEnabled());
+		assertSame(reporter, CompareMetrics.getListener());
+
+		ObjectDiff.of(obelix, asterix);
+		CompareObjectExtensions.getCompareToResult(obelix, asterix);
+		actual = reporter.getStatistics(Person.class);
+		assertEquals(2, actual.getComparisons());
+		assertTrue(0 < actual.getTotalNanos());
+		assertTrue(2 <= actual.getMetadataHits());
+		assertEquals(0, actual.getExceptions());
+		name = actual.getPropertyStatistics("name");
+		assertEquals(2, name.getComparisons());
+		assertEquals(actual.getPropertyStatistics().size() + 1,
+			reporter.report().split(System.lineSeparator()).length);
+		assertSame(actual, reporter.getStatistics().get(0));
+
+		reporter.reset();
+		assertNull(reporter.getStatistics(Person.class));
+		CompareMetrics.removeListener();
+		ObjectDiff.of(obelix, asterix);
+		assertNull(reporter.getStatistics(Person.class));
+	}
+
+	/**
+	 * Test method for {@link InMemoryCompareReporter#onException(Class, String, Throwable)} and
+	 * {@link InMemoryCompareReporter#onMetadataMiss(Class)}
+	 */
+	@Test
+	public void testOnException()
+	{
+		InMemoryCompareReporter.BeanStatistics actual;
+		final InMemoryCompareReporter reporter = new InMemoryCompareReporter();
+
+		CompareMetrics.setListener(reporter);
+		Assertions.assertThrows(InvocationTargetException.class,
+			() -> ObjectDiff.of(new FailingBean(), new FailingBean()));
+		actual = reporter.getStatistics(FailingBean.class);
+		assertEquals(1, actual.getMetadataMisses());
+		assertEquals(1, actual.getExceptions());
+		assertEquals(1, actual.getPropertyStatistics("value").getExceptions());
+		assertEquals(0, actual.getComparisons());
+	}
+
+	/**
+	 * Bean with a getter that throws an exception
+	 */
+	public static class FailingBean
+	{
+		public String getValue()
+		{
+			throw new IllegalStateException("failed");
+		}
+	}
+
+}
@@ -0,0 +1,93 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.compare.object.ObjectDiff;
+import io.github.astrapi69.test.object.Person;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * The unit test class for the class {@link JfrCompareListener}.
+ */
+public class JfrCompareListenerTest
+{
+
+	@AfterEach
+	public void tearDown()
+	{
+		CompareMetrics.removeListener();
+	}
+
+	/**
+	 * Test method for {@link JfrCompareListener#onBeanComparison(Class, long)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testOnBeanComparison()
+		throws IllegalAccessException, InvocationTargetException, IOException
+	{
+		List<RecordedEvent> actual;
+		final Path file = Files.createTempFile("jfr-compare-listener", ".jfr");
+		try (Recording recording = new Recording())
+		{
+			recording.enable("io.github.astrapi69.compare.BeanComparison");
+			recording.start();
+			CompareMetrics.setListener(new JfrCompareListener());
+			ObjectDiff.of(Person.builder().name("obelix").build(),
+				Person.builder().name("asterix").build());
+			recording.stop();
+			recording.dump(file);
+			actual = RecordingFile.readAllEvents(file).stream()
+				.filter(event -> event.getEventType().getName()
+					.equals("io.github.astrapi69.compare.BeanComparison"))
+				.collect(Collectors.toList());
+		}
+		finally
+		{
+			Files.deleteIfExists(file);
+		}
+		assertEquals(1, actual.size());
+		assertEquals(Person.class.getName(),
+			actual.get(0).getClass("beanClass").getName());
+	}
+
+}
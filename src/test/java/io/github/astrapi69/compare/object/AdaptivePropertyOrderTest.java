@@ -0,0 +1,76 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumtype.Gender;
+
+/**
+ * The unit test class for the class {@link AdaptivePropertyOrder}.
+ */
+public class AdaptivePropertyOrderTest
+{
+
+	/**
+	 * Test that the property that differs most often is moved to the front
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testRecordDifference()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		Person sourceOjbect;
+		Person objectToCompare;
+
+		sourceOjbect = Person.builder().gender(Gender.MALE).name("obelix").nickname("dicker")
+			.build();
+		objectToCompare = Person.builder().gender(Gender.MALE).name("obelix").nickname("dick")
+			.build();
+		for (int i = 0; i < AdaptivePropertyOrder.REORDER_INTERVAL; i++)
+		{
+			assertFalse(CompareObjectExtensions.compare(sourceOjbect, objectToCompare));
+		}
+		assertEquals("nickname", AdaptivePropertyOrder.of(Person.class).getOrder()[0].getName());
+
+		objectToCompare.setNickname("dicker");
+		assertTrue(CompareObjectExtensions.compare(sourceOjbect, objectToCompare));
+		assertTrue(CompareObjectExtensions.compare(sourceOjbect, sourceOjbect));
+		objectToCompare.setGender(Gender.FEMALE);
+		assertFalse(CompareObjectExtensions.compare(sourceOjbect, objectToCompare));
+	}
+
+}
@@ -0,0 +1,300 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.comparator.BeanPropertyComparator;
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumtype.Gender;
+
+/**
+ * The unit test class for the class {@link BeanMetadata}.
+ */
+public class BeanMetadataTest
+{
+
+	/**
+	 * Test method for {@link BeanMetadata#of(Class)}
+	 */
+	@Test
+	public void testOf()
+	{
+		int expected;
+		int actual;
+		BeanMetadata beanMetadata;
+
+		beanMetadata = BeanMetadata.of(Person.class);
+		assertSame(beanMetadata, BeanMetadata.of(Person.class));
+		assertEquals(Person.class, beanMetadata.getBeanClass());
+
+		expected = 5;
+		actual = beanMetadata.size();
+		assertEquals(expected, actual);
+		assertEquals(expected, beanMetadata.getProperties().size());
+		assertNull(beanMetadata.getProperty("class"));
+	}
+
+	/**
+	 * Test method for {@link BeanMetadata#getProperty(String)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testGetProperty() throws IllegalAccessException, InvocationTargetException
+	{
+		PropertyMetadata property;
+		Person person;
+
+		person = Person.builder().gender(Gender.MALE).name("obelix").build();
+		property = BeanMetadata.of(Person.class).getProperty("name");
+		assertEquals("name", property.getName());
+		assertEquals(String.class, property.getType());
+		assertEquals("obelix", property.getValue(person));
+		assertSame(property, BeanMetadata.of(Person.class).getProperty(property.getOrdinal()));
+
+		property = BeanMetadata.of(Person.class).getProperty("gender");
+		assertEquals(Gender.class, property.getType());
+		assertEquals(Gender.MALE, property.getValue(person));
+
+		assertNull(BeanMetadata.of(Person.class).getProperty("foo"));
+	}
+
+	/**
+	 * Test that a whole object comparison calls every getter only once per object
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testGetterCallsPerComparison()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		int expected;
+		int actual;
+		CountingBean source;
+		CountingBean other;
+
+		source = new CountingBean();
+		other = new CountingBean();
+		CompareObjectExtensions.getCompareToResult(source, other);
+		expected = 1;
+		actual = source.nameCalls;
+		assertEquals(expected, actual);
+		actual = other.nameCalls;
+		assertEquals(expected, actual);
+		actual = source.ageCalls;
+		assertEquals(expected, actual);
+		actual = other.ageCalls;
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Test method for {@link BeanMetadata#of(Class)} with a value class that has no JavaBean
+	 * getters
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testOfValueClass()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		BeanMetadata beanMetadata;
+		Point point;
+		Point otherPoint;
+
+		beanMetadata = BeanMetadata.of(Point.class);
+		assertEquals(Arrays.asList("label", "x", "y"), beanMetadata.getPropertyNames());
+		point = new Point(1, 2, "a");
+		otherPoint = new Point(1, 3, "a");
+		assertEquals(Integer.valueOf(1), beanMetadata.getProperty("x").getValue(point));
+		assertEquals(Integer.valueOf(2), beanMetadata.getProperty("y").getValue(point));
+		assertEquals("a", beanMetadata.getProperty("label").getValue(point));
+
+		assertFalse(CompareObjectExtensions.compare(point, otherPoint));
+		assertEquals(-1, ObjectDiff.of(point, otherPoint).getResult("y"));
+		assertTrue(new BeanPropertyComparator<Point>("y").compare(point, otherPoint) < 0);
+	}
+
+	/**
+	 * Test method for {@link BeanMetadata#of(Class)} with records. The records are compiled at
+	 * runtime because the source level of the tests does not support records, so the test is
+	 * skipped if the runtime does not support records
+	 *
+	 * @throws Exception
+	 *             if the records can not be compiled or loaded
+	 */
+	@Test
+	public void testOfRecord() throws Exception
+	{
+		BeanMetadata beanMetadata;
+		Object point;
+		Object otherPoint;
+		Object secret;
+		Object otherSecret;
+
+		Assumptions.assumeTrue(Runtime.version().feature() >= 16);
+		beanMetadata = BeanMetadata.of(Class.forName("jdk.net.UnixDomainPrincipal"));
+		assertEquals(Arrays.asList("group", "user"), beanMetadata.getPropertyNames());
+
+		final Path directory = Files.createTempDirectory("records");
+		try
+		{
+			final Path source = directory.resolve("Records.java");
+			Files.write(source, Arrays.asList("package records;",
+				"record Point(int x, String label) {}", "public final class Records {",
+				"  private record Secret(long id, String name) {}",
+				"  public static Object point(int x, String label) {",
+				"    return new Point(x, label); }",
+				"  public static Object secret(long id, String name) {",
+				"    return new Secret(id, name); } }"));
+			assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null, "-d",
+				directory.toString(), source.toString()));
+			try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { directory.toUri().toURL() }, getClass().getClassLoader()))
+			{
+				final Class<?> records = classLoader.loadClass("records.Records");
+				point = records.getMethod("point", int.class, String.class).invoke(null, 1, "a");
+				otherPoint = records.getMethod("point", int.class, String.class).invoke(null, 2,
+					"a");
+				secret = records.getMethod("secret", long.class, String.class).invoke(null, 7L,
+					"obelix");
+				otherSecret = records.getMethod("secret", long.class, String.class).invoke(null,
+					7L, "obelix");
+
+				beanMetadata = BeanMetadata.of(point.getClass());
+				assertEquals(Arrays.asList("label", "x"), beanMetadata.getPropertyNames());
+				assertEquals(Integer.valueOf(1), beanMetadata.getProperty("x").getValue(point));
+				assertEquals("a", beanMetadata.getProperty("label").getValue(point));
+				assertFalse(CompareObjectExtensions.compare(point, otherPoint));
+				assertTrue(CompareObjectExtensions.compare(point, point));
+				assertEquals(-1, ObjectDiff.of(point, otherPoint).getResult("x"));
+				assertEquals(0, ObjectDiff.of(point, otherPoint).getResult("label"));
+				assertTrue(new BeanPropertyComparator<>("x").compare(point, otherPoint) < 0);
+
+				beanMetadata = BeanMetadata.of(secret.getClass());
+				assertEquals(Arrays.asList("id", "name"), beanMetadata.getPropertyNames());
+				assertEquals(Long.valueOf(7), beanMetadata.getProperty("id").getValue(secret));
+				assertTrue(CompareObjectExtensions.compare(secret, otherSecret));
+				otherSecret = records.getMethod("secret", long.class, String.class).invoke(null,
+					7L, "asterix");
+				assertFalse(CompareObjectExtensions.compare(secret, otherSecret));
+				assertTrue(ObjectDiff.of(secret, otherSecret).getResult("name") > 0);
+				assertTrue(
+					new BeanPropertyComparator<>("name").compare(secret, otherSecret) > 0);
+			}
+		}
+		finally
+		{
+			try (Stream<Path> files = Files.walk(directory))
+			{
+				for (final Path file : files.sorted(Comparator.reverseOrder())
+					.collect(Collectors.toList()))
+				{
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Bean that counts the calls of its getters
+	 */
+	public static class CountingBean
+	{
+		int ageCalls;
+
+		int nameCalls;
+
+		public int getAge()
+		{
+			ageCalls++;
+			return 42;
+		}
+
+		public String getName()
+		{
+			nameCalls++;
+			return "obelix";
+		}
+	}
+
+	/**
+	 * Value class with an accessor method and public final fields
+	 */
+	public static class Point
+	{
+		private final int x;
+
+		public final int y;
+
+		public final String label;
+
+		public Point(final int x, final int y, final String label)
+		{
+			this.x = x;
+			this.y = y;
+			this.label = label;
+		}
+
+		public int x()
+		{
+			return x;
+		}
+	}
+
+}
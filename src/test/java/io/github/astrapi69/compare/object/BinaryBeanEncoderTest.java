@@ -0,0 +1,382 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumtype.Gender;
+
+/**
+ * The unit test class for the class {@link BinaryBeanEncoder}.
+ */
+public class BinaryBeanEncoderTest
+{
+
+	/** The values of the reference properties with edge cases of the order. */
+	private static final Object[][] VALUES = { { null, -128, 0, 5, 127 },
+			{ null, Short.MIN_VALUE, -1, 0, Short.MAX_VALUE },
+			{ null, '\u0000', 'a', '\uffff' },
+			{ null, Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE },
+			{ null, Long.MIN_VALUE, -1L, 0L, Long.MAX_VALUE },
+			{ null, Float.NEGATIVE_INFINITY, -1.5f, -0f, 0f, 2.5f, Float.NaN },
+			{ null, -Double.MAX_VALUE, -1.5, -0d, 0d, Double.MIN_VALUE, 2.5, Double.NaN },
+			{ null, false, true },
+			{ null, LocalDate.ofEpochDay(-3), LocalDate.ofEpochDay(0), LocalDate.ofEpochDay(9) },
+			{ null, Gender.FEMALE, Gender.MALE, Gender.UNDEFINED },
+			{ null, "", "\u0000", "\u0000a", "a", "a\u0000", "ab", "b", "\ud83d\ude00",
+					"\uffff" },
+			{ null, new byte[0], new byte[] { -128 }, new byte[] { -1, 0 }, new byte[] { 0 },
+					new byte[] { 0, 0 }, new byte[] { 0, 1 }, new byte[] { 127 } },
+			{ null, new BigDecimal("-1000"), new BigDecimal("-1.55"), new BigDecimal("-1.5"),
+					new BigDecimal("-1.50"), new BigDecimal("-1.05"), new BigDecimal("-0.001"),
+					BigDecimal.ZERO,
+					new BigDecimal("0.000"), new BigDecimal("0.15"), new BigDecimal("1.5"),
+					new BigDecimal("1.55"), new BigDecimal("15"), new BigDecimal("1E+2") } };
+
+	/** The names of the properties in the order of the values. */
+	private static final List<String> NAMES = Arrays.asList("byteValue", "shortValue",
+		"charValue", "intValue", "longValue", "floatValue", "doubleValue", "booleanValue",
+		"date", "gender", "name", "bytes", "amount");
+
+	private static Item newItem(final Random random)
+	{
+		final Item item = new Item();
+		item.primitiveInt = random.nextInt(3) - 1;
+		item.primitiveDouble = (random.nextInt(5) - 2) / 2d;
+		item.primitiveBoolean = random.nextBoolean();
+		item.primitiveChar = (char)random.nextInt(3);
+		item.primitiveLong = random.nextInt(3) - 1L;
+		final Object[] values = new Object[VALUES.length];
+		for (int index = 0; index < values.length; index++)
+		{
+			values[index] = VALUES[index][random.nextInt(VALUES[index].length)];
+		}
+		item.byteValue = values[0] == null ? null : ((Number)values[0]).byteValue();
+		item.shortValue = values[1] == null ? null : ((Number)values[1]).shortValue();
+		item.charValue = (Character)values[2];
+		item.intValue = (Integer)values[3];
+		item.longValue = (Long)values[4];
+		item.floatValue = (Float)values[5];
+		item.doubleValue = (Double)values[6];
+		item.booleanValue = (Boolean)values[7];
+		item.date = (LocalDate)values[8];
+		item.gender = (Gender)values[9];
+		item.name = (String)values[10];
+		item.bytes = (byte[])values[11];
+		item.amount = (BigDecimal)values[12];
+		return item;
+	}
+
+	/**
+	 * Test method for {@link BinaryBeanEncoder#compare(byte[], byte[])} that is consistent with
+	 * {@link CompareObjectExtensions#compareInOrder(Object, Object, String...)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCompare() throws IllegalAccessException, InvocationTargetException
+	{
+		BinaryBeanEncoder<Item> encoder;
+		List<String> properties;
+		Random random;
+		int expected;
+		int actual;
+
+		random = new Random(7);
+		for (int index = 0; index < VALUES.length; index++)
+		{
+			properties = Collections.singletonList(NAMES.get(index));
+			encoder = BinaryBeanEncoder.of(Item.class, properties);
+			for (int count = 0; count < 300; count++)
+			{
+				final Item item = newItem(random);
+				final Item otherItem = newItem(random);
+				expected = Integer.signum(CompareObjectExtensions.compareInOrder(item, otherItem,
+					properties.toArray(new String[0])));
+				actual = Integer.signum(
+					BinaryBeanEncoder.compare(encoder.encode(item), encoder.encode(otherItem)));
+				assertEquals(expected, actual);
+			}
+		}
+
+		encoder = BinaryBeanEncoder.of(Item.class);
+		properties = encoder.getPropertyNames();
+		for (int count = 0; count < 3000; count++)
+		{
+			final Item item = newItem(random);
+			final Item otherItem = newItem(random);
+			final byte[] encoded = encoder.encode(item);
+			final byte[] otherEncoded = encoder.encode(otherItem);
+			expected = Integer.signum(CompareObjectExtensions.compareInOrder(item, otherItem,
+				properties.toArray(new String[0])));
+			actual = Integer.signum(BinaryBeanEncoder.compare(encoded, otherEncoded));
+			assertEquals(expected, actual);
+			assertEquals(expected, Integer.signum(BinaryBeanEncoder
+				.compare(ByteBuffer.wrap(encoded), ByteBuffer.wrap(otherEncoded))));
+			assertEquals(expected == 0, BinaryBeanEncoder.isEqual(encoded, otherEncoded));
+			assertEquals(expected == 0, BinaryBeanEncoder.isEqual(ByteBuffer.wrap(encoded),
+				ByteBuffer.wrap(otherEncoded)));
+		}
+	}
+
+	/**
+	 * Test method for {@link BinaryBeanEncoder#compare(ByteBuffer, ByteBuffer)} with buffers that
+	 * hold more than one encoded bean
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCompareByteBuffer() throws IllegalAccessException, InvocationTargetException
+	{
+		BinaryBeanEncoder<Item> encoder;
+		ByteBuffer buffer;
+		ByteBuffer otherBuffer;
+		byte[] encoded;
+		byte[] otherEncoded;
+		Item item;
+		Item otherItem;
+
+		encoder = BinaryBeanEncoder.of(Item.class, Arrays.asList("name", "amount"));
+		item = new Item();
+		item.name = "asterix";
+		item.amount = new BigDecimal("1.50");
+		otherItem = new Item();
+		otherItem.name = "asterix";
+		otherItem.amount = new BigDecimal("1.5");
+		encoded = encoder.encode(item);
+		otherEncoded = encoder.encode(otherItem);
+
+		buffer = ByteBuffer.allocateDirect(encoded.length * 2);
+		buffer.put(encoded).put(encoded).flip();
+		otherBuffer = ByteBuffer.allocate(otherEncoded.length + 3);
+		otherBuffer.position(3);
+		otherBuffer.put(otherEncoded).position(3);
+		buffer.limit(encoded.length);
+		assertTrue(BinaryBeanEncoder.isEqual(buffer, otherBuffer));
+		assertEquals(0, BinaryBeanEncoder.compare(buffer, otherBuffer));
+		assertEquals(0, buffer.position());
+		assertEquals(3, otherBuffer.position());
+
+		otherItem.name = "obelix";
+		otherBuffer = ByteBuffer.wrap(encoder.encode(otherItem));
+		assertFalse(BinaryBeanEncoder.isEqual(buffer, otherBuffer));
+		assertTrue(BinaryBeanEncoder.compare(buffer, otherBuffer) < 0);
+		assertTrue(BinaryBeanEncoder.compare(otherBuffer, buffer) > 0);
+
+		buffer.limit(encoded.length * 2);
+		assertTrue(BinaryBeanEncoder.compare(buffer, ByteBuffer.wrap(encoded)) > 0);
+	}
+
+	/**
+	 * Test method for {@link BinaryBeanEncoder#of(Class)} and
+	 * {@link BinaryBeanEncoder#of(Class, java.util.Collection)}
+	 */
+	@Test
+	public void testOf()
+	{
+		List<String> expected;
+		List<String> actual;
+		IllegalArgumentException exception;
+
+		expected = new ArrayList<>(NAMES);
+		expected.addAll(Arrays.asList("primitiveBoolean", "primitiveChar", "primitiveDouble",
+			"primitiveInt", "primitiveLong"));
+		Collections.sort(expected);
+		actual = BinaryBeanEncoder.of(Item.class).getPropertyNames();
+		assertEquals(expected, actual);
+		assertSame(BinaryBeanEncoder.of(Item.class), BinaryBeanEncoder.of(Item.class));
+		assertEquals(Item.class, BinaryBeanEncoder.of(Item.class).getBeanClass());
+
+		exception = Assertions.assertThrows(IllegalArgumentException.class,
+			() -> BinaryBeanEncoder.of(Item.class, Arrays.asList("tags")));
+		assertEquals("Property tags of bean class " + Item.class.getName()
+			+ " can not be encoded", exception.getMessage());
+		Assertions.assertThrows(IllegalArgumentException.class,
+			() -> BinaryBeanEncoder.of(Item.class, Arrays.asList("foo")));
+		Assertions.assertThrows(IllegalArgumentException.class,
+			() -> BinaryBeanEncoder.of(Person.class).encode(null));
+	}
+
+	/**
+	 * Bean with properties of all encodable types and a collection valued property
+	 */
+	public static class Item
+	{
+		private int primitiveInt;
+
+		private double primitiveDouble;
+
+		private boolean primitiveBoolean;
+
+		private char primitiveChar;
+
+		private long primitiveLong;
+
+		private Byte byteValue;
+
+		private Short shortValue;
+
+		private Character charValue;
+
+		private Integer intValue;
+
+		private Long longValue;
+
+		private Float floatValue;
+
+		private Double doubleValue;
+
+		private Boolean booleanValue;
+
+		private LocalDate date;
+
+		private Gender gender;
+
+		private String name;
+
+		private byte[] bytes;
+
+		private BigDecimal amount;
+
+		private List<String> tags;
+
+		public int getPrimitiveInt()
+		{
+			return primitiveInt;
+		}
+
+		public double getPrimitiveDouble()
+		{
+			return primitiveDouble;
+		}
+
+		public boolean isPrimitiveBoolean()
+		{
+			return primitiveBoolean;
+		}
+
+		public char getPrimitiveChar()
+		{
+			return primitiveChar;
+		}
+
+		public long getPrimitiveLong()
+		{
+			return primitiveLong;
+		}
+
+		public Byte getByteValue()
+		{
+			return byteValue;
+		}
+
+		public Short getShortValue()
+		{
+			return shortValue;
+		}
+
+		public Character getCharValue()
+		{
+			return charValue;
+		}
+
+		public Integer getIntValue()
+		{
+			return intValue;
+		}
+
+		public Long getLongValue()
+		{
+			return longValue;
+		}
+
+		public Float getFloatValue()
+		{
+			return floatValue;
+		}
+
+		public Double getDoubleValue()
+		{
+			return doubleValue;
+		}
+
+		public Boolean getBooleanValue()
+		{
+			return booleanValue;
+		}
+
+		public LocalDate getDate()
+		{
+			return date;
+		}
+
+		public Gender getGender()
+		{
+			return gender;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public byte[] getBytes()
+		{
+			return bytes;
+		}
+
+		public BigDecimal getAmount()
+		{
+			return amount;
+		}
+
+		public List<String> getTags()
+		{
+			return tags;
+		}
+	}
+
+}
@@ -0,0 +1,128 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link BulkCompareExtensions}.
+ */
+public class BulkCompareExtensionsTest
+{
+
+	/**
+	 * Test method for {@link BulkCompareExtensions#getObjectDiffs(List, List, ForkJoinPool)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testGetObjectDiffs() throws IllegalAccessException, InvocationTargetException
+	{
+		List<ObjectDiff> actual;
+		final List<Person> persons = new ArrayList<>();
+		final List<Person> otherPersons = new LinkedList<>();
+		final int size = 10000;
+		final ForkJoinPool pool = new ForkJoinPool(4);
+
+		for (int i = 0; i < size; i++)
+		{
+			persons.add(Person.builder().name("name" + i).about("about").build());
+			otherPersons.add(Person.builder().name("name" + i)
+				.about(i % 3 == 0 ? "other" : "about").build());
+		}
+		try
+		{
+			actual = BulkCompareExtensions.getObjectDiffs(persons, otherPersons, pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		assertEquals(size, actual.size());
+		for (int i = 0; i < size; i++)
+		{
+			assertSame(persons.get(i), actual.get(i).getSourceObject());
+			assertEquals(i % 3 != 0, actual.get(i).isEqual());
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link BulkCompareExtensions#getObjectDiffs(java.util.Spliterator, java.util.Spliterator)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testGetObjectDiffsWithSpliterators()
+		throws IllegalAccessException, InvocationTargetException
+	{
+		List<ObjectDiff> actual;
+		final List<Person> persons = Arrays.asList(Person.builder().name("alex").build(),
+			Person.builder().name("anna").build());
+		final List<Person> otherPersons = Arrays.asList(Person.builder().name("alex").build(),
+			Person.builder().name("bob").build());
+
+		actual = BulkCompareExtensions.getObjectDiffs(persons.spliterator(),
+			otherPersons.stream().filter(person -> true).spliterator());
+		assertEquals(2, actual.size());
+		assertTrue(actual.get(0).isEqual());
+		assertFalse(actual.get(1).isEqual());
+		assertEquals(-1, actual.get(1).getResult("name"));
+	}
+
+	/**
+	 * Test method for {@link BulkCompareExtensions#getObjectDiffs(List, List)} that throws an
+	 * IllegalArgumentException
+	 */
+	@Test
+	public void testGetObjectDiffsThrowIllegalArgumentException()
+	{
+		IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+			() -> BulkCompareExtensions.getObjectDiffs(Arrays.asList("foo"), Arrays.asList()));
+		assertEquals("Lists should have the same size.", exception.getMessage());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> BulkCompareExtensions
+			.getObjectDiffs(Arrays.asList(Person.builder().build()), Arrays.asList("foo")));
+	}
+
+}
@@ -0,0 +1,173 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link CollectionDiff}.
+ */
+public class CollectionDiffTest
+{
+
+	/**
+	 * Test method for {@link CollectionDiff#of(java.util.Collection, java.util.Collection)} with
+	 * lists
+	 */
+	@Test
+	public void testOfLists()
+	{
+		CollectionDiff<String> actual;
+
+		actual = CollectionDiff.of(Arrays.asList("a", "b", "c", "a", "b", "b", "a"),
+			Arrays.asList("c", "b", "a", "b", "a", "c"));
+		// the longest common subsequence has 4 elements
+		assertEquals(2, actual.getAdded().size());
+		assertEquals(3, actual.getRemoved().size());
+		assertTrue(actual.getChanged().isEmpty());
+		assertFalse(actual.isEqual());
+
+		actual = CollectionDiff.of(Arrays.asList("a", "b"), Arrays.asList("b", "a"));
+		assertEquals(Arrays.asList("a"), actual.getAdded());
+		assertEquals(Arrays.asList("a"), actual.getRemoved());
+
+		actual = CollectionDiff.of(Arrays.asList("a", "b"), new ArrayList<>(Arrays.asList("a", "b")));
+		assertTrue(actual.isEqual());
+
+		actual = CollectionDiff.of(Collections.emptyList(), Arrays.asList("a", "b"));
+		assertEquals(Arrays.asList("a", "b"), actual.getAdded());
+		assertTrue(actual.getRemoved().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link CollectionDiff#of(java.util.Collection, java.util.Collection)} with
+	 * unordered collections
+	 */
+	@Test
+	public void testOfUnordered()
+	{
+		CollectionDiff<String> actual;
+
+		actual = CollectionDiff.of(new HashSet<>(Arrays.asList("a", "b", "c")),
+			new HashSet<>(Arrays.asList("c", "d", "a")));
+		assertEquals(Arrays.asList("d"), actual.getAdded());
+		assertEquals(Arrays.asList("b"), actual.getRemoved());
+		assertTrue(actual.getChanged().isEmpty());
+
+		actual = CollectionDiff.of(new HashSet<>(Arrays.asList("a", "b")),
+			Arrays.asList("b", "a"));
+		assertTrue(actual.isEqual());
+	}
+
+	/**
+	 * Test method for
+	 * {@link CollectionDiff#of(java.util.Collection, java.util.Collection, java.util.function.Function)}
+	 */
+	@Test
+	public void testOfWithKeyExtractor()
+	{
+		CollectionDiff<Person> actual;
+		Person alex;
+		Person otherAlex;
+		Person anna;
+		Person bob;
+
+		alex = Person.builder().name("alex").about("old").build();
+		otherAlex = Person.builder().name("alex").about("new").build();
+		anna = Person.builder().name("anna").build();
+		bob = Person.builder().name("bob").build();
+
+		actual = CollectionDiff.of(Arrays.asList(alex, anna), Arrays.asList(otherAlex, bob),
+			Person::getName);
+		assertEquals(Arrays.asList(bob), actual.getAdded());
+		assertEquals(Arrays.asList(anna), actual.getRemoved());
+		assertEquals(1, actual.getChanged().size());
+		assertEquals(alex, actual.getChanged().get(0).getSource());
+		assertEquals(otherAlex, actual.getChanged().get(0).getOther());
+
+		actual = CollectionDiff.of(new HashSet<>(Arrays.asList(alex, anna)),
+			new HashSet<>(Arrays.asList(otherAlex, bob)), Person::getName);
+		assertEquals(Arrays.asList(bob), actual.getAdded());
+		assertEquals(Arrays.asList(anna), actual.getRemoved());
+		assertEquals(1, actual.getChanged().size());
+	}
+
+	/**
+	 * Test method for {@link CollectionDiff#of(java.util.Collection, java.util.Collection)} with
+	 * large lists
+	 */
+	@Test
+	public void testOfLargeLists()
+	{
+		final List<Integer> source = new ArrayList<>();
+		final List<Integer> other = new ArrayList<>();
+		final int size = 10000;
+		for (int i = 0; i < size; i++)
+		{
+			source.add(i);
+			if (i % 100 != 0)
+			{
+				other.add(i);
+			}
+			if (i % 1000 == 0)
+			{
+				other.add(-i - 1);
+			}
+		}
+		final CollectionDiff<Integer> actual = assertTimeoutPreemptively(Duration.ofSeconds(5),
+			() -> CollectionDiff.of(source, other));
+		assertEquals(10, actual.getAdded().size());
+		assertEquals(100, actual.getRemoved().size());
+
+		Collections.reverse(other);
+		final CollectionDiff<Integer> reversed = assertTimeoutPreemptively(Duration.ofSeconds(5),
+			() -> CollectionDiff.of(source, other));
+		assertEquals(source.size() - 1, reversed.getRemoved().size());
+	}
+
+	/**
+	 * Test method for {@link CollectionDiff#of(java.util.Collection, java.util.Collection)} that
+	 * throws an IllegalArgumentException
+	 */
+	@Test
+	public void testOfThrowIllegalArgumentException()
+	{
+		IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+			() -> CollectionDiff.of(null, Collections.emptyList()));
+		assertEquals("Collections should not be null.", exception.getMessage());
+	}
+
+}
@@ -195,6 +195,65 @@ public class CompareObjectExtensionsTest
 		assertEquals(expected, actual);
 	}
 
+	/**
+	 * Test method for {@link CompareObjectExtensions#compareInOrder(Object, Object)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testCompareInOrder()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		int expected;
+		int actual;
+		Permission sourceOjbect;
+		Permission objectToCompare;
+
+		sourceOjbect = Permission.builder().name("read").description("Permission for read files")
+			.build();
+		objectToCompare = Permission.builder().name("read").description("Permission for read files")
+			.build();
+		expected = 0;
+		actual = CompareObjectExtensions.compareInOrder(sourceOjbect, objectToCompare);
+		assertEquals(expected, actual);
+		// the sum of 'description' and 'name' would be 0
+		sourceOjbect.setName("m");
+		sourceOjbect.setDescription("Permission for write files");
+		objectToCompare.setName("r");
+		expected = 5;
+		actual = CompareObjectExtensions.compareInOrder(sourceOjbect, objectToCompare);
+		assertEquals(expected, actual);
+		expected = 0;
+		actual = CompareObjectExtensions.compareTo(sourceOjbect, objectToCompare);
+		assertEquals(expected, actual);
+
+		expected = -5;
+		actual = CompareObjectExtensions.compareInOrder(sourceOjbect, objectToCompare, "name",
+			"description");
+		assertEquals(expected, actual);
+
+		expected = 1;
+		actual = CompareObjectExtensions.compareInOrder(sourceOjbect, null);
+		assertEquals(expected, actual);
+
+		IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+			() -> CompareObjectExtensions.compareInOrder(objectToCompare, "foo", "name"));
+		assertEquals("Object should be the same type.", exception.getMessage());
+
+		exception = Assertions.assertThrows(IllegalArgumentException.class,
+			() -> CompareObjectExtensions.compareInOrder(sourceOjbect, objectToCompare, "name",
+				"foo"));
+		assertEquals("Bean class " + Permission.class.getName() + " has no readable property foo",
+			exception.getMessage());
+	}
+
 	/**
 	 * Test method for {@link CompareObjectExtensions#compareTo(Object, Object, String)}.
 	 *
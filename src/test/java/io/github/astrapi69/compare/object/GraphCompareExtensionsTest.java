@@ -0,0 +1,211 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link GraphCompareExtensions}.
+ */
+public class GraphCompareExtensionsTest
+{
+
+	/**
+	 * Test method for {@link GraphCompareExtensions#compare(Object, Object)} with nested beans,
+	 * collections, maps and arrays
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCompare() throws IllegalAccessException, InvocationTargetException
+	{
+		Node node;
+		Node otherNode;
+
+		node = new Node("root");
+		node.getChildren().add(new Node("child"));
+		node.getAttributes().put("weight", new BigDecimal("1.0"));
+		node.setValues(new Node[] { new Node("value") });
+		otherNode = new Node("root");
+		otherNode.getChildren().add(new Node("child"));
+		otherNode.getAttributes().put("weight", new BigDecimal("1.00"));
+		otherNode.setValues(new Node[] { new Node("value") });
+
+		assertTrue(GraphCompareExtensions.compare(node, otherNode));
+
+		otherNode.getChildren().get(0).setName("other child");
+		assertFalse(GraphCompareExtensions.compare(node, otherNode));
+		otherNode.getChildren().get(0).setName("child");
+		otherNode.getValues()[0].setName("other value");
+		assertFalse(GraphCompareExtensions.compare(node, otherNode));
+		otherNode.getValues()[0].setName("value");
+		otherNode.getAttributes().put("weight", new BigDecimal("2"));
+		assertFalse(GraphCompareExtensions.compare(node, otherNode));
+
+		assertTrue(GraphCompareExtensions.compare(Arrays.asList(1, 2),
+			new LinkedList<>(Arrays.asList(1, 2))));
+		assertTrue(GraphCompareExtensions.compare(new int[] { 1, 2 }, new int[] { 1, 2 }));
+		assertFalse(GraphCompareExtensions.compare(new int[] { 1, 2 }, new int[] { 2, 1 }));
+		assertFalse(GraphCompareExtensions.compare(node, null));
+	}
+
+	/**
+	 * Test method for {@link GraphCompareExtensions#compare(Object, Object)} with cycles
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCompareWithCycles() throws IllegalAccessException, InvocationTargetException
+	{
+		Node node;
+		Node otherNode;
+
+		node = new Node("root");
+		node.getChildren().add(new Node("child"));
+		node.getChildren().get(0).setParent(node);
+		otherNode = new Node("root");
+		otherNode.getChildren().add(new Node("child"));
+		otherNode.getChildren().get(0).setParent(otherNode);
+
+		assertTrue(GraphCompareExtensions.compare(node, otherNode));
+
+		otherNode.getChildren().get(0).getChildren().add(new Node("grandchild"));
+		assertFalse(GraphCompareExtensions.compare(node, otherNode));
+	}
+
+	/**
+	 * Test that shared sub graphs are compared only once
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCompareWithSharedSubGraphs()
+		throws IllegalAccessException, InvocationTargetException
+	{
+		Node node;
+		Node otherNode;
+		Node shared;
+		Node otherShared;
+		final int depth = 40;
+
+		shared = new Node("leaf");
+		otherShared = new Node("leaf");
+		for (int i = 0; i < depth; i++)
+		{
+			node = new Node("level");
+			node.getChildren().add(shared);
+			node.getChildren().add(shared);
+			shared = node;
+			otherNode = new Node("level");
+			otherNode.getChildren().add(otherShared);
+			otherNode.getChildren().add(otherShared);
+			otherShared = otherNode;
+		}
+		// without memoization this would need 2^40 comparisons
+		assertTrue(GraphCompareExtensions.compare(shared, otherShared));
+	}
+
+	/**
+	 * Bean with nested beans, collections, maps and arrays
+	 */
+	public static class Node
+	{
+		private final Map<String, Object> attributes = new HashMap<>();
+
+		private final List<Node> children = new ArrayList<>();
+
+		private String name;
+
+		private Node parent;
+
+		private Node[] values;
+
+		public Node(final String name)
+		{
+			this.name = name;
+		}
+
+		public Map<String, Object> getAttributes()
+		{
+			return attributes;
+		}
+
+		public List<Node> getChildren()
+		{
+			return children;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public void setName(final String name)
+		{
+			this.name = name;
+		}
+
+		public Node getParent()
+		{
+			return parent;
+		}
+
+		public void setParent(final Node parent)
+		{
+			this.parent = parent;
+		}
+
+		public Node[] getValues()
+		{
+			return values;
+		}
+
+		public void setValues(final Node[] values)
+		{
+			this.values = values;
+		}
+	}
+
+}
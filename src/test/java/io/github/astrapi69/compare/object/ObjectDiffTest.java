@@ -0,0 +1,300 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumtype.Gender;
+
+/**
+ * The unit test class for the class {@link ObjectDiff}.
+ */
+public class ObjectDiffTest
+{
+
+	/**
+	 * Test method for {@link ObjectDiff#of(Object, Object)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testOf()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		ObjectDiff objectDiff;
+		Person obelix;
+		Person asterix;
+		List<String> changed;
+
+		obelix = Person.builder().gender(Gender.MALE).name("obelix").nickname("dicker").build();
+		asterix = Person.builder().gender(Gender.MALE).name("asterix").build();
+		objectDiff = ObjectDiff.of(asterix, obelix);
+
+		assertFalse(objectDiff.isEqual());
+		assertEquals(2, objectDiff.getChangedCount());
+		assertEquals(-14, objectDiff.getResult("name"));
+		assertEquals(-1, objectDiff.getResult("nickname"));
+		assertEquals(0, objectDiff.getResult("gender"));
+
+		changed = new ArrayList<>();
+		for (final PropertyMetadata property : objectDiff.getChangedProperties())
+		{
+			changed.add(property.getName());
+		}
+		assertEquals(Arrays.asList("name", "nickname"), changed);
+
+		assertEquals("asterix", objectDiff.getSourceValue("name"));
+		assertEquals("obelix", objectDiff.getValueToCompare("name"));
+		assertNull(objectDiff.getSourceValue("nickname"));
+
+		Assertions.assertThrows(IllegalArgumentException.class,
+			() -> objectDiff.getResult("foo"));
+
+		assertTrue(ObjectDiff.of(asterix, asterix).isEqual());
+		assertFalse(ObjectDiff.of(asterix, asterix).getChangedProperties().iterator().hasNext());
+	}
+
+	/**
+	 * Test method for {@link ObjectDiff#toMap()}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testToMap()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		Map<String, Integer> expected;
+		Map<String, Integer> actual;
+		Person obelix;
+		Person asterix;
+
+		obelix = Person.builder().gender(Gender.MALE).name("obelix").build();
+		asterix = Person.builder().gender(Gender.FEMALE).name("asterix").about("foo").build();
+
+		expected = CompareObjectExtensions.getCompareToResult(asterix, obelix);
+		actual = ObjectDiff.of(asterix, obelix).toMap();
+		assertEquals(expected, actual);
+		assertEquals(actual, expected);
+		assertEquals(expected.hashCode(), actual.hashCode());
+		assertTrue(actual.containsKey("about"));
+		assertNull(actual.get("foo"));
+		Assertions.assertThrows(UnsupportedOperationException.class,
+			() -> actual.put("foo", 1));
+	}
+
+	/**
+	 * Test method for {@link ObjectDiff#of(Object, Object)} that throws an
+	 * IllegalArgumentException
+	 */
+	@Test
+	public void testOfThrowIllegalArgumentException()
+	{
+		IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+			() -> ObjectDiff.of(Person.builder().build(), "foo"));
+		assertEquals("Object should not be null and be the same type.", exception.getMessage());
+	}
+
+	/**
+	 * Test method for {@link ObjectDiff#getCollectionDiff(String)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testGetCollectionDiff() throws IllegalAccessException, InvocationTargetException
+	{
+		ObjectDiff actual;
+		CollectionDiff<Object> collectionDiff;
+		Order order;
+		Order otherOrder;
+
+		order = new Order(Arrays.asList("apple", "pear", "plum"));
+		otherOrder = new Order(Arrays.asList("apple", "plum", "cherry"));
+
+		actual = ObjectDiff.of(order, otherOrder);
+		assertEquals("pear".compareTo("plum"), actual.getResult("lines"));
+		assertEquals("plum".compareTo("pear"),
+			ObjectDiff.of(otherOrder, order).getResult("lines"));
+		collectionDiff = actual.getCollectionDiff("lines");
+		assertEquals(Arrays.asList("cherry"), collectionDiff.getAdded());
+		assertEquals(Arrays.asList("pear"), collectionDiff.getRemoved());
+
+		otherOrder = new Order(new ArrayList<>(order.getLines()));
+		actual = ObjectDiff.of(order, otherOrder);
+		assertTrue(actual.isEqual());
+		assertTrue(actual.getCollectionDiff("lines").isEqual());
+
+		otherOrder = new Order(null);
+		actual = ObjectDiff.of(order, otherOrder);
+		assertNull(actual.getCollectionDiff("lines"));
+	}
+
+	/**
+	 * Test method for {@link ObjectDiff#ofDirty(Object, DirtyTrackable)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testOfDirty() throws IllegalAccessException, InvocationTargetException
+	{
+		ObjectDiff actual;
+		Account baseline;
+		Account account;
+
+		baseline = new Account("alex", 10, "berlin");
+		account = new Account("alex", 10, "berlin");
+		account.clearDirtyProperties();
+		Account.getterCalls = 0;
+
+		actual = ObjectDiff.ofDirty(baseline, account);
+		assertTrue(actual.isEqual());
+		assertEquals(0, Account.getterCalls);
+
+		account.setBalance(25);
+		account.setName("alex");
+		assertEquals(2, account.dirtyProperties().size());
+		actual = ObjectDiff.ofDirty(baseline, account);
+		assertFalse(actual.isEqual());
+		assertEquals(1, actual.getChangedCount());
+		assertEquals(-1, actual.getResult("balance"));
+		assertEquals(0, actual.getResult("name"));
+		assertEquals(0, actual.getResult("city"));
+		assertEquals(4, Account.getterCalls);
+		assertEquals(ObjectDiff.of(baseline, account).toMap(), actual.toMap());
+
+		account.clearDirtyProperties();
+		assertTrue(account.dirtyProperties().isEmpty());
+		assertTrue(ObjectDiff.ofDirty(account, account).isEqual());
+
+		Assertions.assertThrows(IllegalArgumentException.class,
+			() -> ObjectDiff.ofDirty("foo", account));
+	}
+
+	/**
+	 * Bean that tracks its dirty properties and counts the calls of its getters
+	 */
+	public static class Account extends AbstractDirtyTrackable
+	{
+		static int getterCalls;
+
+		private String name;
+
+		private int balance;
+
+		private String city;
+
+		public Account(final String name, final int balance, final String city)
+		{
+			setName(name);
+			setBalance(balance);
+			setCity(city);
+		}
+
+		public String getName()
+		{
+			getterCalls++;
+			return name;
+		}
+
+		public void setName(final String name)
+		{
+			this.name = name;
+			markDirty("name");
+		}
+
+		public int getBalance()
+		{
+			getterCalls++;
+			return balance;
+		}
+
+		public void setBalance(final int balance)
+		{
+			this.balance = balance;
+			markDirty("balance");
+		}
+
+		public String getCity()
+		{
+			getterCalls++;
+			return city;
+		}
+
+		public void setCity(final String city)
+		{
+			this.city = city;
+			markDirty("city");
+		}
+	}
+
+	/**
+	 * Bean with a collection valued property
+	 */
+	public static class Order
+	{
+		private final List<String> lines;
+
+		public Order(final List<String> lines)
+		{
+			this.lines = lines;
+		}
+
+		public List<String> getLines()
+		{
+			return lines;
+		}
+	}
+
+}
@@ -0,0 +1,324 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+import io.github.astrapi69.test.object.enumtype.Gender;
+
+/**
+ * The unit test class for the class {@link ObjectFingerprint}.
+ */
+public class ObjectFingerprintTest
+{
+
+	/**
+	 * Test method for {@link ObjectFingerprint#getFingerprint(Object)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testGetFingerprint()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		ObjectFingerprint fingerprint;
+		Person obelix;
+		Person otherObelix;
+		Person asterix;
+
+		fingerprint = ObjectFingerprint.of(Person.class);
+		obelix = Person.builder().gender(Gender.MALE).name("obelix").nickname("dicker").build();
+		otherObelix = Person.builder().gender(Gender.MALE).name("obelix").nickname("dicker")
+			.build();
+		asterix = Person.builder().gender(Gender.MALE).name("asterix").build();
+
+		assertTrue(CompareObjectExtensions.compare(obelix, otherObelix));
+		assertEquals(fingerprint.getFingerprint(obelix), fingerprint.getFingerprint(otherObelix));
+		assertNotEquals(fingerprint.getFingerprint(obelix), fingerprint.getFingerprint(asterix));
+
+		fingerprint = ObjectFingerprint.of(Person.class, Arrays.asList("gender"));
+		assertEquals(fingerprint.getFingerprint(obelix), fingerprint.getFingerprint(asterix));
+
+		final ObjectFingerprint personFingerprint = fingerprint;
+		Assertions.assertThrows(IllegalArgumentException.class,
+			() -> personFingerprint.getFingerprint("foo"));
+		IllegalArgumentException exception = Assertions.assertThrows(
+			IllegalArgumentException.class,
+			() -> ObjectFingerprint.of(Person.class, Arrays.asList("foo")));
+		assertEquals("Bean class " + Person.class.getName() + " has no readable property foo",
+			exception.getMessage());
+	}
+
+	/**
+	 * Test method for {@link ObjectFingerprint#getFingerprint(Object)} with values that are equal
+	 * with the semantics of {@link CompareObjectExtensions#compare(Object, Object)} but not with
+	 * <code>equals</code>
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testGetFingerprintWithCompareSemantics()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		ObjectFingerprint fingerprint;
+		Invoice invoice;
+		Invoice otherInvoice;
+
+		fingerprint = ObjectFingerprint.of(Invoice.class);
+		invoice = new Invoice(7, new BigDecimal("1.50"), Arrays.asList("a", "b"),
+			new HashSet<>(Arrays.asList("x", "y", "z")));
+		otherInvoice = new Invoice(7, new BigDecimal("1.5"), Arrays.asList("a", "b"),
+			new LinkedHashSet<>(Arrays.asList("z", "y", "x")));
+
+		assertTrue(CompareObjectExtensions.compare(invoice, otherInvoice));
+		assertEquals(fingerprint.getFingerprint(invoice), fingerprint.getFingerprint(otherInvoice));
+
+		otherInvoice = new Invoice(7, new BigDecimal("1.5"), Arrays.asList("b", "a"),
+			new HashSet<>(Arrays.asList("x", "y", "z")));
+		assertFalse(CompareObjectExtensions.compare(invoice, otherInvoice));
+		assertNotEquals(fingerprint.getFingerprint(invoice),
+			fingerprint.getFingerprint(otherInvoice));
+
+		otherInvoice = new Invoice(8, new BigDecimal("1.5"), Arrays.asList("a", "b"),
+			new HashSet<>(Arrays.asList("x", "y", "z")));
+		assertNotEquals(fingerprint.getFingerprint(invoice),
+			fingerprint.getFingerprint(otherInvoice));
+	}
+
+	/**
+	 * Test method for {@link ObjectFingerprint#getFingerprint(Object)} with a comparator that is
+	 * registered with a hash function in the {@link ValueComparatorRegistry}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testGetFingerprintWithRegisteredHashFunction()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		ObjectFingerprint fingerprint;
+		Person obelix;
+		Person otherObelix;
+
+		fingerprint = ObjectFingerprint.of(Person.class);
+		obelix = Person.builder().gender(Gender.MALE).name("Obelix").build();
+		otherObelix = Person.builder().gender(Gender.MALE).name("obelix").build();
+		assertNull(ValueComparatorRegistry.getHashFunction(String.class));
+		try
+		{
+			ValueComparatorRegistry.register(String.class, String.CASE_INSENSITIVE_ORDER,
+				value -> value.toLowerCase(Locale.ROOT).hashCode());
+			assertNotNull(ValueComparatorRegistry.getHashFunction(String.class));
+
+			assertTrue(CompareObjectExtensions.compare(obelix, otherObelix));
+			assertEquals(fingerprint.getFingerprint(obelix),
+				fingerprint.getFingerprint(otherObelix));
+			assertTrue(fingerprint.isEqual(obelix, otherObelix, true));
+		}
+		finally
+		{
+			ValueComparatorRegistry.register(String.class, Comparator.<String> naturalOrder());
+		}
+		assertNull(ValueComparatorRegistry.getHashFunction(String.class));
+		assertFalse(CompareObjectExtensions.compare(obelix, otherObelix));
+		assertNotEquals(fingerprint.getFingerprint(obelix),
+			fingerprint.getFingerprint(otherObelix));
+	}
+
+	/**
+	 * Test method for {@link ObjectFingerprint#getFingerprint(Object)} with enum values that are
+	 * hashed over their name, so the fingerprint is the same in every JVM
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testGetFingerprintWithEnums()
+		throws IllegalAccessException, InvocationTargetException
+	{
+		long expected;
+		long actual;
+		ObjectFingerprint fingerprint;
+
+		fingerprint = ObjectFingerprint.of(Ticket.class);
+		expected = -8029191941119377458L;
+		actual = fingerprint.getFingerprint(
+			new Ticket(Gender.MALE, EnumSet.of(Gender.FEMALE, Gender.MALE)));
+		assertEquals(expected, actual);
+		assertNotEquals(expected, fingerprint
+			.getFingerprint(new Ticket(Gender.FEMALE, EnumSet.of(Gender.FEMALE, Gender.MALE))));
+	}
+
+	/**
+	 * Test method for {@link ObjectFingerprint#isEqual(Object, Object, boolean)},
+	 * {@link ObjectFingerprint#getCachedFingerprint(Object)} and
+	 * {@link ObjectFingerprint#invalidate(Object)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testIsEqual() throws IllegalAccessException, InvocationTargetException
+	{
+		ObjectFingerprint fingerprint;
+		Person obelix;
+		Person otherObelix;
+		long expected;
+		long actual;
+
+		fingerprint = ObjectFingerprint.of(Person.class);
+		obelix = Person.builder().gender(Gender.MALE).name("obelix").build();
+		otherObelix = Person.builder().gender(Gender.MALE).name("obelix").build();
+
+		assertTrue(fingerprint.isEqual(obelix, otherObelix, false));
+		assertTrue(fingerprint.isEqual(obelix, otherObelix, true));
+
+		expected = fingerprint.getCachedFingerprint(otherObelix);
+		otherObelix.setName("asterix");
+		actual = fingerprint.getCachedFingerprint(otherObelix);
+		assertEquals(expected, actual);
+		assertTrue(fingerprint.isEqual(obelix, otherObelix, false));
+		assertFalse(fingerprint.isEqual(obelix, otherObelix, true));
+
+		fingerprint.invalidate(otherObelix);
+		actual = fingerprint.getCachedFingerprint(otherObelix);
+		assertNotEquals(expected, actual);
+		assertEquals(fingerprint.getFingerprint(otherObelix), actual);
+		assertFalse(fingerprint.isEqual(obelix, otherObelix, false));
+	}
+
+	/**
+	 * Bean with an enum and an enum set property
+	 */
+	public static class Ticket
+	{
+		private final Gender gender;
+
+		private final Set<Gender> genders;
+
+		public Ticket(final Gender gender, final Set<Gender> genders)
+		{
+			this.gender = gender;
+			this.genders = genders;
+		}
+
+		public Gender getGender()
+		{
+			return gender;
+		}
+
+		public Set<Gender> getGenders()
+		{
+			return genders;
+		}
+	}
+
+	/**
+	 * Bean with a decimal and collection valued properties
+	 */
+	public static class Invoice
+	{
+		private final int number;
+
+		private final BigDecimal amount;
+
+		private final List<String> lines;
+
+		private final Collection<String> tags;
+
+		public Invoice(final int number, final BigDecimal amount, final List<String> lines,
+			final Collection<String> tags)
+		{
+			this.number = number;
+			this.amount = amount;
+			this.lines = lines;
+			this.tags = tags;
+		}
+
+		public int getNumber()
+		{
+			return number;
+		}
+
+		public BigDecimal getAmount()
+		{
+			return amount;
+		}
+
+		public List<String> getLines()
+		{
+			return lines;
+		}
+
+		public Collection<String> getTags()
+		{
+			return tags;
+		}
+	}
+
+}
@@ -0,0 +1,164 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link PropertyMetadata}.
+ */
+public class PropertyMetadataTest
+{
+
+	/**
+	 * Test method for {@link PropertyMetadata#compareDirect(Object, Object)} that have to return
+	 * the same results as the <code>compareTo</code> methods of the wrapper classes
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testCompareDirect() throws IllegalAccessException, InvocationTargetException
+	{
+		PrimitiveBean bean;
+		PrimitiveBean otherBean;
+		BeanMetadata beanMetadata;
+
+		bean = new PrimitiveBean(1_000_000, 7L, 1.5d, 'z', (short)300, true, 2.5f);
+		otherBean = new PrimitiveBean(2_000_000, 7L, Double.NaN, 'a', (short)-300, false, -0.0f);
+		beanMetadata = BeanMetadata.of(PrimitiveBean.class);
+		for (final PropertyMetadata property : beanMetadata.getProperties())
+		{
+			assertTrue(property.isPrimitive());
+			final Object value = property.getValue(bean);
+			final Object otherValue = property.getValue(otherBean);
+			assertEquals(PropertyValueComparator.compare(value, otherValue),
+				property.compareDirect(bean, otherBean));
+			assertEquals(PropertyValueComparator.compare(otherValue, value),
+				property.compare(otherBean, bean));
+		}
+		assertEquals(-1, beanMetadata.getProperty("id").compareDirect(bean, otherBean));
+		assertEquals('z' - 'a', beanMetadata.getProperty("code").compareDirect(bean, otherBean));
+		assertEquals(600, beanMetadata.getProperty("count").compareDirect(bean, otherBean));
+	}
+
+	/**
+	 * Test method for the primitive accessors of {@link PropertyMetadata}
+	 */
+	@Test
+	public void testPrimitiveAccessors()
+	{
+		PrimitiveBean bean;
+		BeanMetadata beanMetadata;
+
+		bean = new PrimitiveBean(42, 7L, 1.5d, 'z', (short)3, true, 2.5f);
+		beanMetadata = BeanMetadata.of(PrimitiveBean.class);
+		assertEquals(42, beanMetadata.getProperty("id").getIntAccessor().applyAsInt(bean));
+		assertEquals(3, beanMetadata.getProperty("count").getIntAccessor().applyAsInt(bean));
+		assertEquals(7L, beanMetadata.getProperty("version").getLongAccessor().applyAsLong(bean));
+		assertEquals(2.5d,
+			beanMetadata.getProperty("ratio").getDoubleAccessor().applyAsDouble(bean));
+		assertTrue(beanMetadata.getProperty("active").getBooleanAccessor().test(bean));
+		assertNull(beanMetadata.getProperty("id").getLongAccessor());
+		assertNotNull(beanMetadata.getProperty("id").getAccessor());
+		assertFalse(BeanMetadata.of(PropertyPathTest.Member.class).getProperty("person")
+			.isPrimitive());
+	}
+
+	/**
+	 * Bean with only primitive properties
+	 */
+	public static class PrimitiveBean
+	{
+		private final boolean active;
+
+		private final char code;
+
+		private final short count;
+
+		private final int id;
+
+		private final float ratio;
+
+		private final double value;
+
+		private final long version;
+
+		public PrimitiveBean(final int id, final long version, final double value,
+			final char code, final short count, final boolean active, final float ratio)
+		{
+			this.id = id;
+			this.version = version;
+			this.value = value;
+			this.code = code;
+			this.count = count;
+			this.active = active;
+			this.ratio = ratio;
+		}
+
+		public char getCode()
+		{
+			return code;
+		}
+
+		public short getCount()
+		{
+			return count;
+		}
+
+		public int getId()
+		{
+			return id;
+		}
+
+		public float getRatio()
+		{
+			return ratio;
+		}
+
+		public double getValue()
+		{
+			return value;
+		}
+
+		public long getVersion()
+		{
+			return version;
+		}
+
+		public boolean isActive()
+		{
+			return active;
+		}
+	}
+
+}
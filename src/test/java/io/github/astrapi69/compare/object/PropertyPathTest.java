@@ -0,0 +1,168 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.beanutils.NestedNullException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link PropertyPath}.
+ */
+public class PropertyPathTest
+{
+
+	/**
+	 * Test method for {@link PropertyPath#getValue(Object)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testGetValue()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		Object expected;
+		Object actual;
+		PropertyPath propertyPath;
+		Member member;
+
+		member = new Member(7, Person.builder().name("obelix").build());
+
+		propertyPath = PropertyPath.of("id");
+		expected = 7;
+		actual = propertyPath.getValue(member);
+		assertEquals(expected, actual);
+
+		propertyPath = PropertyPath.of("person.name");
+		expected = "obelix";
+		actual = propertyPath.getValue(member);
+		assertEquals(expected, actual);
+		// second call uses the resolved segments
+		actual = propertyPath.getValue(new Member(8, Person.builder().name("asterix").build()));
+		expected = "asterix";
+		assertEquals(expected, actual);
+
+		member.setPerson(null);
+		NestedNullException exception = Assertions.assertThrows(NestedNullException.class,
+			() -> PropertyPath.of("person.name").getValue(member));
+		assertEquals(NestedNullException.class, exception.getClass());
+	}
+
+	/**
+	 * Test method for {@link PropertyPath#getValue(Object)} with expressions that are delegated to
+	 * <code>PropertyUtils</code>
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testGetValueDelegated()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		Object expected;
+		Object actual;
+		Map<String, Object> map;
+
+		map = new HashMap<>();
+		map.put("empty", "foo");
+		expected = "foo";
+		actual = PropertyPath.of("empty").getValue(map);
+		assertEquals(expected, actual);
+
+		assertNull(PropertyPath.of("foo").getValue(map));
+
+		Assertions.assertThrows(NoSuchMethodException.class,
+			() -> PropertyPath.of("foo").getValue(Person.builder().build()));
+		Assertions.assertThrows(IllegalArgumentException.class,
+			() -> PropertyPath.of("name").getValue(null));
+	}
+
+	/**
+	 * Test method for {@link PropertyPath#getValue(Object)} with a getter that throws an exception
+	 */
+	@Test
+	public void testGetValueThrowInvocationTargetException()
+	{
+		InvocationTargetException exception = Assertions.assertThrows(
+			InvocationTargetException.class, () -> PropertyPath.of("broken").getValue(new Member(1,
+				null)));
+		assertEquals(IllegalStateException.class, exception.getCause().getClass());
+	}
+
+	/**
+	 * Bean with a nested bean
+	 */
+	public static class Member
+	{
+		private final int id;
+
+		private Person person;
+
+		public Member(final int id, final Person person)
+		{
+			this.id = id;
+			this.person = person;
+		}
+
+		public String getBroken()
+		{
+			throw new IllegalStateException("broken");
+		}
+
+		public int getId()
+		{
+			return id;
+		}
+
+		public Person getPerson()
+		{
+			return person;
+		}
+
+		public void setPerson(final Person person)
+		{
+			this.person = person;
+		}
+	}
+
+}
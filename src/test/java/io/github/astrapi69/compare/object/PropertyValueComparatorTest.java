@@ -0,0 +1,208 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * The unit test class for the class {@link PropertyValueComparator}.
+ */
+public class PropertyValueComparatorTest
+{
+
+	/**
+	 * Test method for {@link PropertyValueComparator#compare(Object, Object)} with collections
+	 */
+	@Test
+	public void testCompareCollections()
+	{
+		int expected;
+		int actual;
+
+		expected = 0;
+		actual = PropertyValueComparator.compare(Arrays.asList("a", "b"),
+			new ArrayList<>(Arrays.asList("a", "b")));
+		assertEquals(expected, actual);
+
+		actual = PropertyValueComparator.compare(new HashSet<>(Arrays.asList("a", "b", "c")),
+			new TreeSet<>(Arrays.asList("c", "b", "a")));
+		assertEquals(expected, actual);
+
+		actual = PropertyValueComparator.compare(Arrays.asList("a", "b", "a"),
+			new LinkedHashSet<>(Arrays.asList("b", "a")));
+		assertEquals(1, actual);
+
+		actual = PropertyValueComparator.compare(Arrays.asList("b", "a", "a"),
+			new ArrayDequeCollection<>(Arrays.asList("a", "b", "a")));
+		assertEquals(expected, actual);
+
+		expected = "b".compareTo("c");
+		actual = PropertyValueComparator.compare(Arrays.asList("a", "b"), Arrays.asList("a", "c"));
+		assertEquals(expected, actual);
+
+		actual = PropertyValueComparator.compare(Arrays.asList("a", null),
+			Arrays.asList("a", "c"));
+		assertEquals(-1, actual);
+
+		actual = PropertyValueComparator.compare(Arrays.asList(new BigDecimal("1.5")),
+			Arrays.asList(new BigDecimal("1.50")));
+		assertTrue(actual != 0);
+		assertEquals(-actual, PropertyValueComparator.compare(
+			Arrays.asList(new BigDecimal("1.50")), Arrays.asList(new BigDecimal("1.5"))));
+	}
+
+	/**
+	 * Test method for {@link PropertyValueComparator#compare(Object, Object)} with collections of
+	 * the same size that are not equal is antisymmetric
+	 */
+	@Test
+	public void testCompareCollectionsAntisymmetric()
+	{
+		final Random random = new Random(11);
+		final List<Collection<Integer>> collections = new ArrayList<>();
+		for (int index = 0; index < 200; index++)
+		{
+			final List<Integer> elements = new ArrayList<>();
+			for (int element = 0; element < 3; element++)
+			{
+				elements.add(random.nextInt(4));
+			}
+			collections.add(index % 2 == 0 ? elements : new ArrayDequeCollection<>(elements));
+		}
+		for (final Collection<Integer> collection : collections)
+		{
+			for (final Collection<Integer> otherCollection : collections)
+			{
+				assertEquals(Integer.signum(
+					PropertyValueComparator.compare(collection, otherCollection)),
+					-Integer.signum(PropertyValueComparator.compare(otherCollection, collection)));
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link PropertyValueComparator#compare(Object, Object)} with collections
+	 * that are not equal and whose elements can not be ordered by their content
+	 */
+	@Test
+	public void testCompareCollectionsWithTiedElements()
+	{
+		List<Tied> list;
+		List<Tied> otherList;
+		Collection<Tied> deque;
+		int actual;
+
+		list = Arrays.asList(new Tied(), new Tied());
+		otherList = Arrays.asList(new Tied(), new Tied());
+		deque = new ArrayDequeCollection<>(Arrays.asList(new Tied(), new Tied()));
+		for (int count = 0; count < 10; count++)
+		{
+			assertEquals(0, PropertyValueComparator.compare(list, otherList));
+			assertEquals(0, PropertyValueComparator.compare(otherList, list));
+			assertEquals(0, PropertyValueComparator.compare(list,
+				Arrays.asList(new Tied(), new Tied())));
+		}
+
+		actual = PropertyValueComparator.compare(list, deque);
+		assertTrue(actual != 0);
+		assertEquals(-Integer.signum(actual),
+			Integer.signum(PropertyValueComparator.compare(deque, list)));
+		deque = new ArrayDequeCollection<>(Arrays.asList(new Tied(), new Tied()));
+		assertEquals(Integer.signum(actual),
+			Integer.signum(PropertyValueComparator.compare(otherList, deque)));
+	}
+
+	/**
+	 * Test method for {@link PropertyValueComparator#compare(Object, Object)} with large lists
+	 * that are not equal
+	 */
+	@Test
+	public void testCompareLargeCollections()
+	{
+		final List<Integer> list = new ArrayList<>();
+		final List<Integer> otherList = new ArrayList<>();
+		for (int index = 0; index < 10_000; index++)
+		{
+			list.add(index);
+			otherList.add(index + 10_000);
+		}
+		final int actual = assertTimeoutPreemptively(Duration.ofMillis(500), () -> {
+			int result = 0;
+			for (int count = 0; count < 1_000; count++)
+			{
+				result = PropertyValueComparator.compare(list, otherList);
+			}
+			return result;
+		});
+		assertEquals(-1, actual);
+		assertTimeoutPreemptively(Duration.ofMillis(500),
+			() -> PropertyValueComparator.compare(new HashSet<>(list), new HashSet<>(otherList)));
+	}
+
+	/**
+	 * Element that is only equal to itself and has the same hash code and string representation
+	 * like all other elements
+	 */
+	private static final class Tied
+	{
+		@Override
+		public int hashCode()
+		{
+			return 1;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "tied";
+		}
+	}
+
+	/**
+	 * Collection that is not a list or a set
+	 */
+	private static final class ArrayDequeCollection<E> extends ArrayDeque<E>
+	{
+		private static final long serialVersionUID = 1L;
+
+		ArrayDequeCollection(final Collection<? extends E> elements)
+		{
+			super(elements);
+		}
+	}
+
+}
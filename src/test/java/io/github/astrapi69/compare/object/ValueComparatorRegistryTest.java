@@ -0,0 +1,348 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.object;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.function.ToLongFunction;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.comparator.BeanComparatorFactory;
+import io.github.astrapi69.compare.reconcile.MergeJoinReconciler;
+import io.github.astrapi69.compare.reconcile.ReconcileResult;
+import io.github.astrapi69.compare.reconcile.ReconcileType;
+import io.github.astrapi69.test.object.enumtype.Gender;
+
+/**
+ * The unit test class for the class {@link ValueComparatorRegistry}.
+ */
+public class ValueComparatorRegistryTest
+{
+
+	/**
+	 * Test method for {@link ValueComparatorRegistry#getComparator(Class)}
+	 */
+	@Test
+	public void testGetComparator()
+	{
+		int actual;
+
+		actual = ValueComparatorRegistry.getComparator(BigDecimal.class)
+			.compare(new BigDecimal("1.50"), new BigDecimal("1.5"));
+		assertEquals(0, actual);
+
+		actual = ValueComparatorRegistry.getComparator(byte[].class).compare(new byte[] { 1, 2 },
+			new byte[] { 1, 3 });
+		assertTrue(actual < 0);
+
+		actual = ValueComparatorRegistry.getComparator(Integer.class).compare(2, 1);
+		assertEquals(1, actual);
+	}
+
+	/**
+	 * Test method for {@link ValueComparatorRegistry#register(Class, Comparator)} and
+	 * {@link ValueComparatorRegistry#unregister(Class)}
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testRegister() throws IllegalAccessException, InvocationTargetException
+	{
+		PropertyMetadata name;
+		PropertyMetadata gender;
+		PropertyMetadata version;
+		PropertyMetadata hash;
+		Document document;
+		Document otherDocument;
+
+		name = BeanMetadata.of(Document.class).getProperty("name");
+		gender = BeanMetadata.of(Document.class).getProperty("gender");
+		version = BeanMetadata.of(Document.class).getProperty("version");
+		hash = BeanMetadata.of(Document.class).getProperty("hash");
+		document = new Document("a", Gender.MALE, new Version(2), new byte[] { 1, 2 });
+		otherDocument = new Document("B", Gender.FEMALE, new Version(10), new byte[] { 1, 2, 0 });
+
+		assertTrue(name.compare(document, otherDocument) > 0);
+		assertTrue(hash.compare(document, otherDocument) < 0);
+		final Collator collator = Collator.getInstance(Locale.ENGLISH);
+		final Comparator<Object> reverseEnums = (value, otherValue) -> Integer
+			.compare(((Enum<?>)otherValue).ordinal(), ((Enum<?>)value).ordinal());
+		final int expected = Integer.compare(Gender.MALE.ordinal(), Gender.FEMALE.ordinal());
+		assertEquals(expected, Integer.signum(gender.compare(document, otherDocument)));
+		try
+		{
+			ValueComparatorRegistry.register(String.class, collator);
+			ValueComparatorRegistry.register(Enum.class, reverseEnums);
+			ValueComparatorRegistry.register(Version.class,
+				Comparator.comparingInt(Version::getNumber));
+
+			assertTrue(name.compare(document, otherDocument) < 0);
+			assertEquals(-expected, Integer.signum(gender.compare(document, otherDocument)));
+			assertTrue(version.compare(document, otherDocument) < 0);
+			assertTrue(PropertyValueComparator.compare("a", "B") < 0);
+		}
+		finally
+		{
+			ValueComparatorRegistry.register(String.class, Comparator.<String> naturalOrder());
+			ValueComparatorRegistry.unregister(Enum.class);
+			ValueComparatorRegistry.unregister(Version.class);
+		}
+		assertTrue(name.compare(document, otherDocument) > 0);
+		assertEquals(expected, Integer.signum(gender.compare(document, otherDocument)));
+	}
+
+	/**
+	 * Test method for {@link ValueComparatorRegistry#getComparator(Class)} with a comparator that
+	 * is registered for an inherited super interface
+	 */
+	@Test
+	public void testGetComparatorOfSuperInterface()
+	{
+		final Comparator<Object> iterableComparator = (value, otherValue) -> 0;
+		final Comparator<CharSequence> charSequenceComparator = Comparator
+			.comparingInt(CharSequence::length);
+		try
+		{
+			ValueComparatorRegistry.register(Iterable.class, iterableComparator);
+			ValueComparatorRegistry.register(CharSequence.class, charSequenceComparator);
+
+			assertSame(iterableComparator, ValueComparatorRegistry.getComparator(ArrayList.class));
+			assertSame(iterableComparator, ValueComparatorRegistry.getComparator(TreeSet.class));
+			assertSame(charSequenceComparator,
+				ValueComparatorRegistry.getComparator(StringBuilder.class));
+			assertNotSame(charSequenceComparator,
+				ValueComparatorRegistry.getComparator(String.class));
+		}
+		finally
+		{
+			ValueComparatorRegistry.unregister(Iterable.class);
+			ValueComparatorRegistry.unregister(CharSequence.class);
+		}
+		assertNotSame(iterableComparator, ValueComparatorRegistry.getComparator(ArrayList.class));
+	}
+
+	/**
+	 * Test method for {@link ValueComparatorRegistry#register(Class, Comparator, ToLongFunction)}
+	 * that all compare methods use the comparator of the declared type of a property
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testRegisterIsResolvedFromDeclaredType()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		List<ReconcileResult<Label>> actual;
+		Label label;
+		Label otherLabel;
+
+		label = new Label("A", "A");
+		otherLabel = new Label("a", "a");
+		try
+		{
+			ValueComparatorRegistry.register(String.class, String.CASE_INSENSITIVE_ORDER,
+				value -> value.toLowerCase(Locale.ROOT).hashCode());
+
+			assertEquals(0, CompareObjectExtensions.compareTo(label, otherLabel, "name"));
+			assertEquals(0, ObjectDiff.of(label, otherLabel).getResult("name"));
+			assertTrue(CompareObjectExtensions.compareTo(label, otherLabel, "text") < 0);
+			assertTrue(ObjectDiff.of(label, otherLabel).getResult("text") < 0);
+			assertTrue(CompareObjectExtensions.compareInOrder(label, otherLabel, "text") < 0);
+
+			actual = new ArrayList<>();
+			MergeJoinReconciler.<Label> of("text")
+				.reconcile(Arrays.asList(label).iterator(), Arrays.asList(otherLabel).iterator())
+				.forEachRemaining(actual::add);
+			assertEquals(2, actual.size());
+			actual.clear();
+			MergeJoinReconciler.<Label> of("name")
+				.reconcile(Arrays.asList(label).iterator(), Arrays.asList(otherLabel).iterator())
+				.forEachRemaining(actual::add);
+			assertEquals(1, actual.size());
+			assertEquals(ReconcileType.MODIFIED, actual.get(0).getType());
+		}
+		finally
+		{
+			ValueComparatorRegistry.register(String.class, Comparator.<String> naturalOrder());
+		}
+	}
+
+	/**
+	 * Test method for {@link ValueComparatorRegistry#register(Class, Comparator, ToLongFunction)}
+	 * with a comparator of a wrapper type that is used for the properties of the primitive type
+	 *
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 * @throws NoSuchMethodException
+	 *             Thrown if a matching method is not found or if the name is "&lt;init&gt;"or
+	 *             "&lt;clinit&gt;".
+	 */
+	@Test
+	public void testRegisterWrapperType()
+		throws IllegalAccessException, InvocationTargetException, NoSuchMethodException
+	{
+		PropertyMetadata number;
+		Version version;
+		Version otherVersion;
+
+		number = BeanMetadata.of(Version.class).getProperty("number");
+		version = new Version(-2);
+		otherVersion = new Version(2);
+		assertTrue(number.compare(version, otherVersion) < 0);
+		assertTrue(number.compareDirect(version, otherVersion) < 0);
+		try
+		{
+			ValueComparatorRegistry.register(Integer.class,
+				Comparator.comparingInt(Math::abs), value -> Math.abs(value));
+
+			assertEquals(0, number.compare(version, otherVersion));
+			assertEquals(0, number.compareDirect(version, otherVersion));
+			assertEquals(0, CompareObjectExtensions.compareTo(version, otherVersion, "number"));
+			assertEquals(0, BeanComparatorFactory.newComparator(Version.class).compare(version,
+				otherVersion));
+			assertTrue(ObjectDiff.of(version, otherVersion).isEqual());
+			assertEquals(ObjectFingerprint.of(Version.class).getFingerprint(version),
+				ObjectFingerprint.of(Version.class).getFingerprint(otherVersion));
+		}
+		finally
+		{
+			ValueComparatorRegistry.unregister(Integer.class);
+		}
+		assertTrue(number.compareDirect(version, otherVersion) < 0);
+		assertTrue(BeanComparatorFactory.newComparator(Version.class).compare(version,
+			otherVersion) < 0);
+	}
+
+	/**
+	 * Bean with properties of types that need a specialized comparator
+	 */
+	public static class Document
+	{
+		private final String name;
+
+		private final Gender gender;
+
+		private final Version version;
+
+		private final byte[] hash;
+
+		public Document(final String name, final Gender gender, final Version version,
+			final byte[] hash)
+		{
+			this.name = name;
+			this.gender = gender;
+			this.version = version;
+			this.hash = hash;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public Gender getGender()
+		{
+			return gender;
+		}
+
+		public Version getVersion()
+		{
+			return version;
+		}
+
+		public byte[] getHash()
+		{
+			return hash;
+		}
+	}
+
+	/**
+	 * Bean with a property that is declared as {@link String} and one that is declared as
+	 * {@link CharSequence}
+	 */
+	public static class Label
+	{
+		private final String name;
+
+		private final CharSequence text;
+
+		public Label(final String name, final CharSequence text)
+		{
+			this.name = name;
+			this.text = text;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public CharSequence getText()
+		{
+			return text;
+		}
+	}
+
+	/**
+	 * User type that is not {@link Comparable}
+	 */
+	public static class Version
+	{
+		private final int number;
+
+		public Version(final int number)
+		{
+			this.number = number;
+		}
+
+		public int getNumber()
+		{
+			return number;
+		}
+	}
+
+}
@@ -0,0 +1,207 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.reconcile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.compare.sort.RecordSerializer;
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link HashJoinReconciler}.
+ */
+public class HashJoinReconcilerTest
+{
+
+	/** The serializer of the name and about properties of a person. */
+	private static final RecordSerializer<Person> SERIALIZER = new RecordSerializer<>()
+	{
+		@Override
+		public void write(final Person record, final DataOutput output) throws IOException
+		{
+			output.writeUTF(record.getName());
+			output.writeUTF(record.getAbout());
+		}
+
+		@Override
+		public Person read(final DataInput input) throws IOException
+		{
+			return Person.builder().name(input.readUTF()).about(input.readUTF()).build();
+		}
+	};
+
+	/** The directory of the temporary files. */
+	private Path tempDirectory;
+
+	@BeforeEach
+	public void setUp() throws IOException
+	{
+		tempDirectory = Files.createTempDirectory("hash-join-reconciler");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException
+	{
+		try (Stream<Path> files = Files.list(tempDirectory))
+		{
+			for (final Path file : files.collect(Collectors.toList()))
+			{
+				Files.delete(file);
+			}
+		}
+		Files.delete(tempDirectory);
+	}
+
+	private long countTempFiles() throws IOException
+	{
+		try (Stream<Path> files = Files.list(tempDirectory))
+		{
+			return files.count();
+		}
+	}
+
+	/**
+	 * Test method for {@link HashJoinReconciler#reconcile(Iterator, Iterator)} with a source data
+	 * set that fits into memory
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testReconcile() throws IOException
+	{
+		List<ReconcileResult<Person>> actual;
+		Person alex;
+		Person otherAlex;
+		Person anna;
+		Person bob;
+		Person otherBob;
+		Person carl;
+
+		alex = Person.builder().name("alex").about("old").build();
+		otherAlex = Person.builder().name("alex").about("new").build();
+		anna = Person.builder().name("anna").about("").build();
+		bob = Person.builder().name("bob").about("").build();
+		otherBob = Person.builder().name("bob").about("").build();
+		carl = Person.builder().name("carl").about("").build();
+
+		try (Stream<ReconcileResult<Person>> results = HashJoinReconciler
+			.of(Person::getName, SERIALIZER, 10, 4, tempDirectory)
+			.reconcile(Arrays.asList(carl, alex, bob).iterator(),
+				Arrays.asList(otherBob, anna, otherAlex).iterator()))
+		{
+			assertEquals(0, countTempFiles());
+			actual = results.collect(Collectors.toList());
+		}
+		assertEquals(3, actual.size());
+
+		assertEquals(ReconcileType.INSERTED, actual.get(0).getType());
+		assertSame(anna, actual.get(0).getObjectToCompare());
+
+		assertEquals(ReconcileType.MODIFIED, actual.get(1).getType());
+		assertSame(alex, actual.get(1).getSourceObject());
+		assertSame(otherAlex, actual.get(1).getObjectToCompare());
+		assertEquals(1, actual.get(1).getObjectDiff().getChangedCount());
+
+		assertEquals(ReconcileType.DELETED, actual.get(2).getType());
+		assertSame(carl, actual.get(2).getSourceObject());
+	}
+
+	/**
+	 * Test method for {@link HashJoinReconciler#reconcile(Stream, Stream)} with a source data set
+	 * that is partitioned into temporary files
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testReconcileWithPartitions() throws IOException
+	{
+		Map<ReconcileType, Integer> expected;
+		Map<ReconcileType, Integer> actual;
+		List<Person> sourceObjects;
+		List<Person> objectsToCompare;
+		final Random random = new Random(11);
+
+		sourceObjects = new ArrayList<>();
+		objectsToCompare = new ArrayList<>();
+		for (int i = 0; i < 1000; i++)
+		{
+			sourceObjects.add(Person.builder().name("name" + i).about("a").build());
+			objectsToCompare.add(Person.builder().name("name" + (i + 500))
+				.about(i < 100 ? "b" : "a").build());
+		}
+		for (int i = 0; i < 3; i++)
+		{
+			sourceObjects.add(Person.builder().name("duplicate").about("a").build());
+			objectsToCompare.add(Person.builder().name("duplicate").about("a").build());
+		}
+		Collections.shuffle(sourceObjects, random);
+		Collections.shuffle(objectsToCompare, random);
+
+		expected = new EnumMap<>(ReconcileType.class);
+		expected.put(ReconcileType.INSERTED, 500);
+		expected.put(ReconcileType.DELETED, 500);
+		expected.put(ReconcileType.MODIFIED, 100);
+
+		final HashJoinReconciler<Person> reconciler = HashJoinReconciler.of(Person::getName,
+			SERIALIZER, 10, 4, tempDirectory);
+		actual = new EnumMap<>(ReconcileType.class);
+		try (Stream<ReconcileResult<Person>> results = reconciler
+			.reconcile(sourceObjects.stream(), objectsToCompare.stream()))
+		{
+			assertTrue(0 < countTempFiles());
+			results.forEach(result -> actual.merge(result.getType(), 1, Integer::sum));
+		}
+		assertEquals(expected, actual);
+		assertEquals(0, countTempFiles());
+
+		try (Stream<ReconcileResult<Person>> results = reconciler
+			.reconcile(sourceObjects.stream(), objectsToCompare.stream()))
+		{
+			assertEquals(10, results.limit(10).count());
+		}
+		assertEquals(0, countTempFiles());
+	}
+
+}
@@ -0,0 +1,140 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.reconcile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link MergeJoinReconciler}.
+ */
+public class MergeJoinReconcilerTest
+{
+
+	/**
+	 * Test method for {@link MergeJoinReconciler#reconcile(Iterator, Iterator)}
+	 */
+	@Test
+	public void testReconcile()
+	{
+		List<ReconcileResult<Person>> actual;
+		Iterator<ReconcileResult<Person>> iterator;
+		Person alex;
+		Person otherAlex;
+		Person anna;
+		Person bob;
+		Person otherBob;
+		Person carl;
+
+		alex = Person.builder().name("alex").about("old").build();
+		otherAlex = Person.builder().name("alex").about("new").build();
+		anna = Person.builder().name("anna").build();
+		bob = Person.builder().name("bob").build();
+		otherBob = Person.builder().name("bob").build();
+		carl = Person.builder().name("carl").build();
+
+		iterator = MergeJoinReconciler.<Person> of("name").reconcile(
+			Arrays.asList(alex, bob, carl).iterator(),
+			Arrays.asList(otherAlex, anna, otherBob).iterator());
+		actual = new ArrayList<>();
+		iterator.forEachRemaining(actual::add);
+		assertEquals(3, actual.size());
+
+		assertEquals(ReconcileType.MODIFIED, actual.get(0).getType());
+		assertSame(alex, actual.get(0).getSourceObject());
+		assertSame(otherAlex, actual.get(0).getObjectToCompare());
+		assertEquals(1, actual.get(0).getObjectDiff().getChangedCount());
+		assertTrue(actual.get(0).getObjectDiff().getResult("about") > 0);
+
+		assertEquals(ReconcileType.INSERTED, actual.get(1).getType());
+		assertNull(actual.get(1).getSourceObject());
+		assertSame(anna, actual.get(1).getObjectToCompare());
+
+		assertEquals(ReconcileType.DELETED, actual.get(2).getType());
+		assertSame(carl, actual.get(2).getSourceObject());
+		assertNull(actual.get(2).getObjectDiff());
+	}
+
+	/**
+	 * Test method for {@link MergeJoinReconciler#reconcile(Stream, Stream)} with streams that are
+	 * read lazily
+	 */
+	@Test
+	public void testReconcileStreams()
+	{
+		List<ReconcileResult<Integer>> actual;
+		final AtomicInteger closed = new AtomicInteger();
+		final MergeJoinReconciler<Integer> reconciler = MergeJoinReconciler
+			.of(Integer::intValue, Comparator.<Integer> naturalOrder());
+
+		try (Stream<ReconcileResult<Integer>> results = reconciler.reconcile(
+			Stream.iterate(0, i -> i + 2).onClose(closed::incrementAndGet),
+			Stream.iterate(0, i -> i + 3).onClose(closed::incrementAndGet)))
+		{
+			actual = results.limit(4).collect(Collectors.toList());
+		}
+		assertEquals(2, closed.get());
+		assertEquals(ReconcileType.DELETED, actual.get(0).getType());
+		assertEquals(Integer.valueOf(2), actual.get(0).getSourceObject());
+		assertEquals(ReconcileType.INSERTED, actual.get(1).getType());
+		assertEquals(Integer.valueOf(3), actual.get(1).getObjectToCompare());
+		assertEquals(ReconcileType.DELETED, actual.get(2).getType());
+		assertEquals(Integer.valueOf(4), actual.get(2).getSourceObject());
+		assertEquals(ReconcileType.DELETED, actual.get(3).getType());
+		assertEquals(Integer.valueOf(8), actual.get(3).getSourceObject());
+	}
+
+	/**
+	 * Test method for {@link MergeJoinReconciler#reconcile(Iterator, Iterator)} with a data set
+	 * that is not sorted
+	 */
+	@Test
+	public void testReconcileThrowIllegalStateException()
+	{
+		final Iterator<ReconcileResult<Person>> iterator = MergeJoinReconciler.<Person> of("name")
+			.reconcile(
+				Arrays.asList(Person.builder().name("bob").build(),
+					Person.builder().name("alex").build()).iterator(),
+				Arrays.<Person> asList().iterator());
+		IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+			() -> iterator.forEachRemaining(result -> {
+			}));
+		assertEquals("The source data set is not sorted by the key: bob is followed by alex",
+			exception.getMessage());
+	}
+
+}
@@ -0,0 +1,439 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.snapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.compare.object.ObjectDiff;
+import io.github.astrapi69.test.object.enumtype.Gender;
+
+/**
+ * The unit test class for the class {@link ColumnarSnapshot}.
+ */
+public class ColumnarSnapshotTest
+{
+
+	/** The directory of the snapshots. */
+	private Path tempDirectory;
+
+	@BeforeEach
+	public void setUp() throws IOException
+	{
+		tempDirectory = Files.createTempDirectory("columnar-snapshot");
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException
+	{
+		try (Stream<Path> files = Files.walk(tempDirectory))
+		{
+			for (final Path file : files.sorted(Comparator.reverseOrder())
+				.collect(Collectors.toList()))
+			{
+				Files.delete(file);
+			}
+		}
+	}
+
+	private static List<Item> newItems(final long seed, final int size)
+	{
+		final Random random = new Random(seed);
+		final List<Item> items = new ArrayList<>();
+		for (int index = 0; index < size; index++)
+		{
+			items.add(new Item(index, random.nextInt(4) == 0 ? null : random.nextInt(5),
+				random.nextInt(10) / 4d, random.nextBoolean(),
+				random.nextInt(4) == 0 ? null : "name" + random.nextInt(5),
+				BigDecimal.valueOf(random.nextInt(100), 2),
+				LocalDate.ofEpochDay(random.nextInt(10)),
+				random.nextBoolean() ? Gender.MALE : Gender.FEMALE,
+				Collections.singletonList("tag" + random.nextInt(3))));
+		}
+		return items;
+	}
+
+	/**
+	 * Test method for {@link ColumnarSnapshot#write(Class, java.util.Iterator, Path)} and
+	 * {@link ColumnarSnapshot#open(Path)}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testWriteAndOpen()
+		throws IOException, IllegalAccessException, InvocationTargetException
+	{
+		List<String> expected;
+		List<String> actual;
+		Path directory;
+
+		directory = tempDirectory.resolve("items");
+		ColumnarSnapshot.write(Item.class, newItems(1, 20).iterator(), directory);
+		try (ColumnarSnapshot snapshot = ColumnarSnapshot.open(directory))
+		{
+			expected = Arrays.asList("active", "amount", "count", "date", "gender", "id", "name",
+				"price");
+			actual = snapshot.getColumnNames();
+			assertEquals(expected, actual);
+			assertEquals(20, snapshot.getRowCount());
+			assertEquals(Item.class.getName(), snapshot.getBeanClassName());
+			assertTrue(snapshot.diff(snapshot).isEqual());
+		}
+		Assertions.assertThrows(IOException.class,
+			() -> ColumnarSnapshot.open(tempDirectory.resolve("foo")));
+	}
+
+	/**
+	 * Test method for {@link ColumnarSnapshot#diff(ColumnarSnapshot)} that is consistent with
+	 * {@link ObjectDiff}
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDiff() throws IOException, IllegalAccessException, InvocationTargetException
+	{
+		BitSet expected;
+		List<Item> items;
+		List<Item> otherItems;
+		Path directory;
+		Path otherDirectory;
+		Path seededDirectory;
+
+		items = newItems(2, 500);
+		otherItems = newItems(2, 500);
+		for (int index = 0; index < otherItems.size(); index += 7)
+		{
+			otherItems.set(index, newItems(index, 1).get(0));
+		}
+		otherItems.get(3).amount = otherItems.get(3).amount.setScale(4);
+		directory = tempDirectory.resolve("items");
+		otherDirectory = tempDirectory.resolve("other");
+		seededDirectory = tempDirectory.resolve("seeded");
+		ColumnarSnapshot.write(Item.class, items.iterator(), directory);
+		ColumnarSnapshot.write(Item.class, otherItems.iterator(), otherDirectory);
+
+		expected = new BitSet();
+		for (int index = 0; index < items.size(); index++)
+		{
+			final ObjectDiff objectDiff = ObjectDiff.of(items.get(index), otherItems.get(index));
+			for (final String column : Arrays.asList("active", "amount", "count", "date",
+				"gender", "id", "name", "price"))
+			{
+				if (objectDiff.getResult(column) != 0)
+				{
+					expected.set(index);
+				}
+			}
+		}
+		assertFalse(expected.get(3));
+		assertFalse(expected.isEmpty());
+
+		try (ColumnarSnapshot snapshot = ColumnarSnapshot.open(directory);
+			ColumnarSnapshot otherSnapshot = ColumnarSnapshot.open(otherDirectory))
+		{
+			final SnapshotDiff actual = snapshot.diff(otherSnapshot);
+			assertEquals(expected, actual.getChangedRows());
+			assertEquals(expected.cardinality(), actual.getChangedRowCount());
+			assertEquals(expected, otherSnapshot.diff(snapshot).getChangedRows());
+			assertTrue(actual.getChangedColumns(1).isEmpty());
+			for (final String column : actual.getChangedColumns(7))
+			{
+				assertTrue(actual.getChangedRows(column).get(7));
+				assertTrue(ObjectDiff.of(items.get(7), otherItems.get(7)).getResult(column) != 0);
+			}
+
+			ColumnarSnapshot.write(Item.class, otherItems.iterator(), seededDirectory, snapshot);
+			try (ColumnarSnapshot seededSnapshot = ColumnarSnapshot.open(seededDirectory))
+			{
+				assertEquals(actual.getChangedRows(),
+					snapshot.diff(seededSnapshot).getChangedRows());
+				assertTrue(otherSnapshot.diff(seededSnapshot).isEqual());
+			}
+			Assertions.assertThrows(IllegalArgumentException.class,
+				() -> actual.getChangedRows("tags"));
+		}
+	}
+
+	/**
+	 * Test method for {@link ColumnarSnapshot#diff(ColumnarSnapshot)} with snapshots that have not
+	 * the same number of rows
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDiffWithAddedRows()
+		throws IOException, IllegalAccessException, InvocationTargetException
+	{
+		SnapshotDiff actual;
+		List<Item> otherItems;
+		Path directory;
+		Path otherDirectory;
+
+		otherItems = newItems(3, 11);
+		otherItems.set(4, newItems(4, 1).get(0));
+		directory = tempDirectory.resolve("items");
+		otherDirectory = tempDirectory.resolve("other");
+		ColumnarSnapshot.write(Item.class, newItems(3, 10).iterator(), directory);
+		ColumnarSnapshot.write(Item.class, otherItems.iterator(), otherDirectory);
+		try (ColumnarSnapshot snapshot = ColumnarSnapshot.open(directory);
+			ColumnarSnapshot otherSnapshot = ColumnarSnapshot.open(otherDirectory))
+		{
+			actual = snapshot.diff(otherSnapshot);
+			assertFalse(actual.isEqual());
+			assertEquals(10, actual.getRowCount());
+			assertEquals(1, actual.getAddedRowCount());
+			assertEquals(0, actual.getRemovedRowCount());
+			assertEquals(4, actual.getChangedRows().nextSetBit(0));
+			assertEquals(-1, actual.getChangedRows().nextSetBit(5));
+
+			actual = otherSnapshot.diff(snapshot);
+			assertEquals(10, actual.getRowCount());
+			assertEquals(0, actual.getAddedRowCount());
+			assertEquals(1, actual.getRemovedRowCount());
+			assertEquals(1, actual.getChangedRowCount());
+		}
+	}
+
+	/**
+	 * Test method for {@link ColumnarSnapshot#diff(ColumnarSnapshot)} with snapshots that can not
+	 * be compared
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 * @throws IllegalAccessException
+	 *             Thrown if this {@code Method} object is enforcing Java language access control
+	 *             and the underlying method is inaccessible.
+	 * @throws InvocationTargetException
+	 *             Thrown if the property accessor method throws an exception
+	 */
+	@Test
+	public void testDiffThrowException()
+		throws IOException, IllegalAccessException, InvocationTargetException
+	{
+		IllegalArgumentException exception;
+		Path directory;
+		Path otherDirectory;
+
+		directory = tempDirectory.resolve("items");
+		otherDirectory = tempDirectory.resolve("other");
+		ColumnarSnapshot.write(Item.class, newItems(3, 10).iterator(), directory);
+		ColumnarSnapshot.write(Permission.class,
+			Collections.singletonList(new Permission("read")).iterator(), otherDirectory);
+		final ColumnarSnapshot snapshot = ColumnarSnapshot.open(directory);
+		try (ColumnarSnapshot otherSnapshot = ColumnarSnapshot.open(otherDirectory))
+		{
+			exception = Assertions.assertThrows(IllegalArgumentException.class,
+				() -> snapshot.diff(otherSnapshot));
+			assertEquals("Snapshots should have the same columns.", exception.getMessage());
+		}
+		snapshot.close();
+		Assertions.assertThrows(IllegalStateException.class, () -> snapshot.diff(snapshot));
+	}
+
+	/**
+	 * Test method for {@link ColumnarSnapshot#write(Class, java.util.Iterator, Path)} with beans
+	 * that can not be written
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testWriteDeletesFilesOnFailure() throws IOException
+	{
+		IllegalStateException exception;
+		Path directory;
+		Iterator<Item> items;
+
+		directory = tempDirectory.resolve("items");
+		items = newItems(5, 10).iterator();
+		exception = Assertions.assertThrows(IllegalStateException.class,
+			() -> ColumnarSnapshot.write(Item.class, new Iterator<Item>()
+			{
+				private int count;
+
+				@Override
+				public boolean hasNext()
+				{
+					return true;
+				}
+
+				@Override
+				public Item next()
+				{
+					if (++count == 5)
+					{
+						throw new IllegalStateException("Data set is not readable.");
+					}
+					return items.next();
+				}
+			}, directory));
+		assertEquals("Data set is not readable.", exception.getMessage());
+		try (Stream<Path> files = Files.list(directory))
+		{
+			assertEquals(0, files.count());
+		}
+	}
+
+	/**
+	 * Bean with other properties than {@link Item}
+	 */
+	public static class Permission
+	{
+		private final String name;
+
+		public Permission(final String name)
+		{
+			this.name = name;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+	}
+
+	/**
+	 * Bean with properties of all column types and a collection valued property that is not
+	 * stored
+	 */
+	public static class Item
+	{
+		private final int id;
+
+		private final Integer count;
+
+		private final double price;
+
+		private final boolean active;
+
+		private final String name;
+
+		private BigDecimal amount;
+
+		private final LocalDate date;
+
+		private final Gender gender;
+
+		private final List<String> tags;
+
+		public Item(final int id, final Integer count, final double price, final boolean active,
+			final String name, final BigDecimal amount, final LocalDate date, final Gender gender,
+			final List<String> tags)
+		{
+			this.id = id;
+			this.count = count;
+			this.price = price;
+			this.active = active;
+			this.name = name;
+			this.amount = amount;
+			this.date = date;
+			this.gender = gender;
+			this.tags = tags;
+		}
+
+		public int getId()
+		{
+			return id;
+		}
+
+		public Integer getCount()
+		{
+			return count;
+		}
+
+		public double getPrice()
+		{
+			return price;
+		}
+
+		public boolean isActive()
+		{
+			return active;
+		}
+
+		public String getName()
+		{
+			return name;
+		}
+
+		public BigDecimal getAmount()
+		{
+			return amount;
+		}
+
+		public LocalDate getDate()
+		{
+			return date;
+		}
+
+		public Gender getGender()
+		{
+			return gender;
+		}
+
+		public List<String> getTags()
+		{
+			return tags;
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/**
+ * The MIT License
+ *
+ * Copyright (C) 2015 Asterios Raptis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+package io.github.astrapi69.compare.sort;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.astrapi69.comparator.BeanPropertyComparator;
+import io.github.astrapi69.test.object.Person;
+
+/**
+ * The unit test class for the class {@link ExternalMergeSorter}.
+ */
+@SuppressWarnings("deprecation")
+public class ExternalMergeSorterTest
+{
+
+	/** The serializer of the name and about properties of a person. */
+	private static final RecordSerializer<Person> SERIALIZER = new RecordSerializer<>()
+	{
+		@Override
+		public void write(final Person record, final DataOutput output) throws IOException
+		{
+			output.writeUTF(record.getName());
+			output.writeUTF(record.getAbout());
+		}
+
+		@Override
+		public Person read(final DataInput input) throws IOException
+		{
+			return Person.builder().name(input.readUTF()).about(input.readUTF()).build();
+		}
+	};
+
+	/** The directory of the temporary files. */
+	private Path tempDirectory;
+
+	/** The persons to sort, the about property holds the input index. */
+	private List<Person> persons;
+
+	@BeforeEach
+	public void setUp() throws IOException
+	{
+		final Random random = new Random(7);
+		tempDirectory = Files.createTempDirectory("external-merge-sorter");
+		persons = new ArrayList<>();
+		for (int i = 0; i < 1000; i++)
+		{
+			persons.add(
+				Person.builder().name("name" + random.nextInt(50)).about(String.valueOf(i)).build());
+		}
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException
+	{
+		try (Stream<Path> files = Files.list(tempDirectory))
+		{
+			for (final Path file : files.collect(Collectors.toList()))
+			{
+				Files.delete(file);
+			}
+		}
+		Files.delete(tempDirectory);
+	}
+
+	private long countTempFiles() throws IOException
+	{
+		try (Stream<Path> files = Files.list(tempDirectory))
+		{
+			return files.count();
+		}
+	}
+
+	/**
+	 * Test method for {@link ExternalMergeSorter#sort(Iterator)} with several merge passes
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testSort() throws IOException
+	{
+		List<Person> actual;
+		final ExternalMergeSorter<Person> sorter = new ExternalMergeSorter<>(
+			new BeanPropertyComparator<>("name"), SERIALIZER, 10, 3, tempDirectory);
+
+		try (Stream<Person> sorted = sorter.sort(persons.iterator()))
+		{
+			actual = sorted.collect(Collectors.toList());
+		}
+		assertEquals(persons.size(), actual.size());
+		for (int i = 1; i < actual.size(); i++)
+		{
+			final Person previous = actual.get(i - 1);
+			final Person current = actual.get(i);
+			final int result = previous.getName().compareTo(current.getName());
+			assertTrue(result <= 0);
+			if (result == 0)
+			{
+				// the sort is stable
+				assertTrue(Integer.parseInt(previous.getAbout()) < Integer
+					.parseInt(current.getAbout()));
+			}
+		}
+		assertEquals(0, countTempFiles());
+	}
+
+	/**
+	 * Test method for {@link ExternalMergeSorter#sort(Stream)} with a chain of comparators and a
+	 * stream that is closed before it is consumed
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testSortStream() throws IOException
+	{
+		List<Person> actual;
+		final Comparator<Person> comparator = new BeanPropertyComparator<Person>("name")
+			.thenComparing(new BeanPropertyComparator<>("about"));
+		final ExternalMergeSorter<Person> sorter = new ExternalMergeSorter<>(comparator,
+			SERIALIZER, 100, ExternalMergeSorter.DEFAULT_MERGE_FAN_IN, tempDirectory);
+
+		try (Stream<Person> sorted = sorter.sort(persons.stream()))
+		{
+			actual = sorted.limit(5).collect(Collectors.toList());
+			assertEquals(10, countTempFiles());
+		}
+		assertEquals(0, countTempFiles());
+		persons.sort(comparator);
+		assertEquals(persons.subList(0, 5).stream().map(Person::getAbout)
+			.collect(Collectors.toList()),
+			actual.stream().map(Person::getAbout).collect(Collectors.toList()));
+	}
+
+	/**
+	 * Test method for {@link ExternalMergeSorter#sort(Iterator)} with records that fit into memory
+	 *
+	 * @throws IOException
+	 *             Signals that an I/O exception has occurred
+	 */
+	@Test
+	public void testSortInMemory() throws IOException
+	{
+		final ExternalMergeSorter<Person> sorter = new ExternalMergeSorter<>(
+			new BeanPropertyComparator<>("name"), SERIALIZER, persons.size(),
+			ExternalMergeSorter.DEFAULT_MERGE_FAN_IN, tempDirectory);
+
+		assertEquals(persons.size(), sorter.sort(persons.iterator()).count());
+		assertEquals(0, countTempFiles());
+	}
+
+	/**
+	 * Test method for {@link ExternalMergeSorter} that throws an IllegalArgumentException
+	 */
+	@Test
+	public void testNewExternalMergeSorterThrowIllegalArgumentException()
+	{
+		IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+			() -> new ExternalMergeSorter<>(new BeanPropertyComparator<Person>("name"), SERIALIZER,
+				0));
+		assertEquals("maxRecordsInMemory should be greater than 0.", exception.getMessage());
+	}
+
+}